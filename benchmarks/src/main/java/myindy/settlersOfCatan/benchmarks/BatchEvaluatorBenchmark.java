@@ -0,0 +1,100 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.bot.Features;
+import myindy.settlersOfCatan.bot.LinearModel;
+import myindy.settlersOfCatan.bot.Model;
+import myindy.settlersOfCatan.bot.MlpModel;
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * Evaluating mid-game positions with a Model, per position: the features alone, then a 32-unit MlpModel and a
+ * LinearModel run one row at a time versus a whole batch of BATCH rows at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BatchEvaluatorBenchmark {
+
+	private static final int BATCH = 256;
+	private static final int HIDDEN = 32;
+
+	private GameState _midGame;
+	private Model _mlp;
+	private Model _linear;
+	private float[] _features;
+	private float[] _values;
+
+	@Setup
+	public void setUp() {
+		_midGame = Fixtures.midGame().getState();
+		Random random = new Random(1);
+		float[] hiddenWeights = new float[Features.COUNT * HIDDEN];
+		float[] hiddenBiases = new float[HIDDEN];
+		float[] outputWeights = new float[HIDDEN];
+		for (int i = 0; i < hiddenWeights.length; i++) {
+			hiddenWeights[i] = (float) random.nextGaussian() * 0.1f;
+		}
+		for (int i = 0; i < HIDDEN; i++) {
+			hiddenBiases[i] = (float) random.nextGaussian() * 0.1f;
+			outputWeights[i] = (float) random.nextGaussian() * 0.1f;
+		}
+		_mlp = new MlpModel(Features.COUNT, hiddenWeights, hiddenBiases, outputWeights, 0);
+		_linear = LinearModel.heuristic();
+		_features = new float[BATCH * Features.COUNT];
+		_values = new float[BATCH];
+		for (int row = 0; row < BATCH; row++) {
+			Features.extract(_midGame, row % _midGame.getNumPlayers(), _features, row * Features.COUNT);
+		}
+	}
+
+	@Benchmark
+	public float[] features() {
+		Features.extract(_midGame, 0, _features, 0);
+		return _features;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public float[] mlpOneAtATime() {
+		for (int row = 0; row < BATCH; row++) {
+			//A batch of one, so every row pays for the weights on its own
+			_mlp.predict(_features, 1, _values);
+		}
+		return _values;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public float[] mlpBatched() {
+		_mlp.predict(_features, BATCH, _values);
+		return _values;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public float[] linearOneAtATime() {
+		for (int row = 0; row < BATCH; row++) {
+			_linear.predict(_features, 1, _values);
+		}
+		return _values;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public float[] linearBatched() {
+		_linear.predict(_features, BATCH, _values);
+		return _values;
+	}
+}
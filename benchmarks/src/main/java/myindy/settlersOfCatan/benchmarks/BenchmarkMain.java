@@ -0,0 +1,25 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This is the BenchmarkMain class! It runs the JMH benchmarks with the GC profiler always turned on, so every result
+ * comes with its allocation rate (gc.alloc.rate.norm is bytes allocated per operation). It takes the usual JMH
+ * command line, e.g. "LongestRoad -wi 3 -i 5" to only run some of them.
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,44 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * Board construction. The old Board.makeStructures()/assignTiles()/makeRoads() wiring is now Topology's tables,
+ * which are built once when the class loads, so what's left per game is laying out a random board and deck (a new
+ * GameEngine) and, for simulations that branch, copying a game in progress.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+
+	private long _seed;
+	private GameState _midGame;
+
+	@Setup
+	public void setUp() {
+		_seed = Fixtures.SEED;
+		_midGame = Fixtures.midGame().getState();
+	}
+
+	@Benchmark
+	public GameEngine newGame() {
+		return new GameEngine(4, _seed++);
+	}
+
+	@Benchmark
+	public GameState copyMidGame() {
+		return new GameState(_midGame);
+	}
+}
@@ -0,0 +1,47 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import myindy.settlersOfCatan.engine.GameRandom;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Production;
+
+/**
+ * Rolling the dice (with a game's GameRandom dice stream) and handing out resources (the old Game.rollDice()
+ * distribution). The mid-game's own production table is read exactly the way GameState.produce() reads it; the hands
+ * are only consumed, so the benchmark doesn't grow a real player's hand forever.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiceBenchmark {
+
+	private GameRandom _dice;
+	private Production _production;
+	private int _numPlayers;
+
+	@Setup
+	public void setUp() {
+		GameState state = Fixtures.midGame().getState();
+		_dice = GameRandom.stream(Fixtures.SEED, GameRandom.DICE);
+		_numPlayers = state.getNumPlayers();
+		_production = state.getProduction();
+	}
+
+	@Benchmark
+	public void rollDice(Blackhole blackhole) {
+		int roll = _dice.nextInt(6) + _dice.nextInt(6) + 2;
+		for (int player = 0; player < _numPlayers; player++) {
+			blackhole.consume(_production.getProduction(roll, player));
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.bot.Evaluator;
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * Scoring a mid-game position with the static Evaluator: one player, and one player against the best of the rest
+ * (which evaluates every seat).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvaluatorBenchmark {
+
+	private GameState _midGame;
+	private int _player;
+
+	@Setup
+	public void setUp() {
+		_midGame = Fixtures.midGame().getState();
+	}
+
+	@Benchmark
+	public float evaluate() {
+		_player = (_player + 1) % _midGame.getNumPlayers();
+		return Evaluator.evaluate(_midGame, _player);
+	}
+
+	@Benchmark
+	public float advantage() {
+		_player = (_player + 1) % _midGame.getNumPlayers();
+		return Evaluator.advantage(_midGame, _player);
+	}
+}
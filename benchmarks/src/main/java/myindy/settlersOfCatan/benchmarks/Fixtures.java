@@ -0,0 +1,55 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.Random;
+
+import myindy.settlersOfCatan.bot.Bot;
+import myindy.settlersOfCatan.bot.GreedyBot;
+import myindy.settlersOfCatan.bot.RandomBot;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Phase;
+
+/**
+ * This is the Fixtures class! The benchmarks need realistic boards to measure against, so this plays a seeded game
+ * between bots up to a given turn and hands back the engine. The same seed always gives the same position, so the
+ * numbers from one run are comparable to the next.
+ */
+public final class Fixtures {
+
+	public static final long SEED = 42;
+	public static final int MID_GAME_TURN = 40;
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Plays a game (one GreedyBot against three RandomBots) until the given turn, or until somebody wins.
+	 */
+	public static GameEngine playUntil(long seed, int turn) {
+		GameEngine engine = new GameEngine(4, seed);
+		Random botRandom = new Random(~seed);
+		Bot[] bots = {new GreedyBot(), new RandomBot(botRandom), new RandomBot(botRandom), new RandomBot(botRandom)};
+		GameState state = engine.getState();
+		while (state.getPhase() != Phase.GAME_OVER && state.getTurn() < turn) {
+			bots[state.getCurrentPlayer()].act(engine);
+		}
+		return engine;
+	}
+
+	public static GameEngine midGame() {
+		return Fixtures.playUntil(SEED, MID_GAME_TURN);
+	}
+
+	/**
+	 * The seat with the most roads in this state (the interesting one for longest road).
+	 */
+	public static int mostRoads(GameState state) {
+		int best = 0;
+		for (int player = 1; player < state.getNumPlayers(); player++) {
+			if (state.getBitboard().countRoads(player) > state.getBitboard().countRoads(best)) {
+				best = player;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,70 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import myindy.settlersOfCatan.engine.Bitboard;
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * The questions the old Board.hasValidSettlementLoc() answered with a walk over a player's roads: can this player
+ * build anywhere, and where? Also the cost of keeping the frontier up to date when a road goes down.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrontierBenchmark {
+
+	private GameState _state;
+	private int _player;
+	private int _edge;
+
+	@Setup
+	public void setUp() {
+		_state = Fixtures.midGame().getState();
+		_player = Fixtures.mostRoads(_state);
+		Bitboard bits = _state.getBitboard();
+		long spots = bits.roadSpotsLo(_player);
+		_edge = spots != 0 ? Long.numberOfTrailingZeros(spots) : 64 + Long.numberOfTrailingZeros(bits.roadSpotsHi(_player));
+	}
+
+	/**
+	 * The equivalent of hasValidSettlementLoc() for every seat.
+	 */
+	@Benchmark
+	public void hasValidSettlementLoc(Blackhole blackhole) {
+		for (int player = 0; player < _state.getNumPlayers(); player++) {
+			blackhole.consume(_state.hasSettlementSpot(player));
+		}
+	}
+
+	/**
+	 * Everything the Board needs to highlight a player's legal pieces.
+	 */
+	@Benchmark
+	public void legalSpots(Blackhole blackhole) {
+		Bitboard bits = _state.getBitboard();
+		blackhole.consume(bits.settlementSpots(_player));
+		blackhole.consume(bits.citySpots(_player));
+		blackhole.consume(bits.roadSpotsLo(_player));
+		blackhole.consume(bits.roadSpotsHi(_player));
+	}
+
+	/**
+	 * Placing a road, including patching every player's frontier (the copy is part of the cost).
+	 */
+	@Benchmark
+	public Bitboard placeRoad() {
+		Bitboard bits = new Bitboard(_state.getBitboard());
+		bits.placeRoad(_player, _edge);
+		return bits;
+	}
+}
@@ -0,0 +1,32 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * A whole game, one GreedyBot against three RandomBots, on a new seed every time (the same sequence of seeds every
+ * run). This is what the Simulator does in a loop, so it's the number that matters most for simulations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameBenchmark {
+
+	private static final int MAX_TURNS = 1000;
+
+	private long _seed = Fixtures.SEED;
+
+	@Benchmark
+	public int fullGame() {
+		GameState state = Fixtures.playUntil(_seed++, MAX_TURNS).getState();
+		return state.getWinner();
+	}
+}
@@ -0,0 +1,56 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.Bitboard;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.LongestRoad;
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * Re-measuring a network after a road is placed (what the old Board.longestRoad() recursion did on every purchase).
+ * The fixture is a mid-game board, re-measured from the road network of whoever has built the most roads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LongestRoadBenchmark {
+
+	private Bitboard _bits;
+	private LongestRoad _roads;
+	private int _player;
+	private int _edge;
+
+	@Setup
+	public void setUp() {
+		GameState state = Fixtures.midGame().getState();
+		_bits = state.getBitboard();
+		_roads = new LongestRoad(state.getNumPlayers());
+		_player = Fixtures.mostRoads(state);
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			if (_bits.hasRoad(_player, edge)) {
+				_edge = edge;
+				_roads.roadPlaced(_bits, _player, edge);
+			}
+		}
+	}
+
+	@Benchmark
+	public int roadPlaced() {
+		_roads.roadPlaced(_bits, _player, _edge);
+		return _roads.getLength(_player);
+	}
+
+	@Benchmark
+	public int getLength() {
+		return _roads.getLength(_player);
+	}
+}
@@ -0,0 +1,92 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Hand;
+import myindy.settlersOfCatan.engine.Move;
+import myindy.settlersOfCatan.engine.MoveGenerator;
+import myindy.settlersOfCatan.engine.Phase;
+import myindy.settlersOfCatan.engine.UndoStack;
+
+/**
+ * Trying every legal move in the middle of a game and coming back, the way a search expands a node: once with
+ * make()/unmake() on the same GameState, and once by copying the GameState for every move like the bots used to. The
+ * current player is given a big hand first so that every kind of move is on the list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MakeUnmakeBenchmark {
+
+	private GameState _midGame;
+	private int[] _moves;
+	private int _numMoves;
+	private UndoStack _undo;
+
+	@Setup
+	public void setUp() {
+		GameEngine engine = Fixtures.midGame();
+		if (engine.getState().getPhase() == Phase.ROLL) {
+			engine.rollDice();
+		}
+		if (engine.getState().getPhase() == Phase.ROBBER) {
+			engine.moveRobber(engine.getState().getRobberTile());
+		}
+		_midGame = engine.getState();
+		_midGame.getPlayer(_midGame.getCurrentPlayer()).addCards(Hand.of(5, 5, 5, 5, 5));
+		_moves = new int[MoveGenerator.MAX_MOVES];
+		_numMoves = MoveGenerator.generate(_midGame, _moves);
+		_undo = new UndoStack();
+	}
+
+	@Benchmark
+	public int makeUnmake() {
+		int score = 0;
+		for (int i = 0; i < _numMoves; i++) {
+			_midGame.make(_moves[i], _undo);
+			score += _midGame.getPlayer(0).getScore();
+			_midGame.unmake(_undo);
+		}
+		return score;
+	}
+
+	@Benchmark
+	public int copyAndApply() {
+		int score = 0;
+		for (int i = 0; i < _numMoves; i++) {
+			GameState copy = new GameState(_midGame);
+			copy.make(_moves[i], _undo);
+			score += copy.getPlayer(0).getScore();
+			_undo.clear();
+		}
+		return score;
+	}
+
+	/**
+	 * One chance node: ending the turn, then every one of the 36 ways the next player's dice can land.
+	 */
+	@Benchmark
+	public long everyRoll() {
+		long cards = 0;
+		_midGame.make(Move.of(Move.END_TURN), _undo);
+		for (int dieA = 1; dieA <= 6; dieA++) {
+			for (int dieB = 1; dieB <= 6; dieB++) {
+				_midGame.make(Move.roll(dieA, dieB), _undo);
+				cards += _midGame.getPlayer(_midGame.getCurrentPlayer()).getHand();
+				_midGame.unmake(_undo);
+			}
+		}
+		_midGame.unmake(_undo);
+		return cards;
+	}
+}
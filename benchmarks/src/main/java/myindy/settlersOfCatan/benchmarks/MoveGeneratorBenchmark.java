@@ -0,0 +1,49 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Hand;
+import myindy.settlersOfCatan.engine.MoveGenerator;
+import myindy.settlersOfCatan.engine.Phase;
+
+/**
+ * Listing every legal move in the middle of a game, into the same array every time (the way a search uses it). The
+ * current player is given a big hand first so that every kind of move is on the list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveGeneratorBenchmark {
+
+	private GameState _midGame;
+	private int[] _moves;
+
+	@Setup
+	public void setUp() {
+		GameEngine engine = Fixtures.midGame();
+		if (engine.getState().getPhase() == Phase.ROLL) {
+			engine.rollDice();
+		}
+		if (engine.getState().getPhase() == Phase.ROBBER) {
+			engine.moveRobber(engine.getState().getRobberTile());
+		}
+		_midGame = engine.getState();
+		_midGame.getPlayer(_midGame.getCurrentPlayer()).addCards(Hand.of(5, 5, 5, 5, 5));
+		_moves = new int[MoveGenerator.MAX_MOVES];
+	}
+
+	@Benchmark
+	public int generate() {
+		return MoveGenerator.generate(_midGame, _moves);
+	}
+}
@@ -0,0 +1,48 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameSnapshot;
+
+/**
+ * Parking and restoring a game in the middle of play with GameSnapshot, through a direct buffer like the one a
+ * memory-mapped file gives back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotBenchmark {
+
+	private GameEngine _midGame;
+	private ByteBuffer _buffer;
+
+	@Setup
+	public void setUp() {
+		_midGame = Fixtures.midGame();
+		_buffer = ByteBuffer.allocateDirect(GameSnapshot.SIZE);
+		GameSnapshot.write(_midGame, _buffer);
+	}
+
+	@Benchmark
+	public ByteBuffer write() {
+		_buffer.clear();
+		GameSnapshot.write(_midGame, _buffer);
+		return _buffer;
+	}
+
+	@Benchmark
+	public GameEngine read() {
+		_buffer.clear();
+		return GameSnapshot.read(_buffer);
+	}
+}
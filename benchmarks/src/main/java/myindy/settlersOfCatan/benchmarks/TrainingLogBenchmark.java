@@ -0,0 +1,121 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import myindy.settlersOfCatan.bot.Bot;
+import myindy.settlersOfCatan.bot.GreedyBot;
+import myindy.settlersOfCatan.bot.RandomBot;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Phase;
+import myindy.settlersOfCatan.engine.TrainingLog;
+import myindy.settlersOfCatan.engine.TrainingLogReader;
+
+/**
+ * Writing and reading training data: capturing one mid-game position into a TrainingLog's row (what every action
+ * costs while a Simulator exports), and scanning every row of a file of GAMES games with a TrainingLogReader, once
+ * through the getters and once through a whole column.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrainingLogBenchmark {
+
+	private static final int GAMES = 200;
+	private static final int MAX_TURNS = 1000;
+
+	private GameState _midGame;
+	private Path _file;
+	private FileChannel _channel;
+	private TrainingLog _capture;
+	private TrainingLogReader _reader;
+
+	@Setup
+	public void setUp() throws IOException {
+		_midGame = Fixtures.midGame().getState();
+		_file = Files.createTempFile("training", ".bin");
+		_channel = TrainingLog.create(_file);
+		TrainingLog log = new TrainingLog(_channel);
+		for (int game = 0; game < GAMES; game++) {
+			GameEngine engine = new GameEngine(4, Fixtures.SEED + game);
+			engine.setTrainingLog(log);
+			Random botRandom = new Random(game);
+			Bot[] bots = {new GreedyBot(), new RandomBot(botRandom), new RandomBot(botRandom),
+					new RandomBot(botRandom)};
+			GameState state = engine.getState();
+			while (state.getPhase() != Phase.GAME_OVER && state.getTurn() <= MAX_TURNS) {
+				bots[state.getCurrentPlayer()].act(engine);
+			}
+			log.endGame(state.getWinner());
+		}
+		log.flush();
+		//Never recorded or flushed, so its row just gets overwritten
+		_capture = new TrainingLog(_channel);
+		_capture.startGame(Fixtures.SEED, _midGame.getNumPlayers());
+		_reader = new TrainingLogReader(_file);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		_reader.close();
+		_channel.close();
+		Files.delete(_file);
+	}
+
+	@Benchmark
+	public TrainingLog capture() {
+		_capture.capture(_midGame);
+		return _capture;
+	}
+
+	/**
+	 * Counts the rows whose mover went on to win, one getter call at a time.
+	 */
+	@Benchmark
+	public long scanRows() throws IOException {
+		long wins = 0;
+		_reader.rewind();
+		while (_reader.nextChunk()) {
+			for (int row = 0; row < _reader.getRows(); row++) {
+				if (_reader.getPlayer(row) == _reader.getWinner(row)) {
+					wins++;
+				}
+			}
+		}
+		return wins;
+	}
+
+	/**
+	 * The same count, walking the two columns directly.
+	 */
+	@Benchmark
+	public long scanColumns() throws IOException {
+		long wins = 0;
+		_reader.rewind();
+		while (_reader.nextChunk()) {
+			ByteBuffer players = _reader.column(TrainingLog.PLAYER);
+			ByteBuffer winners = _reader.column(TrainingLog.WINNER);
+			for (int row = 0; row < _reader.getRows(); row++) {
+				if (players.get(row) == winners.get(row)) {
+					wins++;
+				}
+			}
+		}
+		return wins;
+	}
+}
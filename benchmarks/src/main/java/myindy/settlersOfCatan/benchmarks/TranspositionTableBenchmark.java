@@ -0,0 +1,66 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import myindy.settlersOfCatan.bot.TranspositionTable;
+import myindy.settlersOfCatan.engine.GameRandom;
+
+/**
+ * Storing and looking up positions in a TranspositionTable much bigger than the CPU caches, with keys all over the
+ * table (the way Zobrist keys land). The shared version runs on several threads at once against the same table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TranspositionTableBenchmark {
+
+	private static final int TABLE_MEGABYTES = 128;
+	private static final int NUM_KEYS = 1 << 20;
+
+	private TranspositionTable _table;
+	private long[] _keys;
+
+	@Setup
+	public void setUp() {
+		_table = new TranspositionTable(TABLE_MEGABYTES);
+		_keys = new long[NUM_KEYS];
+		GameRandom random = new GameRandom(Fixtures.SEED);
+		for (int i = 0; i < NUM_KEYS; i++) {
+			_keys[i] = random.nextLong();
+			_table.store(_keys[i], i, i & 0xFF, 0, TranspositionTable.EXACT);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int _next;
+	}
+
+	@Benchmark
+	public long probe(Cursor cursor) {
+		return _table.probe(_keys[cursor._next++ & (NUM_KEYS - 1)]);
+	}
+
+	@Benchmark
+	public void store(Cursor cursor) {
+		int i = cursor._next++ & (NUM_KEYS - 1);
+		_table.store(_keys[i], i, i & 0xFF, 0, TranspositionTable.EXACT);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long probeAndStoreShared(Cursor cursor) {
+		int i = cursor._next++ & (NUM_KEYS - 1);
+		_table.store(_keys[i], i, i & 0xFF, 0, TranspositionTable.EXACT);
+		return _table.probe(_keys[(i * 7) & (NUM_KEYS - 1)]);
+	}
+}
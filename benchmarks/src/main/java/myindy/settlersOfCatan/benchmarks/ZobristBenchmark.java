@@ -0,0 +1,40 @@
+package myindy.settlersOfCatan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * Asking a mid-game position for its Zobrist key (the board part is already up to date, so only the hands, titles
+ * and turn are hashed), compared with working out the board part from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ZobristBenchmark {
+
+	private GameState _midGame;
+
+	@Setup
+	public void setUp() {
+		_midGame = Fixtures.midGame().getState();
+	}
+
+	@Benchmark
+	public long key() {
+		return _midGame.getKey();
+	}
+
+	@Benchmark
+	public long boardKeyFromScratch() {
+		return _midGame.computeBoardKey();
+	}
+}
@@ -0,0 +1,445 @@
+package myindy.settlersOfCatan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import myindy.settlersOfCatan.bot.Bot;
+import myindy.settlersOfCatan.bot.GreedyBot;
+import myindy.settlersOfCatan.bot.LinearModel;
+import myindy.settlersOfCatan.bot.LookaheadBot;
+import myindy.settlersOfCatan.bot.MctsBot;
+import myindy.settlersOfCatan.bot.Model;
+import myindy.settlersOfCatan.bot.RandomBot;
+import myindy.settlersOfCatan.engine.EventLog;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Phase;
+import myindy.settlersOfCatan.engine.TrainingLog;
+
+/**
+ * This is the Simulator class! It's the other way to run the game: instead of App's window, it plays a whole bunch of
+ * complete games between Bots with no graphics at all, and prints how they went (games per second, how often each
+ * seat won, how long games took, and how many points each seat usually ends with). That's how we compare board
+ * layouts, house rules, and bots without sitting through thousands of games by hand.
+ *
+ * The games are split up with fork/join: the range of game numbers is cut in half over and over until the pieces
+ * are small, and the pool's idle threads steal pieces from busy ones, so every core stays busy until the end. Each
+ * piece keeps its own Tally and the Tallies are only added together on the way back up, so the threads never share
+ * anything while they play. Game number g always uses the same seed, so a run gives the same results no matter how
+ * many threads it uses. The bots are made once per thread (an mcts bot's search tree alone is several megabytes) and
+ * reseeded from the game's seed before every game, so they play game g exactly as brand new bots would.
+ *
+ * Usage: java myindy.settlersOfCatan.Simulator [--games=N] [--bots=greedy,random,random,random] [--seed=S]
+ * [--threads=T] [--max-turns=M] [--log=FILE] [--training=FILE] [--training-every=N] [--move-millis=MS]
+ * [--model=FILE]. The number of bots is the number of players, and they sit in the order given. The bots are
+ * "random", "greedy", "mcts" and "lookahead"; an mcts bot searches for --move-millis (default 100) per decision on
+ * its game's thread, and the report adds how many playouts per second it managed. A lookahead bot scores its moves
+ * with the Model in --model (LinearModel.heuristic() if there isn't one). With --log, every game is also written to
+ * FILE as an EventLog (each piece of the fork/join split buffers its own games and writes them out whole, so the
+ * games in the file are in whatever order the pieces finished). --training works the same way, but writes a
+ * TrainingLog with every position spelled out (or just one in --training-every, when writing them all would slow the
+ * games down).
+ */
+public class Simulator {
+
+	private static final int DEFAULT_GAMES = 10000;
+	private static final String DEFAULT_BOTS = "greedy,random,random,random";
+	private static final int DEFAULT_MAX_TURNS = 1000;
+	//The highest score the VP distribution keeps track of separately (anything higher is counted here too)
+	private static final int MAX_VP = 15;
+	private static final String[] BOT_NAMES = {"random", "greedy", "mcts", "lookahead"};
+
+	private int _numGames;
+	private String[] _bots;
+	private long _seed;
+	private int _threads;
+	private int _maxTurns;
+	private FileChannel _log;
+	private FileChannel _training;
+	private int _trainingEvery;
+	private long _moveMillis;
+	private Model _model;
+	private ThreadLocal<Seats> _seats;
+
+	public Simulator(int numGames, String[] bots, long seed, int threads, int maxTurns) {
+		_numGames = numGames;
+		_bots = bots;
+		_seed = seed;
+		_threads = threads;
+		_maxTurns = maxTurns;
+		_moveMillis = MctsBot.DEFAULT_MOVE_MILLIS;
+		_model = LinearModel.heuristic();
+		_seats = new SeatsPerThread();
+		for (String bot: bots) {
+			//Fail now rather than on every worker thread
+			if (!Simulator.isBotName(bot)) {
+				throw new IllegalArgumentException("Unknown bot " + bot + " (try random, greedy, mcts or lookahead)");
+			}
+		}
+	}
+
+	private static boolean isBotName(String name) {
+		for (String botName: BOT_NAMES) {
+			if (botName.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes every game the Simulator plays to the given log file (see EventLog.create()).
+	 */
+	public void setLog(FileChannel log) {
+		_log = log;
+	}
+
+	/**
+	 * Writes the positions the Simulator's games go through (one in "every" of them) to the given training file, with
+	 * the move played from each and the game's winner (see TrainingLog.create()).
+	 */
+	public void setTrainingLog(FileChannel training, int every) {
+		_training = training;
+		_trainingEvery = every;
+	}
+
+	/**
+	 * How long each MctsBot searches per decision.
+	 */
+	public void setMoveMillis(long moveMillis) {
+		_moveMillis = moveMillis;
+	}
+
+	/**
+	 * The Model every LookaheadBot uses (they all share it, since a Model never changes).
+	 */
+	public void setModel(Model model) {
+		_model = model;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int numGames = DEFAULT_GAMES;
+		String bots = DEFAULT_BOTS;
+		long seed = System.nanoTime();
+		int threads = Runtime.getRuntime().availableProcessors();
+		int maxTurns = DEFAULT_MAX_TURNS;
+		String log = null;
+		String training = null;
+		int trainingEvery = 1;
+		long moveMillis = MctsBot.DEFAULT_MOVE_MILLIS;
+		String model = null;
+		for (String arg: args) {
+			String value = arg.substring(arg.indexOf('=') + 1);
+			if (arg.startsWith("--games=")) {
+				numGames = Integer.parseInt(value);
+			} else if (arg.startsWith("--bots=")) {
+				bots = value;
+			} else if (arg.startsWith("--seed=")) {
+				seed = Long.parseLong(value);
+			} else if (arg.startsWith("--threads=")) {
+				threads = Integer.parseInt(value);
+			} else if (arg.startsWith("--max-turns=")) {
+				maxTurns = Integer.parseInt(value);
+			} else if (arg.startsWith("--log=")) {
+				log = value;
+			} else if (arg.startsWith("--training=")) {
+				training = value;
+			} else if (arg.startsWith("--training-every=")) {
+				trainingEvery = Integer.parseInt(value);
+			} else if (arg.startsWith("--move-millis=")) {
+				moveMillis = Long.parseLong(value);
+			} else if (arg.startsWith("--model=")) {
+				model = value;
+			} else {
+				throw new IllegalArgumentException("Unknown option " + arg);
+			}
+		}
+		Simulator simulator = new Simulator(numGames, bots.split(","), seed, threads, maxTurns);
+		FileChannel logFile = log == null ? null : EventLog.create(Paths.get(log));
+		simulator.setLog(logFile);
+		FileChannel trainingFile = training == null ? null : TrainingLog.create(Paths.get(training));
+		simulator.setTrainingLog(trainingFile, trainingEvery);
+		simulator.setMoveMillis(moveMillis);
+		if (model != null) {
+			simulator.setModel(Model.load(Paths.get(model)));
+		}
+		long start = System.nanoTime();
+		Tally tally = simulator.run();
+		double seconds = (System.nanoTime() - start) / 1e9;
+		if (logFile != null) {
+			logFile.close();
+		}
+		if (trainingFile != null) {
+			trainingFile.close();
+		}
+		simulator.report(tally, seconds, seed);
+	}
+
+	/**
+	 * Plays every game on a fork/join pool and returns the combined results.
+	 */
+	public Tally run() {
+		ForkJoinPool pool = new ForkJoinPool(_threads);
+		try {
+			//Small enough pieces that the threads can even out, big enough that splitting doesn't cost much
+			int pieceSize = Math.max(1, _numGames / (_threads * 16));
+			return pool.invoke(new GameRange(0, _numGames, pieceSize));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays game number "game" from start to finish (or until the turn limit) with this thread's bots, and adds it to
+	 * the tally. If "log" or "training" isn't null, the game is recorded in it.
+	 */
+	private void playGame(int game, Seats seats, Tally tally, EventLog log, TrainingLog training) throws IOException {
+		long gameSeed = _seed + game * 0x9E3779B97F4A7C15L;
+		GameEngine engine = new GameEngine(_bots.length, gameSeed);
+		if (log != null) {
+			engine.setEventLog(log);
+		}
+		if (training != null) {
+			engine.setTrainingLog(training);
+		}
+		Bot[] bots = seats.reseed(gameSeed);
+		long playouts = seats.getPlayouts();
+		long searchNanos = seats.getSearchNanos();
+		GameState state = engine.getState();
+		while (state.getPhase() != Phase.GAME_OVER && state.getTurn() <= _maxTurns) {
+			bots[state.getCurrentPlayer()].act(engine);
+		}
+		if (log != null) {
+			log.endGame();
+		}
+		if (training != null) {
+			training.endGame(state.getWinner());
+		}
+		tally.add(state);
+		tally.addSearch(seats.getPlayouts() - playouts, seats.getSearchNanos() - searchNanos);
+	}
+
+	/**
+	 * An mcts bot gets one thread, since the Simulator already has a game going on every core. The seeds given here
+	 * don't matter, since the bots are reseeded before every game.
+	 */
+	private Bot makeBot(String name, Random random) {
+		switch (name) {
+		case "random":
+			return new RandomBot(random);
+		case "greedy":
+			return new GreedyBot();
+		case "mcts":
+			return new MctsBot(_moveMillis, 1, random.nextLong());
+		case "lookahead":
+			return new LookaheadBot(_model, random.nextLong());
+		default:
+			throw new IllegalArgumentException("Unknown bot " + name + " (try random, greedy, mcts or lookahead)");
+		}
+	}
+
+	private void report(Tally tally, double seconds, long seed) {
+		System.out.printf("Played %d games in %.2f s (%.0f games/sec) on %d threads, seed %d%n", tally._games, seconds,
+				tally._games / seconds, _threads, seed);
+		int finished = tally._games - tally._unfinished;
+		System.out.printf("Unfinished (hit the %d turn limit): %d%n", _maxTurns, tally._unfinished);
+		System.out.printf("Average length: %.1f turns%n", finished == 0 ? 0 : tally._turns / (double) finished);
+		System.out.println();
+		System.out.printf("%-5s %-8s %9s %7s   VP distribution (%% of games ending with 0, 1, 2, ... points)%n",
+				"Seat", "Bot", "Win rate", "Avg VP");
+		for (int seat = 0; seat < _bots.length; seat++) {
+			long points = 0;
+			StringBuilder distribution = new StringBuilder();
+			for (int vp = 0; vp <= MAX_VP; vp++) {
+				points += (long) vp * tally._vpCounts[seat][vp];
+				distribution.append(String.format(" %5.1f", 100.0 * tally._vpCounts[seat][vp] / tally._games));
+			}
+			System.out.printf("%-5d %-8s %8.1f%% %7.2f  %s%n", seat, _bots[seat],
+					100.0 * tally._wins[seat] / tally._games, points / (double) tally._games, distribution);
+		}
+		if (tally._searchNanos > 0) {
+			System.out.println();
+			System.out.printf("MCTS: %d playouts, %.0f playouts/sec per search thread%n", tally._playouts,
+					tally._playouts / (tally._searchNanos / 1e9));
+		}
+	}
+
+	/**
+	 * One thread's bots, one per seat. Reseeding them for a game gives every bot exactly the random numbers a new one
+	 * would have had: a random bot draws from a java.util.Random seeded from the game, and every mcts or lookahead bot
+	 * takes the next long from it in seat order, just like when each game made its own bots.
+	 */
+	private class Seats {
+		private Random _random;
+		private Bot[] _players;
+
+		public Seats() {
+			_random = new Random();
+			_players = new Bot[_bots.length];
+			for (int seat = 0; seat < _players.length; seat++) {
+				_players[seat] = Simulator.this.makeBot(_bots[seat], _random);
+			}
+		}
+
+		public Bot[] reseed(long gameSeed) {
+			_random.setSeed(~gameSeed);
+			for (Bot bot: _players) {
+				if (bot instanceof MctsBot) {
+					((MctsBot) bot).reseed(_random.nextLong());
+				} else if (bot instanceof LookaheadBot) {
+					((LookaheadBot) bot).reseed(_random.nextLong());
+				}
+			}
+			return _players;
+		}
+
+		/**
+		 * How many playouts this thread's mcts bots have run so far (they only ever count up).
+		 */
+		public long getPlayouts() {
+			long playouts = 0;
+			for (Bot bot: _players) {
+				if (bot instanceof MctsBot) {
+					playouts += ((MctsBot) bot).getPlayouts();
+				}
+			}
+			return playouts;
+		}
+
+		public long getSearchNanos() {
+			long searchNanos = 0;
+			for (Bot bot: _players) {
+				if (bot instanceof MctsBot) {
+					searchNanos += ((MctsBot) bot).getSearchNanos();
+				}
+			}
+			return searchNanos;
+		}
+	}
+
+	/**
+	 * Every fork/join worker makes its own Seats the first time it plays a game.
+	 */
+	private class SeatsPerThread extends ThreadLocal<Seats> {
+		@Override
+		protected Seats initialValue() {
+			return new Seats();
+		}
+	}
+
+	/**
+	 * One fork/join task: plays games [from, to), splitting itself in half while the range is bigger than pieceSize.
+	 */
+	private class GameRange extends RecursiveTask<Tally> {
+
+		private static final long serialVersionUID = 1L;
+
+		private int _from;
+		private int _to;
+		private int _pieceSize;
+
+		public GameRange(int from, int to, int pieceSize) {
+			_from = from;
+			_to = to;
+			_pieceSize = pieceSize;
+		}
+
+		@Override
+		protected Tally compute() {
+			if (_to - _from <= _pieceSize) {
+				Tally tally = new Tally(_bots.length);
+				EventLog log = _log == null ? null : new EventLog(_log);
+				TrainingLog training = _training == null ? null : new TrainingLog(_training, _trainingEvery);
+				Seats seats = _seats.get();
+				try {
+					for (int game = _from; game < _to; game++) {
+						Simulator.this.playGame(game, seats, tally, log, training);
+					}
+					if (log != null) {
+						log.flush();
+					}
+					if (training != null) {
+						training.flush();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return tally;
+			}
+			int middle = (_from + _to) >>> 1;
+			GameRange left = new GameRange(_from, middle, _pieceSize);
+			left.fork();
+			Tally tally = new GameRange(middle, _to, _pieceSize).compute();
+			tally.addAll(left.join());
+			return tally;
+		}
+	}
+
+	/**
+	 * The running totals for a batch of games. Only one thread ever touches a Tally until it's handed back.
+	 */
+	public static class Tally {
+
+		private int _games;
+		private int _unfinished;
+		private long _turns;
+		private int[] _wins;
+		private long[][] _vpCounts;
+		private long _playouts;
+		private long _searchNanos;
+
+		public Tally(int numPlayers) {
+			_wins = new int[numPlayers];
+			_vpCounts = new long[numPlayers][MAX_VP + 1];
+		}
+
+		private void add(GameState state) {
+			_games++;
+			if (state.getWinner() == GameState.NO_PLAYER) {
+				_unfinished++;
+			} else {
+				_wins[state.getWinner()]++;
+				_turns += state.getTurn();
+			}
+			for (int seat = 0; seat < _wins.length; seat++) {
+				_vpCounts[seat][Math.min(MAX_VP, state.getPlayer(seat).getScore())]++;
+			}
+		}
+
+		private void addSearch(long playouts, long searchNanos) {
+			_playouts += playouts;
+			_searchNanos += searchNanos;
+		}
+
+		private void addAll(Tally other) {
+			_playouts += other._playouts;
+			_searchNanos += other._searchNanos;
+			_games += other._games;
+			_unfinished += other._unfinished;
+			_turns += other._turns;
+			for (int seat = 0; seat < _wins.length; seat++) {
+				_wins[seat] += other._wins[seat];
+				for (int vp = 0; vp <= MAX_VP; vp++) {
+					_vpCounts[seat][vp] += other._vpCounts[seat][vp];
+				}
+			}
+		}
+
+		public int getGames() {
+			return _games;
+		}
+
+		public int getUnfinished() {
+			return _unfinished;
+		}
+
+		public int getWins(int seat) {
+			return _wins[seat];
+		}
+	}
+}
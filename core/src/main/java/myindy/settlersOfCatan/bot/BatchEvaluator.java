@@ -0,0 +1,89 @@
+package myindy.settlersOfCatan.bot;
+
+import myindy.settlersOfCatan.engine.GameState;
+
+/**
+ * This is the BatchEvaluator class! It's how a search asks a Model about lots of positions without paying for the
+ * model once per position. Positions are submitted one at a time: each one's Features go straight into the next row
+ * of one big float[], and the caller keeps the row number it got back. Once the batch is full (or the caller has
+ * nothing else to add), evaluate() runs the model over every row at once, and getValue() reads the answers.
+ *
+ * A batch holds between MIN_BATCH and MAX_BATCH positions. Bigger batches spread the model's cost further but make
+ * the caller wait longer for its answers; LookaheadBot.chooseMoves() can fill one batch from many games at once. One
+ * BatchEvaluator belongs to one thread (the Model itself can be shared).
+ */
+public class BatchEvaluator {
+
+	public static final int MIN_BATCH = 64;
+	public static final int MAX_BATCH = 1024;
+	public static final int DEFAULT_BATCH = 256;
+
+	private Model _model;
+	private float[] _features;
+	private float[] _values;
+	private int _capacity;
+	private int _size;
+
+	public BatchEvaluator(Model model) {
+		this(model, DEFAULT_BATCH);
+	}
+
+	public BatchEvaluator(Model model, int batchSize) {
+		if (model.getInputs() != Features.COUNT) {
+			throw new IllegalArgumentException("The model reads " + model.getInputs() + " inputs, but positions have "
+					+ Features.COUNT);
+		}
+		if (batchSize < MIN_BATCH || batchSize > MAX_BATCH) {
+			throw new IllegalArgumentException("Batches hold " + MIN_BATCH + " to " + MAX_BATCH + " positions");
+		}
+		_model = model;
+		_capacity = batchSize;
+		_features = new float[batchSize * Features.COUNT];
+		_values = new float[batchSize];
+		_size = 0;
+	}
+
+	/**
+	 * Adds the position (seen from the player's side) to the batch and returns its row.
+	 */
+	public int submit(GameState state, int player) {
+		if (_size == _capacity) {
+			throw new IllegalStateException("The batch is full; evaluate() and clear() it first");
+		}
+		Features.extract(state, player, _features, _size * Features.COUNT);
+		return _size++;
+	}
+
+	/**
+	 * Runs the model over every submitted row.
+	 */
+	public void evaluate() {
+		_model.predict(_features, _size, _values);
+	}
+
+	/**
+	 * The value evaluate() gave this row: the chance that its player wins, according to the model.
+	 */
+	public float getValue(int row) {
+		return _values[row];
+	}
+
+	/**
+	 * Empties the batch for the next round of submissions.
+	 */
+	public void clear() {
+		_size = 0;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public int getCapacity() {
+		return _capacity;
+	}
+
+	public int getRoomLeft() {
+		return _capacity - _size;
+	}
+}
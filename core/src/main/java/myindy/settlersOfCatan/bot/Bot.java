@@ -0,0 +1,22 @@
+package myindy.settlersOfCatan.bot;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+
+/**
+ * This is the Bot interface! A Bot plays one seat of a game with no graphics at all. Every time it's the bot's turn
+ * to do something (place a set-up piece, roll, move the robber, or take an action during its turn), the Simulator
+ * calls act(), and the bot makes exactly one legal move through the GameEngine. Ending the turn counts as a move, so
+ * a bot decides for itself how much to do before passing the dice along.
+ */
+public interface Bot {
+
+	/**
+	 * Makes one legal move for the engine's current player.
+	 */
+	void act(GameEngine engine);
+
+	/**
+	 * A short name for reports, like "random" or "greedy".
+	 */
+	String getName();
+}
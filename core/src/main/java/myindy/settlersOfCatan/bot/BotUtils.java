@@ -0,0 +1,84 @@
+package myindy.settlersOfCatan.bot;
+
+import java.util.Random;
+
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * This is the BotUtils class! It has the little helpers every bot ends up needing: picking a random location out of a
+ * bit mask, and judging how good a location is by the dice.
+ */
+final class BotUtils {
+
+	private BotUtils() {
+	}
+
+	/**
+	 * Picks one of the set bits of the mask uniformly at random and returns its index. The mask can't be empty.
+	 */
+	static int randomBit(long mask, Random random) {
+		int skip = random.nextInt(Long.bitCount(mask));
+		for (int i = 0; i < skip; i++) {
+			mask &= mask - 1;
+		}
+		return Long.numberOfTrailingZeros(mask);
+	}
+
+	/**
+	 * Same as randomBit(), but for an edge set split into its lo (edges 0-63) and hi (edges 64-71) halves.
+	 */
+	static int randomEdge(long lo, long hi, Random random) {
+		int loCount = Long.bitCount(lo);
+		int skip = random.nextInt(loCount + Long.bitCount(hi));
+		if (skip < loCount) {
+			for (int i = 0; i < skip; i++) {
+				lo &= lo - 1;
+			}
+			return Long.numberOfTrailingZeros(lo);
+		}
+		for (int i = loCount; i < skip; i++) {
+			hi &= hi - 1;
+		}
+		return 64 + Long.numberOfTrailingZeros(hi);
+	}
+
+	/**
+	 * The number of ways two dice can roll this number (the "pips" printed on the token), or 0 for the desert.
+	 */
+	static int pips(int number) {
+		if (number == 0) {
+			return 0;
+		}
+		return 6 - Math.abs(7 - number);
+	}
+
+	/**
+	 * How many pips a structure on this vertex would collect from, ignoring the robber.
+	 */
+	static int vertexPips(GameState state, int vertex) {
+		int pips = 0;
+		for (int i = Topology.vertexTileStart(vertex); i < Topology.vertexTileEnd(vertex); i++) {
+			pips += BotUtils.pips(state.getTileNumber(Topology.vertexTile(i)));
+		}
+		return pips;
+	}
+
+	/**
+	 * The set bit of the mask whose vertex collects the most pips (the lowest index wins ties).
+	 */
+	static int bestVertex(GameState state, long vertices) {
+		int best = -1;
+		int bestPips = -1;
+		while (vertices != 0) {
+			int vertex = Long.numberOfTrailingZeros(vertices);
+			int pips = BotUtils.vertexPips(state, vertex);
+			if (pips > bestPips) {
+				best = vertex;
+				bestPips = pips;
+			}
+			vertices &= vertices - 1;
+		}
+		return best;
+	}
+}
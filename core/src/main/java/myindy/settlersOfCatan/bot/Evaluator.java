@@ -0,0 +1,130 @@
+package myindy.settlersOfCatan.bot;
+
+import myindy.settlersOfCatan.engine.Bitboard;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Hand;
+import myindy.settlersOfCatan.engine.PlayerState;
+import myindy.settlersOfCatan.engine.Resource;
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * This is the Evaluator class! It guesses how well a player is doing without playing anything out, in victory points
+ * (the points they already have, plus fractions of a point for everything that should turn into points later):
+ *
+ *   - production: how many cards they can expect per 36 rolls, from the Production table (so the robber and cities
+ *     are already taken into account), weighted by the pips of each number;
+ *   - diversity: how many of the five resources they produce at all, since a player missing one can't build much;
+ *   - expansion: how many roads away their nearest open settlement spot is (if they have settlements left);
+ *   - the titles: how close they are to taking "Longest Road" or "Largest Army" (the holder's 2 points are already
+ *     in their score);
+ *   - cards in hand, up to the 7 that are safe to hold.
+ *
+ * The weights are hand-picked rather than tuned, but the terms only read masks and tables the engine already keeps
+ * up to date, so one evaluation takes well under a microsecond and never allocates. That makes it cheap enough for
+ * the leaves of a deep search.
+ */
+public final class Evaluator {
+
+	private static final float PRODUCTION_WEIGHT = 0.06f;
+	private static final float DIVERSITY_WEIGHT = 0.25f;
+	private static final float EXPANSION_WEIGHT = 0.6f;
+	private static final float TITLE_WEIGHT = 1.0f;
+	private static final float CARD_WEIGHT = 0.08f;
+	private static final int MAX_SAFE_CARDS = 7;
+	//Spots further away than this don't count for expansion
+	private static final int MAX_DISTANCE = 3;
+	private static final Resource[] RESOURCES = Resource.values();
+
+	private Evaluator() {
+	}
+
+	/**
+	 * The player's position, in (estimated) victory points.
+	 */
+	public static float evaluate(GameState state, int player) {
+		PlayerState playerState = state.getPlayer(player);
+		long pips = Evaluator.pipProduction(state, player);
+		int diversity = 0;
+		for (Resource resource: RESOURCES) {
+			if (Hand.count(pips, resource) > 0) {
+				diversity++;
+			}
+		}
+		float value = playerState.getScore() + PRODUCTION_WEIGHT * Hand.total(pips) + DIVERSITY_WEIGHT * diversity
+				+ CARD_WEIGHT * Math.min(MAX_SAFE_CARDS, Hand.total(playerState.getHand()));
+		if (state.getSettlementsLeft(player) > 0) {
+			value += EXPANSION_WEIGHT / (1 + Evaluator.distanceToOpenSpot(state.getBitboard(), player));
+		}
+		if (state.getLongestRoadOwner() != player) {
+			value += TITLE_WEIGHT * Evaluator.proximity(state.getRoadLength(player), state.getLongestRoad());
+		}
+		if (state.getLargestArmyOwner() != player) {
+			int knights = playerState.getKnightsUsed() + playerState.getKnightCards();
+			value += TITLE_WEIGHT * Evaluator.proximity(knights, state.getLargestArmy());
+		}
+		return value;
+	}
+
+	/**
+	 * How far ahead the player is of their strongest opponent (negative if they're behind). This is what a search
+	 * should maximize, since points only matter compared to the other players'.
+	 */
+	public static float advantage(GameState state, int player) {
+		float best = Float.NEGATIVE_INFINITY;
+		for (int other = 0; other < state.getNumPlayers(); other++) {
+			if (other != player) {
+				best = Math.max(best, Evaluator.evaluate(state, other));
+			}
+		}
+		return Evaluator.evaluate(state, player) - best;
+	}
+
+	/**
+	 * Every roll's production weighted by how many ways the dice can roll it, added up as one packed hand (see the
+	 * Hand class). Multiplying a packed hand by a small number multiplies every slot at once, and no slot gets
+	 * anywhere near overflowing.
+	 */
+	static long pipProduction(GameState state, int player) {
+		long pips = Hand.EMPTY;
+		for (int roll = 2; roll <= 12; roll++) {
+			pips += BotUtils.pips(roll) * state.getProduction().getProduction(roll, player);
+		}
+		return pips;
+	}
+
+	/**
+	 * How many roads the player would have to build to reach an open settlement spot: 0 if they can settle now, then
+	 * growing outward from their road anchors one step at a time (without passing through opponents' structures, but
+	 * ignoring their roads). MAX_DISTANCE + 1 if there's nothing close.
+	 */
+	private static int distanceToOpenSpot(Bitboard bits, int player) {
+		if (bits.settlementSpots(player) != 0) {
+			return 0;
+		}
+		long open = bits.openVertices();
+		long passable = ~(bits.getOccupied() & ~bits.getStructures(player));
+		long reached = bits.roadAnchors(player);
+		long frontier = reached;
+		for (int distance = 1; distance <= MAX_DISTANCE && frontier != 0; distance++) {
+			long next = 0;
+			for (long remaining = frontier; remaining != 0; remaining &= remaining - 1) {
+				next |= Topology.vertexNeighborMask(Long.numberOfTrailingZeros(remaining));
+			}
+			if ((next & open) != 0) {
+				return distance;
+			}
+			frontier = next & passable & ~reached;
+			reached |= frontier;
+		}
+		return MAX_DISTANCE + 1;
+	}
+
+	/**
+	 * Between 0 and 1: how much of the way the player is to beating "target" (the length or size that takes the
+	 * title), counting only the last few steps.
+	 */
+	private static float proximity(int have, int target) {
+		int missing = target + 1 - have;
+		return missing <= 0 ? 1f : 1f / (1 + missing * missing);
+	}
+}
@@ -0,0 +1,70 @@
+package myindy.settlersOfCatan.bot;
+
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Hand;
+import myindy.settlersOfCatan.engine.PlayerState;
+import myindy.settlersOfCatan.engine.Resource;
+
+/**
+ * This is the Features class! It turns a position into the row of numbers a learned Model reads, always seen from one
+ * player's side: that player's numbers come first, then the other seats in turn order after them, so the same model
+ * works for every seat. Rows are written straight into a big float[] (one row after another), which is how
+ * BatchEvaluator hands a whole batch to the model at once.
+ *
+ * Every seat gets SEAT_FEATURES numbers: score, expected cards per roll and cards in hand for each resource, knights
+ * played and held, longest road, pieces left, and whether they hold each title. After the seats come a few numbers
+ * about the game as a whole. Everything is scaled to roughly 0-1. Seats a smaller game doesn't have are left at 0.
+ */
+public final class Features {
+
+	public static final int MAX_SEATS = 4;
+	public static final int SEAT_FEATURES = 19;
+	public static final int GAME_FEATURES = 3;
+	public static final int COUNT = MAX_SEATS * SEAT_FEATURES + GAME_FEATURES;
+
+	private static final Resource[] RESOURCES = Resource.values();
+	private static final int TYPICAL_TURNS = 200;
+
+	private Features() {
+	}
+
+	/**
+	 * Writes the position, from the player's side, into features[offset] through features[offset + COUNT - 1].
+	 */
+	public static void extract(GameState state, int player, float[] features, int offset) {
+		int numPlayers = state.getNumPlayers();
+		if (numPlayers > MAX_SEATS) {
+			throw new IllegalArgumentException("Features only cover " + MAX_SEATS + " players");
+		}
+		int index = offset;
+		for (int seat = 0; seat < MAX_SEATS; seat++) {
+			if (seat >= numPlayers) {
+				for (int i = 0; i < SEAT_FEATURES; i++) {
+					features[index++] = 0;
+				}
+				continue;
+			}
+			int other = (player + seat) % numPlayers;
+			PlayerState playerState = state.getPlayer(other);
+			long pips = Evaluator.pipProduction(state, other);
+			features[index++] = playerState.getScore() / 10f;
+			for (Resource resource: RESOURCES) {
+				features[index++] = Hand.count(pips, resource) / 36f;
+			}
+			for (Resource resource: RESOURCES) {
+				features[index++] = Hand.count(playerState.getHand(), resource) / 10f;
+			}
+			features[index++] = playerState.getKnightsUsed() / 5f;
+			features[index++] = playerState.getKnightCards() / 5f;
+			features[index++] = state.getRoadLength(other) / (float) GameState.MAX_ROADS;
+			features[index++] = state.getSettlementsLeft(other) / (float) GameState.MAX_SETTLEMENTS;
+			features[index++] = state.getCitiesLeft(other) / (float) GameState.MAX_CITIES;
+			features[index++] = state.getRoadsLeft(other) / (float) GameState.MAX_ROADS;
+			features[index++] = state.getLongestRoadOwner() == other ? 1 : 0;
+			features[index++] = state.getLargestArmyOwner() == other ? 1 : 0;
+		}
+		features[index++] = state.getDeckSize() / (float) state.getDeckLength();
+		features[index++] = Math.min(1f, state.getTurn() / (float) TYPICAL_TURNS);
+		features[index++] = state.getCurrentPlayer() == player ? 1 : 0;
+	}
+}
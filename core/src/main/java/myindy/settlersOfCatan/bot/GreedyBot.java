@@ -0,0 +1,150 @@
+package myindy.settlersOfCatan.bot;
+
+import myindy.settlersOfCatan.engine.Bitboard;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Hand;
+import myindy.settlersOfCatan.engine.PlayerState;
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * This is the GreedyBot class! It always grabs the best thing it can right now, judging locations by their pips (how
+ * many ways the dice can roll the numbers around them). In order, it prefers upgrading to a city, building a
+ * settlement, chasing the robber off its own tiles with a knight, buying a development card, and finally building a
+ * road toward the best open location (only once it has nowhere to settle, or has lumber and brick to spare). When
+ * none of those are possible, it ends its turn. It never uses randomness, so it only ever plays differently because
+ * the dice did.
+ */
+public class GreedyBot implements Bot {
+
+	//Enough for a road while still keeping the lumber and brick a settlement needs
+	private static final long SPARE_ROAD_CARDS = 2 * PlayerState.ROAD_COST;
+
+	@Override
+	public void act(GameEngine engine) {
+		GameState state = engine.getState();
+		int player = state.getCurrentPlayer();
+		Bitboard bits = state.getBitboard();
+		switch (state.getPhase()) {
+		case SETUP_SETTLEMENT:
+			engine.placeSetupSettlement(BotUtils.bestVertex(state, bits.openVertices()));
+			break;
+		case SETUP_ROAD:
+			engine.placeSetupRoad(this.bestRoad(state, bits, player));
+			break;
+		case SETUP_RESOURCES:
+			engine.choosePregameResources(BotUtils.bestVertex(state, bits.getStructures(player)));
+			break;
+		case ROLL:
+			engine.rollDice();
+			break;
+		case ROBBER:
+			engine.moveRobber(this.bestRobberTile(state, player));
+			break;
+		case MAIN:
+			this.takeAction(engine, state, player, bits);
+			break;
+		default:
+			throw new IllegalStateException("Nothing to do in phase " + state.getPhase());
+		}
+	}
+
+	private void takeAction(GameEngine engine, GameState state, int player, Bitboard bits) {
+		if (state.canBuyCity()) {
+			engine.buildCity(BotUtils.bestVertex(state, bits.citySpots(player)));
+		} else if (state.canBuySettlement()) {
+			engine.buildSettlement(BotUtils.bestVertex(state, bits.settlementSpots(player)));
+		} else if (state.canPlayKnight() && this.robberHurts(state, player)) {
+			engine.playKnight();
+		} else if (state.canBuyDevCard()) {
+			engine.buyDevCard();
+		} else if (state.canBuyRoad() && (bits.settlementSpots(player) == 0
+				|| Hand.canAfford(state.getPlayer(player).getHand(), SPARE_ROAD_CARDS))) {
+			engine.buildRoad(this.bestRoad(state, bits, player));
+		} else {
+			engine.endTurn();
+		}
+	}
+
+	/**
+	 * The legal road whose far end leads to the best open location: either the end itself is open, or it's one road
+	 * away from an open location.
+	 */
+	private int bestRoad(GameState state, Bitboard bits, int player) {
+		long open = bits.openVertices();
+		int best = -1;
+		int bestScore = -1;
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			if (!bits.isLegalRoad(player, edge)) {
+				continue;
+			}
+			int score = 0;
+			for (int end = 0; end < 2; end++) {
+				int vertex = Topology.edgeVertex(edge, end);
+				if ((open & (1L << vertex)) != 0) {
+					score = Math.max(score, 2 * BotUtils.vertexPips(state, vertex));
+				} else {
+					long next = Topology.vertexNeighborMask(vertex) & open;
+					if (next != 0) {
+						score = Math.max(score, BotUtils.vertexPips(state, BotUtils.bestVertex(state, next)));
+					}
+				}
+			}
+			if (score > bestScore) {
+				best = edge;
+				bestScore = score;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Scores every tile by how many pips it would take away from opponents (weighted by settlement/city) minus twice
+	 * what it would take from this player, and picks the best one.
+	 */
+	private int bestRobberTile(GameState state, int player) {
+		int best = 0;
+		int bestScore = Integer.MIN_VALUE;
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			int score = this.robberScore(state, player, tile);
+			if (score > bestScore) {
+				best = tile;
+				bestScore = score;
+			}
+		}
+		return best;
+	}
+
+	private int robberScore(GameState state, int player, int tile) {
+		int pips = BotUtils.pips(state.getTileNumber(tile));
+		int score = 0;
+		for (int corner = 0; corner < Topology.TILE_CORNERS; corner++) {
+			int vertex = Topology.tileVertex(tile, corner);
+			int owner = state.getVertexOwner(vertex);
+			if (owner == player) {
+				score -= 2 * pips * state.getVertexLevel(vertex);
+			} else if (owner != GameState.NO_PLAYER) {
+				score += pips * state.getVertexLevel(vertex);
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * True if the robber is sitting on a tile that one of this player's structures collects from.
+	 */
+	private boolean robberHurts(GameState state, int player) {
+		int tile = state.getRobberTile();
+		for (int corner = 0; corner < Topology.TILE_CORNERS; corner++) {
+			if (state.getVertexOwner(Topology.tileVertex(tile, corner)) == player) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String getName() {
+		return "greedy";
+	}
+}
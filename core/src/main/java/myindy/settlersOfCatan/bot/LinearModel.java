@@ -0,0 +1,86 @@
+package myindy.settlersOfCatan.bot;
+
+/**
+ * This is the LinearModel class! The simplest Model: every feature gets a weight, and a row's value is the logistic
+ * sigmoid of the weighted sum plus a bias. In a model file the weights come first (one per input) and then the bias.
+ *
+ * Rows are handled four at a time so that every weight is loaded once for four rows. (The JDK 17 Vector API would do
+ * this across SIMD lanes, but it's still an incubator module there, so these are plain loops the JIT compiles well.)
+ * A LinearModel never changes after it's made, so any number of threads can share one.
+ */
+public class LinearModel implements Model {
+
+	private static final int BLOCK = 4;
+
+	private float[] _weights;
+	private float _bias;
+
+	public LinearModel(float[] weights, float bias) {
+		_weights = weights.clone();
+		_bias = bias;
+	}
+
+	/**
+	 * Hand-set weights that roughly agree with the Evaluator (points and production are good, the opponents' points
+	 * and production are bad), so the batch evaluation has something sensible to run before a trained model exists.
+	 */
+	public static LinearModel heuristic() {
+		float[] weights = new float[Features.COUNT];
+		for (int seat = 0; seat < Features.MAX_SEATS; seat++) {
+			int start = seat * Features.SEAT_FEATURES;
+			float sign = seat == 0 ? 1 : -1f / (Features.MAX_SEATS - 1);
+			//Score, then production for each of the five resources, then cards in hand
+			weights[start] = 4 * sign;
+			for (int resource = 1; resource <= 5; resource++) {
+				weights[start + resource] = 1.5f * sign;
+				weights[start + 5 + resource] = 0.3f * sign;
+			}
+			//Knights played and held, then longest road
+			weights[start + 11] = 0.5f * sign;
+			weights[start + 12] = 0.3f * sign;
+			weights[start + 13] = 1 * sign;
+		}
+		return new LinearModel(weights, -1);
+	}
+
+	@Override
+	public int getInputs() {
+		return _weights.length;
+	}
+
+	@Override
+	public void predict(float[] features, int rows, float[] values) {
+		int inputs = _weights.length;
+		int row = 0;
+		for (; row + BLOCK <= rows; row += BLOCK) {
+			int start = row * inputs;
+			float sum0 = _bias;
+			float sum1 = _bias;
+			float sum2 = _bias;
+			float sum3 = _bias;
+			for (int i = 0; i < inputs; i++) {
+				float weight = _weights[i];
+				sum0 += weight * features[start + i];
+				sum1 += weight * features[start + inputs + i];
+				sum2 += weight * features[start + 2 * inputs + i];
+				sum3 += weight * features[start + 3 * inputs + i];
+			}
+			values[row] = LinearModel.sigmoid(sum0);
+			values[row + 1] = LinearModel.sigmoid(sum1);
+			values[row + 2] = LinearModel.sigmoid(sum2);
+			values[row + 3] = LinearModel.sigmoid(sum3);
+		}
+		for (; row < rows; row++) {
+			int start = row * inputs;
+			float sum = _bias;
+			for (int i = 0; i < inputs; i++) {
+				sum += _weights[i] * features[start + i];
+			}
+			values[row] = LinearModel.sigmoid(sum);
+		}
+	}
+
+	static float sigmoid(float x) {
+		return (float) (1 / (1 + Math.exp(-x)));
+	}
+}
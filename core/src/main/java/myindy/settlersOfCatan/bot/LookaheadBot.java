@@ -0,0 +1,144 @@
+package myindy.settlersOfCatan.bot;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameRandom;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Move;
+import myindy.settlersOfCatan.engine.MoveGenerator;
+import myindy.settlersOfCatan.engine.UndoStack;
+
+/**
+ * This is the LookaheadBot class! It looks exactly one move ahead: it tries every legal move, asks a Model how
+ * likely each resulting position is to be a win, and plays the best one. Every position goes through a
+ * BatchEvaluator, so the model runs once per decision instead of once per move.
+ *
+ * A single position only has a few dozen moves, which is less than BatchEvaluator.MIN_BATCH, so on its own (the way
+ * the Simulator plays it, one game at a time) a LookaheadBot never fills a batch. A caller that runs many games side
+ * by side can decide for all of them at once with chooseMoves() instead, which fills each batch with the moves of as
+ * many games as fit.
+ *
+ * It looks ahead on its own copy of each game with the undrawn cards shuffled, so buying a development card shows it
+ * a card it might draw rather than the one it will. The copy and the rest of its scratch space are kept from one
+ * decision to the next, so deciding doesn't allocate anything.
+ */
+public class LookaheadBot implements Bot {
+
+	private BatchEvaluator _batch;
+	private GameRandom _random;
+	private UndoStack _undo;
+	private int[] _moves;
+	//For each row of the batch, which game it belongs to and which move it tried
+	private int[] _rowGame;
+	private int[] _rowMove;
+	private int[] _single;
+	private GameState[] _singleGame;
+	//The scratch copy every game is looked at on, and each game's best value so far
+	private GameState _copy;
+	private float[] _best;
+
+	public LookaheadBot(Model model, long seed) {
+		this(new BatchEvaluator(model), seed);
+	}
+
+	public LookaheadBot(BatchEvaluator batch, long seed) {
+		if (batch.getCapacity() < MoveGenerator.MAX_MOVES) {
+			throw new IllegalArgumentException("The batch has to fit every move of one position");
+		}
+		_batch = batch;
+		_random = new GameRandom(seed);
+		_undo = new UndoStack();
+		_moves = new int[MoveGenerator.MAX_MOVES];
+		_rowGame = new int[batch.getCapacity()];
+		_rowMove = new int[batch.getCapacity()];
+		_single = new int[1];
+		_singleGame = new GameState[1];
+		_best = new float[1];
+	}
+
+	/**
+	 * Starts the bot's random numbers over as if it had just been made with this seed, so the Simulator can keep one
+	 * bot for game after game.
+	 */
+	public void reseed(long seed) {
+		_random.setState(seed);
+	}
+
+	@Override
+	public void act(GameEngine engine) {
+		GameState state = engine.getState();
+		int count = MoveGenerator.generate(state, _moves);
+		if (count == 0) {
+			throw new IllegalStateException("Nothing to do in phase " + state.getPhase());
+		}
+		if (count == 1) {
+			Move.apply(engine, _moves[0]);
+			return;
+		}
+		_singleGame[0] = state;
+		this.chooseMoves(_singleGame, 1, _single);
+		_singleGame[0] = null;
+		Move.apply(engine, _single[0]);
+	}
+
+	/**
+	 * Picks a move for the player to move in each of the first numGames games, into chosen[]. The games themselves
+	 * aren't changed.
+	 */
+	public void chooseMoves(GameState[] games, int numGames, int[] chosen) {
+		if (_best.length < numGames) {
+			_best = new float[numGames];
+		}
+		_batch.clear();
+		for (int game = 0; game < numGames; game++) {
+			if (_copy == null) {
+				_copy = new GameState(games[game]);
+			} else {
+				_copy.copyFrom(games[game]);
+			}
+			GameState copy = _copy;
+			copy.shuffleUndrawnCards(_random);
+			int player = copy.getCurrentPlayer();
+			int count = MoveGenerator.generate(copy, _moves);
+			if (count > _batch.getRoomLeft()) {
+				this.flush(chosen);
+			}
+			_best[game] = Float.NEGATIVE_INFINITY;
+			for (int i = 0; i < count; i++) {
+				int move = _moves[i];
+				if (Move.type(move) == Move.ROLL) {
+					move = Move.roll(1 + _random.nextInt(6), 1 + _random.nextInt(6));
+				}
+				copy.make(move, _undo);
+				int row = _batch.submit(copy, player);
+				copy.unmake(_undo);
+				_rowGame[row] = game;
+				_rowMove[row] = _moves[i];
+			}
+		}
+		this.flush(chosen);
+	}
+
+	/**
+	 * Runs the model on everything submitted so far and keeps each game's best move.
+	 */
+	private void flush(int[] chosen) {
+		if (_batch.size() == 0) {
+			return;
+		}
+		_batch.evaluate();
+		for (int row = 0; row < _batch.size(); row++) {
+			int game = _rowGame[row];
+			float value = _batch.getValue(row);
+			if (value > _best[game]) {
+				_best[game] = value;
+				chosen[game] = _rowMove[row];
+			}
+		}
+		_batch.clear();
+	}
+
+	@Override
+	public String getName() {
+		return "lookahead";
+	}
+}
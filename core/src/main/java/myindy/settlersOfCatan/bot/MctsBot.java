@@ -0,0 +1,213 @@
+package myindy.settlersOfCatan.bot;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameRandom;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Move;
+import myindy.settlersOfCatan.engine.MoveGenerator;
+
+/**
+ * This is the MctsBot class! It's the strong computer player: before every decision it runs a Monte Carlo tree search
+ * (see MctsTree) for a fixed amount of time and plays the move that was tried the most. Moves with only one choice
+ * (like rolling the dice) are played straight away without searching.
+ *
+ * The search is root-parallel: every thread grows its own tree from the same position with its own random numbers,
+ * and when the time is up the trees' visit counts for each first move are added together. The threads never touch
+ * each other's trees, so there's nothing to lock, and together they see a lot more playouts than one thread would.
+ * With one thread the search just runs on the caller's thread (that's what the Simulator uses, since it's already
+ * playing a game on every core).
+ *
+ * It keeps count of how many playouts it has run and how long it has spent searching, for the playouts-per-second
+ * numbers. Call close() when done with it, to stop its threads and let go of its trees (a few megabytes each).
+ */
+public class MctsBot implements Bot, AutoCloseable {
+
+	public static final long DEFAULT_MOVE_MILLIS = 100;
+	//Nodes per tree, about 6 MB each
+	private static final int MAX_NODES = 1 << 18;
+
+	private long _moveNanos;
+	private int _threads;
+	private MctsTree[] _trees;
+	private GameRandom _seeds;
+	private ExecutorService _pool;
+	private Future<?>[] _searches;
+	private int[] _moves;
+	private long _playouts;
+	private long _searchNanos;
+	private long _lastPlayouts;
+
+	/**
+	 * A bot that searches for moveMillis milliseconds per decision on this many threads. The seed makes its random
+	 * numbers repeatable, but since the search stops on the clock, two runs don't always choose the same moves.
+	 */
+	public MctsBot(long moveMillis, int threads, long seed) {
+		if (moveMillis <= 0 || threads <= 0) {
+			throw new IllegalArgumentException("The search needs some time and at least one thread");
+		}
+		_moveNanos = moveMillis * 1000000L;
+		_threads = threads;
+		_trees = new MctsTree[threads];
+		_seeds = new GameRandom(seed);
+		for (int i = 0; i < threads; i++) {
+			_trees[i] = new MctsTree(MAX_NODES, _seeds.nextLong());
+		}
+		if (threads > 1) {
+			_pool = Executors.newFixedThreadPool(threads - 1, new SearchThreads());
+			_searches = new Future<?>[threads - 1];
+		}
+		_moves = new int[MoveGenerator.MAX_MOVES];
+	}
+
+	/**
+	 * The default: 100 milliseconds per decision, on every core.
+	 */
+	public MctsBot(long seed) {
+		this(DEFAULT_MOVE_MILLIS, Runtime.getRuntime().availableProcessors(), seed);
+	}
+
+	/**
+	 * Starts the bot's random numbers over as if it had just been made with this seed, so one bot (and its trees) can
+	 * play game after game instead of making new trees for each.
+	 */
+	public void reseed(long seed) {
+		_seeds.setState(seed);
+		for (MctsTree tree: _trees) {
+			tree.reseed(_seeds.nextLong());
+		}
+	}
+
+	@Override
+	public void act(GameEngine engine) {
+		Move.apply(engine, this.chooseMove(engine.getState()));
+	}
+
+	/**
+	 * Picks a move for the current player without playing it. The game is only read (every tree searches its own
+	 * copy), but it's read the whole time the search runs, so a window searching off its event thread should pass in a
+	 * copy of its game (new GameState(state)) and play the move on the real one afterwards.
+	 */
+	public int chooseMove(GameState state) {
+		if (_trees == null) {
+			throw new IllegalStateException("This bot has been closed");
+		}
+		int count = MoveGenerator.generate(state, _moves);
+		if (count == 0) {
+			throw new IllegalStateException("Nothing to do in phase " + state.getPhase());
+		}
+		return count == 1 ? _moves[0] : this.search(state);
+	}
+
+	/**
+	 * Runs every tree until the time is up (the caller's thread runs the first one) and returns the move with the
+	 * most visits over all of them.
+	 */
+	private int search(GameState state) {
+		long start = System.nanoTime();
+		long deadline = start + _moveNanos;
+		for (MctsTree tree: _trees) {
+			tree.reset(state, deadline);
+		}
+		for (int i = 1; i < _trees.length; i++) {
+			_searches[i - 1] = _pool.submit(_trees[i]);
+		}
+		_trees[0].run();
+		try {
+			for (int i = 1; i < _trees.length; i++) {
+				_searches[i - 1].get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while searching", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A search thread failed", e.getCause());
+		}
+		long playouts = 0;
+		for (MctsTree tree: _trees) {
+			playouts += tree.getPlayouts();
+		}
+		_lastPlayouts = playouts;
+		_playouts += playouts;
+		_searchNanos += System.nanoTime() - start;
+		//Every tree lists the root's moves in the same (MoveGenerator) order
+		int best = 0;
+		long bestVisits = -1;
+		for (int index = 0; index < _trees[0].getRootChildren(); index++) {
+			long visits = 0;
+			for (MctsTree tree: _trees) {
+				visits += tree.getRootVisits(index);
+			}
+			if (visits > bestVisits) {
+				best = index;
+				bestVisits = visits;
+			}
+		}
+		return _trees[0].getRootMove(best);
+	}
+
+	/**
+	 * How many playouts the last search ran (over all threads).
+	 */
+	public long getLastPlayouts() {
+		return _lastPlayouts;
+	}
+
+	public long getPlayouts() {
+		return _playouts;
+	}
+
+	/**
+	 * How long the bot has spent searching, in total.
+	 */
+	public long getSearchNanos() {
+		return _searchNanos;
+	}
+
+	/**
+	 * Playouts per second of searching, over every search so far (0 before the first one).
+	 */
+	public double getPlayoutsPerSecond() {
+		return _searchNanos == 0 ? 0 : _playouts / (_searchNanos / 1e9);
+	}
+
+	public int getThreads() {
+		return _threads;
+	}
+
+	/**
+	 * Stops the search threads and drops the trees, so nothing is left running or taking up memory even if somebody
+	 * still holds on to the bot. It can't choose any more moves after this.
+	 */
+	@Override
+	public void close() {
+		if (_pool != null) {
+			_pool.shutdownNow();
+			_pool = null;
+		}
+		_trees = null;
+	}
+
+	@Override
+	public String getName() {
+		return "mcts";
+	}
+
+	/**
+	 * The search threads are daemons, so a bot that's never closed doesn't keep the program running.
+	 */
+	private static class SearchThreads implements ThreadFactory {
+
+		@Override
+		public Thread newThread(Runnable search) {
+			Thread thread = new Thread(search, "mcts-search");
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
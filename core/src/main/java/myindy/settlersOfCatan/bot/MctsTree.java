@@ -0,0 +1,358 @@
+package myindy.settlersOfCatan.bot;
+
+import java.util.Arrays;
+
+import myindy.settlersOfCatan.engine.GameRandom;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Move;
+import myindy.settlersOfCatan.engine.MoveGenerator;
+import myindy.settlersOfCatan.engine.Phase;
+import myindy.settlersOfCatan.engine.UndoStack;
+
+/**
+ * This is the MctsTree class! It's one Monte Carlo search tree, grown by one thread for MctsBot. Every iteration walks
+ * down the tree picking moves with UCT (the move that's done best so far for the player making it, plus a bonus for
+ * moves that haven't been tried much), adds one new node at the bottom, plays the rest of the game out quickly and
+ * more or less randomly, and then credits the result to every node it passed on the way down.
+ *
+ * Two kinds of moves don't decide what happens next by themselves, so they're "chance" nodes: rolling the dice and
+ * buying a development card. Their children are the outcomes (the 11 possible totals, or which card came up), and
+ * every time the walk reaches one, the outcome is drawn for real and the walk continues under that outcome's child,
+ * so each outcome gets explored about as often as it actually happens. Nobody knows the order of the undrawn cards, so
+ * they're shuffled again at the start of every iteration and the tree can't learn the real order by accident.
+ *
+ * The tree is a handful of parallel arrays instead of node objects, and the walk goes down and back up on one
+ * GameState with make() and unmake(), so once the first search has sized everything nothing is allocated (reset()
+ * copies each new position into the same GameState, and the path and UndoStack only grow on a deeper line than any
+ * before). Once the arrays are full the tree stops growing and the remaining time goes into more playouts from its
+ * existing leaves.
+ */
+class MctsTree implements Runnable {
+
+	static final int ROOT = 0;
+	//Outcomes of buying a development card, in DevCard order
+	static final int KNIGHT_OUTCOME = 0;
+	static final int VICTORY_POINT_OUTCOME = 1;
+
+	private static final int UNEXPANDED = -1;
+	private static final int NUM_ROLLS = 11;
+	private static final int NUM_CARDS = 2;
+	//How hard UCT leans toward moves that haven't been tried much (rewards are between 0 and 1)
+	private static final double EXPLORATION = 1.0;
+	//A playout that hasn't finished after this many more turns is scored by points instead
+	private static final int PLAYOUT_TURNS = 200;
+
+	private int[] _move;
+	private int[] _player;
+	private int[] _visits;
+	private float[] _reward;
+	private int[] _firstChild;
+	private int[] _childCount;
+	private int _size;
+
+	private GameState _state;
+	private UndoStack _undo;
+	private GameRandom _random;
+	private int[] _moves;
+	private int[] _path;
+	private float[] _rewards;
+	private long _deadline;
+	private long _playouts;
+
+	MctsTree(int maxNodes, long seed) {
+		_move = new int[maxNodes];
+		_player = new int[maxNodes];
+		_visits = new int[maxNodes];
+		_reward = new float[maxNodes];
+		_firstChild = new int[maxNodes];
+		_childCount = new int[maxNodes];
+		_undo = new UndoStack();
+		_random = new GameRandom(seed);
+		_moves = new int[MoveGenerator.MAX_MOVES];
+		_path = new int[256];
+	}
+
+	/**
+	 * Starts the tree's random numbers over from this seed (the same as a new tree made with it).
+	 */
+	void reseed(long seed) {
+		_random.setState(seed);
+	}
+
+	/**
+	 * Starts a new tree for this position (the tree copies it into a GameState of its own, and searches until the
+	 * deadline, a System.nanoTime() value). The copy and the rewards are only made the first time, or when the number
+	 * of players changes; every other search overwrites them in place.
+	 */
+	void reset(GameState root, long deadline) {
+		if (_state == null) {
+			_state = new GameState(root);
+		} else {
+			_state.copyFrom(root);
+		}
+		if (_rewards == null || _rewards.length != root.getNumPlayers()) {
+			_rewards = new float[root.getNumPlayers()];
+		} else {
+			Arrays.fill(_rewards, 0);
+		}
+		_deadline = deadline;
+		_playouts = 0;
+		_size = 1;
+		_move[ROOT] = 0;
+		_player[ROOT] = GameState.NO_PLAYER;
+		_visits[ROOT] = 0;
+		_reward[ROOT] = 0;
+		_childCount[ROOT] = UNEXPANDED;
+	}
+
+	/**
+	 * Runs iterations until the deadline. Always runs at least one, so the root always has children.
+	 */
+	@Override
+	public void run() {
+		do {
+			this.iterate();
+		} while (System.nanoTime() < _deadline);
+	}
+
+	private void iterate() {
+		_state.shuffleUndrawnCards(_random);
+		int depth = 0;
+		int node = ROOT;
+		_path[depth++] = node;
+		while (_state.getPhase() != Phase.GAME_OVER) {
+			if (_childCount[node] == UNEXPANDED && !this.expand(node)) {
+				break;
+			}
+			int child = this.select(node);
+			int outcome = this.play(_move[child]);
+			depth = this.addToPath(depth, child);
+			if (MctsTree.isChance(_move[child])) {
+				if (_childCount[child] == UNEXPANDED && !this.expandChance(child)) {
+					break;
+				}
+				child = _firstChild[child] + outcome;
+				depth = this.addToPath(depth, child);
+			}
+			node = child;
+			if (_visits[node] == 0) {
+				break;
+			}
+		}
+		this.playout();
+		this.score();
+		for (int i = 0; i < depth; i++) {
+			int step = _path[i];
+			_visits[step]++;
+			if (_player[step] != GameState.NO_PLAYER) {
+				_reward[step] += _rewards[_player[step]];
+			}
+		}
+		while (!_undo.isEmpty()) {
+			_state.unmake(_undo);
+		}
+		_playouts++;
+	}
+
+	private int addToPath(int depth, int node) {
+		if (depth == _path.length) {
+			_path = Arrays.copyOf(_path, 2 * _path.length);
+		}
+		_path[depth] = node;
+		return depth + 1;
+	}
+
+	/**
+	 * Gives the node one child for every legal move. Returns false if there's no room left in the tree.
+	 */
+	private boolean expand(int node) {
+		int count = MoveGenerator.generate(_state, _moves);
+		if (_size + count > _move.length) {
+			return false;
+		}
+		this.addChildren(node, count, _state.getCurrentPlayer());
+		System.arraycopy(_moves, 0, _move, _firstChild[node], count);
+		return true;
+	}
+
+	/**
+	 * Gives a chance node one child per outcome. They all keep the chance node's move, just for reading the tree.
+	 */
+	private boolean expandChance(int node) {
+		int count = Move.type(_move[node]) == Move.ROLL ? NUM_ROLLS : NUM_CARDS;
+		if (_size + count > _move.length) {
+			return false;
+		}
+		this.addChildren(node, count, _player[node]);
+		Arrays.fill(_move, _firstChild[node], _firstChild[node] + count, _move[node]);
+		return true;
+	}
+
+	private void addChildren(int node, int count, int player) {
+		_firstChild[node] = _size;
+		_childCount[node] = count;
+		for (int child = _size; child < _size + count; child++) {
+			_player[child] = player;
+			_visits[child] = 0;
+			_reward[child] = 0;
+			_childCount[child] = UNEXPANDED;
+		}
+		_size += count;
+	}
+
+	/**
+	 * UCT: an untried child first (starting somewhere random, so the first moves on the list aren't favoured), and
+	 * otherwise the one with the best average reward plus exploration bonus.
+	 */
+	private int select(int node) {
+		int first = _firstChild[node];
+		int count = _childCount[node];
+		int start = _random.nextInt(count);
+		for (int i = 0; i < count; i++) {
+			int child = first + (start + i) % count;
+			if (_visits[child] == 0) {
+				return child;
+			}
+		}
+		double logVisits = Math.log(_visits[node]);
+		int best = first;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int child = first; child < first + count; child++) {
+			double score = _reward[child] / _visits[child] + EXPLORATION * Math.sqrt(logVisits / _visits[child]);
+			if (score > bestScore) {
+				best = child;
+				bestScore = score;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Makes the move and returns which outcome happened: the dice total minus 2 for a roll, KNIGHT_OUTCOME or
+	 * VICTORY_POINT_OUTCOME for a card, and 0 for everything else.
+	 */
+	private int play(int move) {
+		switch (Move.type(move)) {
+		case Move.ROLL:
+			int dieA = 1 + _random.nextInt(6);
+			int dieB = 1 + _random.nextInt(6);
+			_state.make(Move.roll(dieA, dieB), _undo);
+			return dieA + dieB - 2;
+		case Move.BUY_DEV_CARD:
+			int knights = _state.getPlayer(_state.getCurrentPlayer()).getKnightCards();
+			_state.make(move, _undo);
+			return _state.getPlayer(_state.getCurrentPlayer()).getKnightCards() > knights ? KNIGHT_OUTCOME
+					: VICTORY_POINT_OUTCOME;
+		default:
+			_state.make(move, _undo);
+			return 0;
+		}
+	}
+
+	private static boolean isChance(int move) {
+		return Move.type(move) == Move.ROLL || Move.type(move) == Move.BUY_DEV_CARD;
+	}
+
+	/**
+	 * Plays the game on from here with a quick policy: a random city if there is one, otherwise a random settlement,
+	 * otherwise flip coins for a road, a development card and a knight, and otherwise end the turn. Set-up and robber
+	 * moves are just random. It's rough, but it builds like a real player does, and it's fast.
+	 */
+	private void playout() {
+		int lastTurn = _state.getTurn() + PLAYOUT_TURNS;
+		while (_state.getPhase() != Phase.GAME_OVER && _state.getTurn() <= lastTurn) {
+			int count = MoveGenerator.generate(_state, _moves);
+			this.play(_state.getPhase() == Phase.MAIN ? this.playoutMove(count) : _moves[_random.nextInt(count)]);
+		}
+	}
+
+	private int playoutMove(int count) {
+		//The generator lists moves by type, so each type is one run of the array
+		int roads = 0;
+		int settlements = 0;
+		int cities = 0;
+		int other = count;
+		for (int i = 0; i < count; i++) {
+			int type = Move.type(_moves[i]);
+			if (type == Move.BUILD_ROAD) {
+				roads++;
+			} else if (type == Move.BUILD_SETTLEMENT) {
+				settlements++;
+			} else if (type == Move.BUILD_CITY) {
+				cities++;
+			} else {
+				other = i;
+				break;
+			}
+		}
+		if (cities > 0) {
+			return _moves[roads + settlements + _random.nextInt(cities)];
+		}
+		if (settlements > 0) {
+			return _moves[roads + _random.nextInt(settlements)];
+		}
+		if (roads > 0 && _random.nextInt(2) == 0) {
+			return _moves[_random.nextInt(roads)];
+		}
+		for (int i = other; i < count - 1; i++) {
+			if (_random.nextInt(2) == 0) {
+				return _moves[i];
+			}
+		}
+		//Ending the turn is always last
+		return _moves[count - 1];
+	}
+
+	/**
+	 * The winner gets 1 and everybody else 0. If the playout ran out of turns, the players with the most points share
+	 * the win.
+	 */
+	private void score() {
+		int winner = _state.getWinner();
+		int best = 0;
+		int leaders = 0;
+		for (int player = 0; player < _rewards.length; player++) {
+			int score = _state.getPlayer(player).getScore();
+			if (score > best) {
+				best = score;
+				leaders = 1;
+			} else if (score == best) {
+				leaders++;
+			}
+		}
+		for (int player = 0; player < _rewards.length; player++) {
+			if (winner != GameState.NO_PLAYER) {
+				_rewards[player] = player == winner ? 1 : 0;
+			} else {
+				_rewards[player] = _state.getPlayer(player).getScore() == best ? 1f / leaders : 0;
+			}
+		}
+	}
+
+	/**
+	 * How many times the root's child number "index" (in MoveGenerator order) was tried.
+	 */
+	int getRootVisits(int index) {
+		return _visits[_firstChild[ROOT] + index];
+	}
+
+	int getRootMove(int index) {
+		return _move[_firstChild[ROOT] + index];
+	}
+
+	float getRootReward(int index) {
+		return _reward[_firstChild[ROOT] + index];
+	}
+
+	int getRootChildren() {
+		return _childCount[ROOT];
+	}
+
+	long getPlayouts() {
+		return _playouts;
+	}
+
+	int getSize() {
+		return _size;
+	}
+}
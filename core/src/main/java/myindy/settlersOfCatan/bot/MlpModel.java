@@ -0,0 +1,91 @@
+package myindy.settlersOfCatan.bot;
+
+/**
+ * This is the MlpModel class! A tiny neural network: one hidden layer of ReLU units and a single sigmoid output. In a
+ * model file the hidden weights come first (all of hidden unit 0's inputs, then hidden unit 1's, and so on), then the
+ * hidden biases, then the output weights (one per hidden unit), and finally the output bias.
+ *
+ * Like LinearModel, it walks the batch four rows at a time, so each hidden weight is loaded once per four rows. Each
+ * hidden unit's four activations go straight into the four outputs, so nothing has to be stored in between and
+ * predict() never allocates. It never changes after it's made, so threads can share one.
+ */
+public class MlpModel implements Model {
+
+	private static final int BLOCK = 4;
+
+	private int _inputs;
+	private int _hidden;
+	private float[] _hiddenWeights;
+	private float[] _hiddenBiases;
+	private float[] _outputWeights;
+	private float _outputBias;
+
+	public MlpModel(int inputs, float[] hiddenWeights, float[] hiddenBiases, float[] outputWeights, float outputBias) {
+		if (hiddenWeights.length != inputs * hiddenBiases.length || outputWeights.length != hiddenBiases.length) {
+			throw new IllegalArgumentException("The layer sizes don't match");
+		}
+		_inputs = inputs;
+		_hidden = hiddenBiases.length;
+		_hiddenWeights = hiddenWeights.clone();
+		_hiddenBiases = hiddenBiases.clone();
+		_outputWeights = outputWeights.clone();
+		_outputBias = outputBias;
+	}
+
+	@Override
+	public int getInputs() {
+		return _inputs;
+	}
+
+	public int getHidden() {
+		return _hidden;
+	}
+
+	@Override
+	public void predict(float[] features, int rows, float[] values) {
+		int row = 0;
+		for (; row + BLOCK <= rows; row += BLOCK) {
+			int start = row * _inputs;
+			float out0 = _outputBias;
+			float out1 = _outputBias;
+			float out2 = _outputBias;
+			float out3 = _outputBias;
+			for (int unit = 0; unit < _hidden; unit++) {
+				int weights = unit * _inputs;
+				float sum0 = _hiddenBiases[unit];
+				float sum1 = sum0;
+				float sum2 = sum0;
+				float sum3 = sum0;
+				for (int i = 0; i < _inputs; i++) {
+					float weight = _hiddenWeights[weights + i];
+					sum0 += weight * features[start + i];
+					sum1 += weight * features[start + _inputs + i];
+					sum2 += weight * features[start + 2 * _inputs + i];
+					sum3 += weight * features[start + 3 * _inputs + i];
+				}
+				float outputWeight = _outputWeights[unit];
+				out0 += outputWeight * Math.max(0, sum0);
+				out1 += outputWeight * Math.max(0, sum1);
+				out2 += outputWeight * Math.max(0, sum2);
+				out3 += outputWeight * Math.max(0, sum3);
+			}
+			values[row] = LinearModel.sigmoid(out0);
+			values[row + 1] = LinearModel.sigmoid(out1);
+			values[row + 2] = LinearModel.sigmoid(out2);
+			values[row + 3] = LinearModel.sigmoid(out3);
+		}
+		for (; row < rows; row++) {
+			int start = row * _inputs;
+			float out = _outputBias;
+			for (int unit = 0; unit < _hidden; unit++) {
+				int weights = unit * _inputs;
+				float sum = _hiddenBiases[unit];
+				for (int i = 0; i < _inputs; i++) {
+					sum += _hiddenWeights[weights + i] * features[start + i];
+				}
+				out += _outputWeights[unit] * Math.max(0, sum);
+			}
+			values[row] = LinearModel.sigmoid(out);
+		}
+	}
+}
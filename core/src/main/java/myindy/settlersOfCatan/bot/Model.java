@@ -0,0 +1,59 @@
+package myindy.settlersOfCatan.bot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This is the Model interface! A Model is a small trained function that reads rows of Features and says how likely
+ * the player each row is seen from is to win. It always works on a whole batch of rows at once, since that's where
+ * the time goes: the weights are loaded once per batch instead of once per position.
+ *
+ * Models are saved as a small little-endian file: the magic number "CTNN", a version, the number of inputs and the
+ * number of hidden units, and then the weights as floats (see LinearModel and MlpModel for their order). A file with 0
+ * hidden units is a LinearModel.
+ */
+public interface Model {
+
+	int MAGIC = 0x43544E4E;
+	int VERSION = 1;
+
+	/**
+	 * How many numbers each row has (Features.COUNT for every model the bots use).
+	 */
+	int getInputs();
+
+	/**
+	 * Reads "rows" rows of getInputs() numbers each, one after another starting at features[0], and writes each
+	 * row's value (between 0 and 1) into values[0] through values[rows - 1].
+	 */
+	void predict(float[] features, int rows, float[] values);
+
+	/**
+	 * Loads a LinearModel or MlpModel from a model file.
+	 */
+	static Model load(Path file) throws IOException {
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+		if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+			throw new IOException(file + " isn't a model file");
+		}
+		int inputs = in.getInt();
+		int hidden = in.getInt();
+		if (hidden == 0) {
+			return new LinearModel(Model.readFloats(in, inputs), in.getFloat());
+		}
+		float[] hiddenWeights = Model.readFloats(in, hidden * inputs);
+		float[] hiddenBiases = Model.readFloats(in, hidden);
+		float[] outputWeights = Model.readFloats(in, hidden);
+		return new MlpModel(inputs, hiddenWeights, hiddenBiases, outputWeights, in.getFloat());
+	}
+
+	private static float[] readFloats(ByteBuffer in, int count) {
+		float[] floats = new float[count];
+		in.asFloatBuffer().get(floats);
+		in.position(in.position() + 4 * count);
+		return floats;
+	}
+}
@@ -0,0 +1,82 @@
+package myindy.settlersOfCatan.bot;
+
+import java.util.Random;
+
+import myindy.settlersOfCatan.engine.Bitboard;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * This is the RandomBot class! It picks uniformly among its legal moves, which makes it a good baseline: anything
+ * smarter should beat it easily. During its turn, ending the turn is one of the choices, just like every purchase it
+ * can afford, so it sometimes passes with cards left in hand.
+ */
+public class RandomBot implements Bot {
+
+	private Random _random;
+
+	public RandomBot(Random random) {
+		_random = random;
+	}
+
+	@Override
+	public void act(GameEngine engine) {
+		GameState state = engine.getState();
+		int player = state.getCurrentPlayer();
+		Bitboard bits = state.getBitboard();
+		switch (state.getPhase()) {
+		case SETUP_SETTLEMENT:
+			engine.placeSetupSettlement(BotUtils.randomBit(bits.openVertices(), _random));
+			break;
+		case SETUP_ROAD:
+			engine.placeSetupRoad(BotUtils.randomEdge(bits.roadSpotsLo(player), bits.roadSpotsHi(player), _random));
+			break;
+		case SETUP_RESOURCES:
+			engine.choosePregameResources(BotUtils.randomBit(bits.getStructures(player), _random));
+			break;
+		case ROLL:
+			engine.rollDice();
+			break;
+		case ROBBER:
+			engine.moveRobber(_random.nextInt(Topology.NUM_TILES));
+			break;
+		case MAIN:
+			this.takeAction(engine, state, player, bits);
+			break;
+		default:
+			throw new IllegalStateException("Nothing to do in phase " + state.getPhase());
+		}
+	}
+
+	/**
+	 * Counts up every kind of move available right now (plus ending the turn) and picks one of them.
+	 */
+	private void takeAction(GameEngine engine, GameState state, int player, Bitboard bits) {
+		boolean city = state.canBuyCity();
+		boolean settlement = state.canBuySettlement();
+		boolean road = state.canBuyRoad();
+		boolean devCard = state.canBuyDevCard();
+		boolean knight = state.canPlayKnight();
+		int count = 1 + (city ? 1 : 0) + (settlement ? 1 : 0) + (road ? 1 : 0) + (devCard ? 1 : 0) + (knight ? 1 : 0);
+		int choice = _random.nextInt(count);
+		if (city && choice-- == 0) {
+			engine.buildCity(BotUtils.randomBit(bits.citySpots(player), _random));
+		} else if (settlement && choice-- == 0) {
+			engine.buildSettlement(BotUtils.randomBit(bits.settlementSpots(player), _random));
+		} else if (road && choice-- == 0) {
+			engine.buildRoad(BotUtils.randomEdge(bits.roadSpotsLo(player), bits.roadSpotsHi(player), _random));
+		} else if (devCard && choice-- == 0) {
+			engine.buyDevCard();
+		} else if (knight && choice-- == 0) {
+			engine.playKnight();
+		} else {
+			engine.endTurn();
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "random";
+	}
+}
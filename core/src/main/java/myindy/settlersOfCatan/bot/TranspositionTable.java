@@ -0,0 +1,189 @@
+package myindy.settlersOfCatan.bot;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * This is the TranspositionTable class! A search reaches the same position over and over through different orders of
+ * the same moves, so it remembers what it learned about each position (a value, how deep it looked, and the best
+ * move it found) under the position's Zobrist key (GameState.getKey()), and checks here before working a position out
+ * again.
+ *
+ * The table never grows: it's one long[] sized up front from a number of megabytes, and when it's full new entries
+ * push old ones out. Each key maps to a bucket of two slots. The first slot prefers deep results: it's only replaced
+ * by a result at least as deep, by the same position, or once it's left over from an earlier search (see
+ * newSearch()). The second slot always takes whatever didn't go in the first, so recent results are never just thrown
+ * away.
+ *
+ * Several search threads can share one table without any locks. A slot is two longs, the data and the key XORed with
+ * the data. Two threads writing the same slot at once can leave one thread's key next to the other's data, but
+ * then the XOR doesn't give the key back, so the torn slot just looks empty instead of handing out the wrong
+ * position's result. (Each long itself is read and written whole, through a VarHandle.)
+ *
+ * Nothing searches with it yet. MctsBot's trees keep their statistics per node (a position reached by two move
+ * orders is counted twice, separately) and LookaheadBot only looks one move ahead, so neither looks anything up; the
+ * only thing that uses it today is TranspositionTableBenchmark. It's a standalone piece, ready for a deeper search (an alpha-beta bot, or
+ * an MCTS that shares statistics between transposed nodes) to pick up.
+ */
+public class TranspositionTable {
+
+	public static final int DEFAULT_MEGABYTES = 64;
+	//How the result was found, for alpha-beta style searches (a Monte Carlo search only ever stores EXACT)
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+	//What probe() returns when the position isn't in the table (stored data is never 0, since the bound isn't)
+	public static final long MISSING = 0L;
+	public static final int MAX_DEPTH = 255;
+
+	//Two slots of two longs each
+	private static final int LONGS_PER_BUCKET = 4;
+	private static final int BYTES_PER_BUCKET = 8 * LONGS_PER_BUCKET;
+	//Keeps the array under Java's length limit
+	private static final int MAX_BUCKETS = 1 << 28;
+	//Where everything sits in a slot's data long
+	private static final int MOVE_SHIFT = 32;
+	private static final int DEPTH_SHIFT = 48;
+	private static final int BOUND_SHIFT = 56;
+	private static final int GENERATION_SHIFT = 58;
+	private static final int GENERATIONS = 1 << (64 - GENERATION_SHIFT);
+	private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private long[] _slots;
+	private int _mask;
+	private volatile int _generation;
+
+	public TranspositionTable() {
+		this(DEFAULT_MEGABYTES);
+	}
+
+	/**
+	 * A table taking up at most this many megabytes (rounded down to a power of two number of buckets).
+	 */
+	public TranspositionTable(int megabytes) {
+		if (megabytes <= 0) {
+			throw new IllegalArgumentException("A transposition table needs at least 1 MB");
+		}
+		long buckets = Math.min(MAX_BUCKETS, ((long) megabytes << 20) / BYTES_PER_BUCKET);
+		int numBuckets = Long.highestOneBit(buckets) > 0 ? (int) Long.highestOneBit(buckets) : 1;
+		_slots = new long[numBuckets * LONGS_PER_BUCKET];
+		_mask = numBuckets - 1;
+		_generation = 0;
+	}
+
+	/**
+	 * Looks the position up and returns its packed data (read it with value(), depth(), bestMove() and bound()), or
+	 * MISSING if it isn't there.
+	 */
+	public long probe(long key) {
+		int bucket = this.bucket(key);
+		for (int slot = bucket; slot < bucket + LONGS_PER_BUCKET; slot += 2) {
+			long data = (long) SLOTS.getOpaque(_slots, slot + 1);
+			if (data != MISSING && ((long) SLOTS.getOpaque(_slots, slot) ^ data) == key) {
+				return data;
+			}
+		}
+		return MISSING;
+	}
+
+	/**
+	 * Remembers what the search found out about a position. If the same position is already in the depth-preferred
+	 * slot and this result has no best move, the old best move is kept (it's still the best guess for move ordering).
+	 */
+	public void store(long key, float value, int depth, int bestMove, int bound) {
+		int bucket = this.bucket(key);
+		long data = TranspositionTable.pack(value, depth, bestMove, bound, _generation);
+		long oldData = (long) SLOTS.getOpaque(_slots, bucket + 1);
+		boolean samePosition = oldData != MISSING && ((long) SLOTS.getOpaque(_slots, bucket) ^ oldData) == key;
+		if (oldData == MISSING || samePosition || depth >= TranspositionTable.depth(oldData)
+				|| TranspositionTable.generation(oldData) != _generation) {
+			if (samePosition && bestMove == 0) {
+				data |= (long) TranspositionTable.bestMove(oldData) << MOVE_SHIFT;
+			}
+			this.write(bucket, key, data);
+		} else {
+			this.write(bucket + 2, key, data);
+		}
+	}
+
+	/**
+	 * Call this before each new search: entries from earlier searches stay usable, but they no longer hold on to the
+	 * depth-preferred slots.
+	 */
+	public void newSearch() {
+		_generation = (_generation + 1) % GENERATIONS;
+	}
+
+	/**
+	 * Empties the table. Nobody should be searching with it at the time.
+	 */
+	public void clear() {
+		Arrays.fill(_slots, 0L);
+		_generation = 0;
+	}
+
+	/**
+	 * How many positions the table can hold at once.
+	 */
+	public int getCapacity() {
+		return _slots.length / 2;
+	}
+
+	/**
+	 * About how full the table is with this search's results, in parts per thousand (from a sample at the start).
+	 */
+	public int getUsagePerMille() {
+		int sample = Math.min(1000, this.getCapacity());
+		int used = 0;
+		for (int slot = 0; slot < 2 * sample; slot += 2) {
+			long data = (long) SLOTS.getOpaque(_slots, slot + 1);
+			if (data != MISSING && TranspositionTable.generation(data) == _generation) {
+				used++;
+			}
+		}
+		return used * 1000 / sample;
+	}
+
+	private int bucket(long key) {
+		return ((int) key & _mask) * LONGS_PER_BUCKET;
+	}
+
+	private void write(int slot, long key, long data) {
+		SLOTS.setOpaque(_slots, slot, key ^ data);
+		SLOTS.setOpaque(_slots, slot + 1, data);
+	}
+
+	/**
+	 * Packs one result into a data long: the value's float bits in the low 32 bits, then the best move (a Move, which
+	 * fits in 16 bits), the depth, the bound and the generation.
+	 */
+	private static long pack(float value, int depth, int bestMove, int bound, int generation) {
+		if (bound < EXACT || bound > UPPER_BOUND) {
+			throw new IllegalArgumentException("Not a bound: " + bound);
+		}
+		return (Float.floatToRawIntBits(value) & 0xFFFFFFFFL) | (long) (bestMove & 0xFFFF) << MOVE_SHIFT
+				| (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT | (long) bound << BOUND_SHIFT
+				| (long) generation << GENERATION_SHIFT;
+	}
+
+	public static float value(long data) {
+		return Float.intBitsToFloat((int) data);
+	}
+
+	public static int bestMove(long data) {
+		return (int) (data >>> MOVE_SHIFT) & 0xFFFF;
+	}
+
+	public static int depth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	public static int bound(long data) {
+		return (int) (data >>> BOUND_SHIFT) & 0x3;
+	}
+
+	private static int generation(long data) {
+		return (int) (data >>> GENERATION_SHIFT);
+	}
+}
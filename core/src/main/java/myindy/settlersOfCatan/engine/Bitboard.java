@@ -0,0 +1,351 @@
+package myindy.settlersOfCatan.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is the Bitboard class! It keeps the board's pieces as bit masks so that the placement rules are just a few
+ * AND/OR operations instead of walks over the board. The 54 vertices fit in one long (bit v is vertex v). The 72 edges
+ * don't fit in one long, so every edge set is a pair: a "lo" long for edges 0-63 and a "hi" long for edges 64-71.
+ *
+ * Besides where the pieces are, it keeps a few derived masks up to date as pieces are placed: the blocked vertices
+ * (anything occupied or right next to something occupied, i.e. the distance rule), each player's reach (every vertex
+ * at the end of one of their roads), and each player's road frontier (every empty edge they could build a road on).
+ * Placing a piece only touches the masks around that one vertex or edge, so "where can this player build?" is always
+ * answered straight from a field. The neighbor masks these are built from are precomputed in Topology.
+ */
+public class Bitboard {
+
+	static final int SNAPSHOT_BYTES = 8 * (4 + 7 * GameSnapshot.MAX_PLAYERS);
+
+	private long _occupied;
+	private long _blocked;
+	private long _edgesLo;
+	private long _edgesHi;
+	private long[] _structures;
+	private long[] _cities;
+	private long[] _roadsLo;
+	private long[] _roadsHi;
+	private long[] _reach;
+	private long[] _roadSpotsLo;
+	private long[] _roadSpotsHi;
+
+	public Bitboard(int numPlayers) {
+		_structures = new long[numPlayers];
+		_cities = new long[numPlayers];
+		_roadsLo = new long[numPlayers];
+		_roadsHi = new long[numPlayers];
+		_reach = new long[numPlayers];
+		_roadSpotsLo = new long[numPlayers];
+		_roadSpotsHi = new long[numPlayers];
+	}
+
+	public Bitboard(Bitboard other) {
+		_occupied = other._occupied;
+		_blocked = other._blocked;
+		_edgesLo = other._edgesLo;
+		_edgesHi = other._edgesHi;
+		_structures = other._structures.clone();
+		_cities = other._cities.clone();
+		_roadsLo = other._roadsLo.clone();
+		_roadsHi = other._roadsHi.clone();
+		_reach = other._reach.clone();
+		_roadSpotsLo = other._roadSpotsLo.clone();
+		_roadSpotsHi = other._roadSpotsHi.clone();
+	}
+
+	/**
+	 * Turns this Bitboard into a copy of other without allocating anything. Both have to be for the same number of
+	 * players.
+	 */
+	void copyFrom(Bitboard other) {
+		_occupied = other._occupied;
+		_blocked = other._blocked;
+		_edgesLo = other._edgesLo;
+		_edgesHi = other._edgesHi;
+		System.arraycopy(other._structures, 0, _structures, 0, _structures.length);
+		System.arraycopy(other._cities, 0, _cities, 0, _cities.length);
+		System.arraycopy(other._roadsLo, 0, _roadsLo, 0, _roadsLo.length);
+		System.arraycopy(other._roadsHi, 0, _roadsHi, 0, _roadsHi.length);
+		System.arraycopy(other._reach, 0, _reach, 0, _reach.length);
+		System.arraycopy(other._roadSpotsLo, 0, _roadSpotsLo, 0, _roadSpotsLo.length);
+		System.arraycopy(other._roadSpotsHi, 0, _roadSpotsHi, 0, _roadSpotsHi.length);
+	}
+
+	void placeSettlement(int player, int vertex) {
+		long bit = 1L << vertex;
+		_occupied |= bit;
+		_blocked |= bit | Topology.vertexNeighborMask(vertex);
+		_structures[player] |= bit;
+		//The new settlement is somewhere its owner can build roads from, and somewhere nobody else can build through
+		this.addRoadSpots(player, vertex);
+		for (int other = 0; other < _structures.length; other++) {
+			if (other != player) {
+				this.dropRoadSpots(other, vertex);
+			}
+		}
+	}
+
+	void placeCity(int player, int vertex) {
+		_cities[player] |= 1L << vertex;
+	}
+
+	/**
+	 * Public so the benchmarks can time it on a copy of their own. A GameState's Bitboard is only ever changed by the
+	 * GameState, so never call this on the one getBitboard() returns.
+	 */
+	public void placeRoad(int player, int edge) {
+		if (edge < 64) {
+			_edgesLo |= 1L << edge;
+			_roadsLo[player] |= 1L << edge;
+		} else {
+			_edgesHi |= 1L << (edge - 64);
+			_roadsHi[player] |= 1L << (edge - 64);
+		}
+		_reach[player] |= Topology.edgeVertexMask(edge);
+		for (int other = 0; other < _structures.length; other++) {
+			if (edge < 64) {
+				_roadSpotsLo[other] &= ~(1L << edge);
+			} else {
+				_roadSpotsHi[other] &= ~(1L << (edge - 64));
+			}
+		}
+		long anchors = this.roadAnchors(player);
+		for (int end = 0; end < 2; end++) {
+			int vertex = Topology.edgeVertex(edge, end);
+			if ((anchors & (1L << vertex)) != 0) {
+				this.addRoadSpots(player, vertex);
+			}
+		}
+	}
+
+	/**
+	 * Every empty edge touching this vertex becomes somewhere the player can build a road.
+	 */
+	private void addRoadSpots(int player, int vertex) {
+		_roadSpotsLo[player] |= Topology.vertexEdgeMaskLo(vertex) & ~_edgesLo;
+		_roadSpotsHi[player] |= Topology.vertexEdgeMaskHi(vertex) & ~_edgesHi;
+	}
+
+	/**
+	 * An opponent just built on this vertex, so the player can no longer build roads from it. The empty edges touching
+	 * it stay in the player's frontier only if their other end is still one of the player's anchors.
+	 */
+	private void dropRoadSpots(int player, int vertex) {
+		long anchors = this.roadAnchors(player);
+		for (int i = Topology.vertexEdgeStart(vertex); i < Topology.vertexEdgeEnd(vertex); i++) {
+			int edge = Topology.vertexEdge(i);
+			if ((anchors & (1L << Topology.otherVertex(edge, vertex))) == 0) {
+				if (edge < 64) {
+					_roadSpotsLo[player] &= ~(1L << edge);
+				} else {
+					_roadSpotsHi[player] &= ~(1L << (edge - 64));
+				}
+			}
+		}
+	}
+
+	/**
+	 * The vertices where anybody could still put a settlement if they had a road there.
+	 */
+	public long openVertices() {
+		return Topology.ALL_VERTICES & ~_blocked;
+	}
+
+	/**
+	 * The vertices where this player can build a settlement during gameplay: open, and at the end of their own road.
+	 */
+	public long settlementSpots(int player) {
+		return _reach[player] & ~_blocked;
+	}
+
+	/**
+	 * The player's settlements that could become cities.
+	 */
+	public long citySpots(int player) {
+		return _structures[player] & ~_cities[player];
+	}
+
+	/**
+	 * The vertices a new road can grow from: the player's own structures, plus the ends of their roads that no
+	 * opponent has built on.
+	 */
+	public long roadAnchors(int player) {
+		return _structures[player] | (_reach[player] & ~_occupied);
+	}
+
+	public boolean isLegalRoad(int player, int edge) {
+		if (edge < 64) {
+			return (_roadSpotsLo[player] & (1L << edge)) != 0;
+		}
+		return (_roadSpotsHi[player] & (1L << (edge - 64))) != 0;
+	}
+
+	/**
+	 * The empty edges (0-63) touching one of the player's road anchors.
+	 */
+	public long roadSpotsLo(int player) {
+		return _roadSpotsLo[player];
+	}
+
+	/**
+	 * The empty edges (64-71, shifted down to bits 0-7) touching one of the player's road anchors.
+	 */
+	public long roadSpotsHi(int player) {
+		return _roadSpotsHi[player];
+	}
+
+	public boolean hasRoad(int edge) {
+		if (edge < 64) {
+			return (_edgesLo & (1L << edge)) != 0;
+		}
+		return (_edgesHi & (1L << (edge - 64))) != 0;
+	}
+
+	/**
+	 * Whether this particular player owns the road on this edge.
+	 */
+	public boolean hasRoad(int player, int edge) {
+		if (edge < 64) {
+			return (_roadsLo[player] & (1L << edge)) != 0;
+		}
+		return (_roadsHi[player] & (1L << (edge - 64))) != 0;
+	}
+
+	public int countRoads(int player) {
+		return Long.bitCount(_roadsLo[player]) + Long.bitCount(_roadsHi[player]);
+	}
+
+	/**
+	 * Settlements that haven't been upgraded (a city takes the settlement's place on the board).
+	 */
+	public int countSettlements(int player) {
+		return Long.bitCount(_structures[player] & ~_cities[player]);
+	}
+
+	public int countCities(int player) {
+		return Long.bitCount(_cities[player]);
+	}
+
+	public long getOccupied() {
+		return _occupied;
+	}
+
+	public long getBlocked() {
+		return _blocked;
+	}
+
+	public long getStructures(int player) {
+		return _structures[player];
+	}
+
+	public long getCities(int player) {
+		return _cities[player];
+	}
+
+	public long getRoadsLo(int player) {
+		return _roadsLo[player];
+	}
+
+	public long getRoadsHi(int player) {
+		return _roadsHi[player];
+	}
+
+	public long getReach(int player) {
+		return _reach[player];
+	}
+
+	/**
+	 * Pushes every mask that placeSettlement() can change onto an UndoStack, and pops them back off. Every player's
+	 * road frontier is saved since an opponent's settlement can cut into it.
+	 */
+	void pushSettlement(UndoStack undo, int player) {
+		undo.push(_occupied);
+		undo.push(_blocked);
+		undo.push(_structures[player]);
+		this.pushRoadSpots(undo);
+	}
+
+	void popSettlement(UndoStack undo, int player) {
+		this.popRoadSpots(undo);
+		_structures[player] = undo.pop();
+		_blocked = undo.pop();
+		_occupied = undo.pop();
+	}
+
+	/**
+	 * The same for placeRoad().
+	 */
+	void pushRoad(UndoStack undo, int player) {
+		undo.push(_edgesLo);
+		undo.push(_edgesHi);
+		undo.push(_roadsLo[player]);
+		undo.push(_roadsHi[player]);
+		undo.push(_reach[player]);
+		this.pushRoadSpots(undo);
+	}
+
+	void popRoad(UndoStack undo, int player) {
+		this.popRoadSpots(undo);
+		_reach[player] = undo.pop();
+		_roadsHi[player] = undo.pop();
+		_roadsLo[player] = undo.pop();
+		_edgesHi = undo.pop();
+		_edgesLo = undo.pop();
+	}
+
+	/**
+	 * The same for placeCity().
+	 */
+	void pushCity(UndoStack undo, int player) {
+		undo.push(_cities[player]);
+	}
+
+	void popCity(UndoStack undo, int player) {
+		_cities[player] = undo.pop();
+	}
+
+	private void pushRoadSpots(UndoStack undo) {
+		for (int player = 0; player < _structures.length; player++) {
+			undo.push(_roadSpotsLo[player]);
+			undo.push(_roadSpotsHi[player]);
+		}
+	}
+
+	private void popRoadSpots(UndoStack undo) {
+		for (int player = _structures.length - 1; player >= 0; player--) {
+			_roadSpotsHi[player] = undo.pop();
+			_roadSpotsLo[player] = undo.pop();
+		}
+	}
+
+	/**
+	 * Writes every mask into a GameSnapshot, and reads them back. Every per-player mask gets GameSnapshot.MAX_PLAYERS
+	 * slots (empty ones for the missing players), so the layout is the same size for every game.
+	 */
+	void writeTo(ByteBuffer out) {
+		out.putLong(_occupied);
+		out.putLong(_blocked);
+		out.putLong(_edgesLo);
+		out.putLong(_edgesHi);
+		for (long[] masks: new long[][] {_structures, _cities, _roadsLo, _roadsHi, _reach, _roadSpotsLo, _roadSpotsHi}) {
+			for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+				out.putLong(player < masks.length ? masks[player] : 0);
+			}
+		}
+	}
+
+	void readFrom(ByteBuffer in) {
+		_occupied = in.getLong();
+		_blocked = in.getLong();
+		_edgesLo = in.getLong();
+		_edgesHi = in.getLong();
+		for (long[] masks: new long[][] {_structures, _cities, _roadsLo, _roadsHi, _reach, _roadSpotsLo, _roadSpotsHi}) {
+			for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+				long mask = in.getLong();
+				if (player < masks.length) {
+					masks[player] = mask;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * The two kinds of development cards in the deck (14 knights and 5 victory points).
+ */
+public enum DevCard {
+	KNIGHT("Knight"),
+	VICTORY_POINT("Victory Point");
+
+	private final String _name;
+
+	private DevCard(String name) {
+		_name = name;
+	}
+
+	public String getName() {
+		return _name;
+	}
+}
@@ -0,0 +1,141 @@
+package myindy.settlersOfCatan.engine;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is the EventLog class! It's an append-only record of everything that happens in a game, in a compact binary
+ * format so that we can keep the logs of millions of simulated games around. The GameEngine writes every successful
+ * action into its EventLog (if it has one), and an EventLogReader can read the games back and replay them.
+ *
+ * The format is a 5-byte file header (the magic number "CTLG" and a version byte) and then one record per game:
+ *   - the game's 64-bit seed (8 bytes) and the number of players (1 byte)
+ *   - one entry per action: the action code, then its vertex/edge/tile index or dice, each as a varint
+ *   - END_GAME (a single 0 byte)
+ * A varint stores 7 bits per byte and uses the top bit to say "there's another byte", so every code and index here
+ * fits in one byte, and a whole action is one or two bytes.
+ *
+ * Several EventLogs (one per simulation thread, say) can share a channel. Each one buffers whole games and only
+ * writes finished games to the channel, holding the channel's lock while it does, so games never get mixed up.
+ */
+public class EventLog implements Flushable {
+
+	public static final int MAGIC = 0x43544C47; //"CTLG"
+	public static final int VERSION = 1;
+
+	//Action codes. The ones marked with an argument are followed by it.
+	public static final int END_GAME = 0;
+	public static final int SETUP_SETTLEMENT = 1; //vertex
+	public static final int SETUP_ROAD = 2; //edge
+	public static final int PREGAME_RESOURCES = 3; //vertex
+	public static final int ROLL = 4; //(dieA - 1) * 6 + (dieB - 1)
+	public static final int MOVE_ROBBER = 5; //tile
+	public static final int PLAY_KNIGHT = 6;
+	public static final int BUILD_ROAD = 7; //edge
+	public static final int BUILD_SETTLEMENT = 8; //vertex
+	public static final int BUILD_CITY = 9; //vertex
+	public static final int BUY_DEV_CARD = 10;
+	public static final int END_TURN = 11;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	//The most bytes one call can add (a seed and the number of players)
+	private static final int MAX_ENTRY = 9;
+
+	private WritableByteChannel _channel;
+	private ByteBuffer _buffer;
+
+	/**
+	 * Makes a log that writes its games to the given channel, which should already have the file header (see
+	 * create()). The channel belongs to whoever opened it, so this class never closes it.
+	 */
+	public EventLog(WritableByteChannel channel) {
+		_channel = channel;
+		_buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates (or empties) a log file, writes the file header, and returns the channel to hand to the EventLogs.
+	 */
+	public static FileChannel create(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(5);
+		header.putInt(MAGIC).put((byte) VERSION).flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		return channel;
+	}
+
+	/**
+	 * Starts a new game record. The GameEngine calls this when the log is handed to it.
+	 */
+	public void startGame(long seed, int numPlayers) {
+		this.makeRoom();
+		_buffer.putLong(seed);
+		_buffer.put((byte) numPlayers);
+	}
+
+	public void record(int action) {
+		this.makeRoom();
+		this.putVarint(action);
+	}
+
+	public void record(int action, int argument) {
+		this.makeRoom();
+		this.putVarint(action);
+		this.putVarint(argument);
+	}
+
+	/**
+	 * Ends the current game record. Whoever is running the game calls this when they're done with it, whether or
+	 * not somebody won. Once the buffer is half full, the finished games are written out.
+	 */
+	public void endGame() throws IOException {
+		this.makeRoom();
+		_buffer.put((byte) END_GAME);
+		if (_buffer.position() >= _buffer.capacity() / 2) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Writes every finished game in the buffer to the channel. This should only be called between games.
+	 */
+	@Override
+	public void flush() throws IOException {
+		_buffer.flip();
+		synchronized (_channel) {
+			while (_buffer.hasRemaining()) {
+				_channel.write(_buffer);
+			}
+		}
+		_buffer.clear();
+	}
+
+	private void putVarint(int value) {
+		while ((value & ~0x7F) != 0) {
+			_buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		_buffer.put((byte) value);
+	}
+
+	/**
+	 * A game in the middle of being recorded can't be flushed (another log could write in between its halves), so
+	 * if one game somehow fills the buffer, the buffer just grows instead.
+	 */
+	private void makeRoom() {
+		if (_buffer.remaining() < MAX_ENTRY) {
+			ByteBuffer bigger = ByteBuffer.allocateDirect(_buffer.capacity() * 2);
+			_buffer.flip();
+			bigger.put(_buffer);
+			_buffer = bigger;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package myindy.settlersOfCatan.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is the EventLogReader class! It reads back the games an EventLog wrote (see EventLog for the format), either
+ * one action at a time or by replaying a whole game into a new GameEngine. Log files are memory-mapped, so reading
+ * one doesn't copy it into the heap first.
+ */
+public class EventLogReader {
+
+	private ByteBuffer _buffer;
+	private long _seed;
+	private int _numPlayers;
+	private int _argument;
+	private boolean _inGame;
+
+	/**
+	 * Reads the log in the buffer, starting with its file header.
+	 */
+	public EventLogReader(ByteBuffer buffer) {
+		_buffer = buffer;
+		if (_buffer.remaining() < 5 || _buffer.getInt() != EventLog.MAGIC) {
+			throw new IllegalArgumentException("Not a game log");
+		}
+		int version = _buffer.get();
+		if (version != EventLog.VERSION) {
+			throw new IllegalArgumentException("Unknown game log version " + version);
+		}
+	}
+
+	/**
+	 * Maps the whole log file into memory and reads it from there.
+	 */
+	public static EventLogReader open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new EventLogReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Moves on to the next game, skipping whatever is left of the current one. Returns false at the end of the log.
+	 */
+	public boolean nextGame() {
+		while (_inGame) {
+			this.nextAction();
+		}
+		if (!_buffer.hasRemaining()) {
+			return false;
+		}
+		_seed = _buffer.getLong();
+		_numPlayers = _buffer.get();
+		_inGame = true;
+		return true;
+	}
+
+	public long getSeed() {
+		return _seed;
+	}
+
+	public int getNumPlayers() {
+		return _numPlayers;
+	}
+
+	/**
+	 * Reads the current game's next action code (one of the EventLog constants). If the action has an argument, it
+	 * can be read with getArgument() afterwards. Returns EventLog.END_GAME once the game is over.
+	 */
+	public int nextAction() {
+		int action = this.getVarint();
+		switch (action) {
+		case EventLog.END_GAME:
+			_inGame = false;
+			break;
+		case EventLog.PLAY_KNIGHT:
+		case EventLog.BUY_DEV_CARD:
+		case EventLog.END_TURN:
+			break;
+		default:
+			_argument = this.getVarint();
+			break;
+		}
+		return action;
+	}
+
+	public int getArgument() {
+		return _argument;
+	}
+
+	/**
+	 * Plays the rest of the current game again on a new GameEngine started from the same seed, and returns the engine
+	 * at the end. The engine rolls its own dice from the seed, so if a logged roll ever comes out differently, the log
+	 * doesn't belong to this version of the engine and an IllegalStateException is thrown.
+	 */
+	public GameEngine replayGame() {
+		GameEngine engine = new GameEngine(_numPlayers, _seed);
+		GameState state = engine.getState();
+		for (int action = this.nextAction(); action != EventLog.END_GAME; action = this.nextAction()) {
+			//The log's action codes are the Move types, but a logged roll's argument is the dice rather than an index
+			if (action == EventLog.ROLL) {
+				engine.rollDice();
+				if ((state.getDieA() - 1) * 6 + state.getDieB() - 1 != _argument) {
+					throw new IllegalStateException("Replayed roll doesn't match the log (seed " + _seed + ")");
+				}
+			} else {
+				Move.apply(engine, Move.of(action, _argument));
+			}
+		}
+		return engine;
+	}
+
+	private int getVarint() {
+		int value = 0;
+		for (int shift = 0; ; shift += 7) {
+			byte b = _buffer.get();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+}
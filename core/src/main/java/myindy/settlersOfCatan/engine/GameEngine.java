@@ -0,0 +1,266 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the GameEngine class! It's what the JavaFX Game and Board (or a simulation) actually talk to. The engine
+ * owns the GameState and takes care of the two things the state deliberately doesn't: randomness (laying out the tiles,
+ * shuffling the development cards, rolling the dice) and telling a GameListener when something notable happened.
+ * Every action method just passes straight through to the GameState, which checks that the action is legal.
+ *
+ * All of the randomness comes from one 64-bit game seed, split into separate GameRandom streams for the layout, the
+ * deck, and the dice, so a game played with the same seed and the same actions comes out exactly the same. That's
+ * also why an EventLog only needs the seed and the actions to record a whole game.
+ */
+public class GameEngine {
+
+	//4xWool, 4xWheat, 4xLumber, 3xBrick, 3xOre, 1xDesert (null) - the same tiles Board.randomizeTiles() used
+	private static final Resource[] TILE_RESOURCES = {Resource.WOOL, Resource.WOOL, Resource.WOOL, Resource.WOOL,
+			Resource.WHEAT, Resource.WHEAT, Resource.WHEAT, Resource.WHEAT, Resource.LUMBER, Resource.LUMBER,
+			Resource.LUMBER, Resource.LUMBER, Resource.BRICK, Resource.BRICK, Resource.BRICK, Resource.ORE,
+			Resource.ORE, Resource.ORE, null};
+	//2 and 12 appear once, every other number except 7 appears twice
+	private static final int[] TILE_NUMBERS = {2, 3, 3, 4, 4, 5, 5, 6, 6, 8, 8, 9, 9, 10, 10, 11, 11, 12};
+	private static final int NUM_KNIGHTS = 14;
+	private static final int NUM_VICTORY_POINTS = 5;
+
+	private GameState _state;
+	private long _seed;
+	private GameRandom _dice;
+	private GameListener _listener;
+	private EventLog _log;
+	private TrainingLog _training;
+
+	/**
+	 * Starts a new game with a random board and deck.
+	 */
+	public GameEngine(int numPlayers) {
+		this(numPlayers, GameRandom.newSeed());
+	}
+
+	/**
+	 * Starts a new game, drawing the board, the deck and every dice roll from the given game seed.
+	 */
+	public GameEngine(int numPlayers, long seed) {
+		_seed = seed;
+		_dice = GameRandom.stream(seed, GameRandom.DICE);
+		_listener = new GameListener() {};
+		GameRandom layout = GameRandom.stream(seed, GameRandom.LAYOUT);
+		Resource[] resources = TILE_RESOURCES.clone();
+		this.shuffle(resources, layout);
+		int[] numbers = TILE_NUMBERS.clone();
+		this.shuffle(numbers, layout);
+		int[] tileNumbers = new int[Topology.NUM_TILES];
+		int index = 0;
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			//The desert isn't assigned a number
+			if (resources[tile] != null) {
+				tileNumbers[tile] = numbers[index++];
+			}
+		}
+		DevCard[] deck = new DevCard[NUM_KNIGHTS + NUM_VICTORY_POINTS];
+		for (int i = 0; i < deck.length; i++) {
+			deck[i] = i < NUM_KNIGHTS ? DevCard.KNIGHT : DevCard.VICTORY_POINT;
+		}
+		this.shuffle(deck, GameRandom.stream(seed, GameRandom.DECK));
+		_state = new GameState(numPlayers, resources, tileNumbers, deck);
+	}
+
+	private void shuffle(Object[] array, GameRandom random) {
+		for (int i = array.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Object temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+
+	private void shuffle(int[] array, GameRandom random) {
+		for (int i = array.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+
+	public void setListener(GameListener listener) {
+		_listener = listener;
+	}
+
+	/**
+	 * Picks a saved game back up (see GameSnapshot). The dice carry on from exactly where they were.
+	 */
+	GameEngine(GameState state, long seed, long diceState) {
+		_state = state;
+		_seed = seed;
+		_dice = new GameRandom(diceState);
+		_listener = new GameListener() {};
+	}
+
+	/**
+	 * From now on, every action that succeeds is written to the given log (as a new game record). Whoever hands over
+	 * the log ends the record with EventLog.endGame() once they're done with the game.
+	 */
+	public void setEventLog(EventLog log) {
+		_log = log;
+		_log.startGame(_seed, _state.getNumPlayers());
+	}
+
+	/**
+	 * From now on, the position before every action that succeeds is written to the given training log along with
+	 * the action. Whoever hands over the log ends the game with TrainingLog.endGame() once they're done with it.
+	 */
+	public void setTrainingLog(TrainingLog training) {
+		_training = training;
+		_training.startGame(_seed, _state.getNumPlayers());
+	}
+
+	public GameState getState() {
+		return _state;
+	}
+
+	/**
+	 * The seed this game was started from, which is all it takes (along with the players' actions) to replay it.
+	 */
+	public long getSeed() {
+		return _seed;
+	}
+
+	/**
+	 * Where the dice stream is right now, which is the only other thing (besides the GameState) a GameSnapshot needs.
+	 */
+	long getDiceState() {
+		return _dice.getState();
+	}
+
+	public void placeSetupSettlement(int vertex) {
+		this.capture();
+		_state.placeSetupSettlement(vertex);
+		this.record(EventLog.SETUP_SETTLEMENT, vertex);
+	}
+
+	public void placeSetupRoad(int edge) {
+		this.capture();
+		_state.placeSetupRoad(edge);
+		this.record(EventLog.SETUP_ROAD, edge);
+	}
+
+	public void choosePregameResources(int vertex) {
+		this.capture();
+		_state.choosePregameResources(vertex);
+		this.record(EventLog.PREGAME_RESOURCES, vertex);
+	}
+
+	/**
+	 * Rolls two dice and applies the roll. Returns the total.
+	 */
+	public int rollDice() {
+		this.capture();
+		int roadOwner = _state.getLongestRoadOwner();
+		int armyOwner = _state.getLargestArmyOwner();
+		int dieA = _dice.nextInt(6) + 1;
+		int dieB = _dice.nextInt(6) + 1;
+		_state.roll(dieA, dieB);
+		this.record(EventLog.ROLL, (dieA - 1) * 6 + dieB - 1);
+		//Rolling can't move a title, but it can win the game for a player who picked one up on someone else's turn
+		this.notifyChanges(roadOwner, armyOwner);
+		return dieA + dieB;
+	}
+
+	public void moveRobber(int tile) {
+		this.capture();
+		int armyOwner = _state.getLargestArmyOwner();
+		_state.moveRobber(tile);
+		this.record(EventLog.MOVE_ROBBER, tile);
+		this.notifyChanges(_state.getLongestRoadOwner(), armyOwner);
+	}
+
+	public void playKnight() {
+		this.capture();
+		_state.playKnight();
+		this.record(EventLog.PLAY_KNIGHT);
+	}
+
+	public void buildRoad(int edge) {
+		this.capture();
+		int roadOwner = _state.getLongestRoadOwner();
+		_state.buildRoad(edge);
+		this.record(EventLog.BUILD_ROAD, edge);
+		this.notifyChanges(roadOwner, _state.getLargestArmyOwner());
+	}
+
+	public void buildSettlement(int vertex) {
+		this.capture();
+		//A settlement can break someone else's road, which can move the longest road or take it away from everybody
+		int roadOwner = _state.getLongestRoadOwner();
+		_state.buildSettlement(vertex);
+		this.record(EventLog.BUILD_SETTLEMENT, vertex);
+		this.notifyChanges(roadOwner, _state.getLargestArmyOwner());
+	}
+
+	public void buildCity(int vertex) {
+		this.capture();
+		_state.buildCity(vertex);
+		this.record(EventLog.BUILD_CITY, vertex);
+		this.notifyChanges(_state.getLongestRoadOwner(), _state.getLargestArmyOwner());
+	}
+
+	public DevCard buyDevCard() {
+		this.capture();
+		DevCard card = _state.buyDevCard();
+		this.record(EventLog.BUY_DEV_CARD);
+		this.notifyChanges(_state.getLongestRoadOwner(), _state.getLargestArmyOwner());
+		return card;
+	}
+
+	public void endTurn() {
+		this.capture();
+		_state.endTurn();
+		this.record(EventLog.END_TURN);
+	}
+
+	/**
+	 * Hands the position to the training log (if there is one) before an action, in case the action works.
+	 */
+	private void capture() {
+		if (_training != null) {
+			_training.capture(_state);
+		}
+	}
+
+	private void record(int action) {
+		if (_log != null) {
+			_log.record(action);
+		}
+		if (_training != null) {
+			_training.record(Move.of(action));
+		}
+	}
+
+	private void record(int action, int argument) {
+		if (_log != null) {
+			_log.record(action, argument);
+		}
+		if (_training != null) {
+			//The log's roll argument is one number for the dice, but a Move keeps them apart
+			int move = action == EventLog.ROLL ? Move.roll(_state.getDieA(), _state.getDieB())
+					: Move.of(action, argument);
+			_training.record(move);
+		}
+	}
+
+	/**
+	 * Compares the title holders from before an action with the ones after it, and tells the listener about anything
+	 * that changed (including the game ending).
+	 */
+	private void notifyChanges(int roadOwner, int armyOwner) {
+		if (_state.getLongestRoadOwner() != roadOwner) {
+			_listener.longestRoadChanged(_state.getLongestRoadOwner());
+		}
+		if (_state.getLargestArmyOwner() != armyOwner) {
+			_listener.largestArmyChanged(_state.getLargestArmyOwner());
+		}
+		if (_state.getPhase() == Phase.GAME_OVER) {
+			_listener.gameOver(_state.getWinner());
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * The GameEngine calls these methods whenever something happens that the players should be told about. The JavaFX
+ * Game uses them to pop up its notification pane; a simulation doesn't need to listen at all, so every method does
+ * nothing by default.
+ */
+public interface GameListener {
+
+	/**
+	 * Called when a player takes "Longest Road" from nobody or from another player.
+	 */
+	default void longestRoadChanged(int player) {
+	}
+
+	/**
+	 * Called when a player takes "Largest Army" from nobody or from another player.
+	 */
+	default void largestArmyChanged(int player) {
+	}
+
+	/**
+	 * Called once, when a player reaches the winning score.
+	 */
+	default void gameOver(int winner) {
+	}
+}
@@ -0,0 +1,88 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the GameRandom class! Every random thing in a game (the board layout, the development card deck, and the
+ * dice) is drawn from one of these, and all of them come from a single 64-bit game seed, so the same seed always
+ * gives the same game. Each kind of randomness gets its own independent stream, so for example rolling the dice an
+ * extra time doesn't change the deck.
+ *
+ * It's SplitMix64 (the same generator behind java.util.SplittableRandom), written out here so that its whole state
+ * is one long that can be saved and restored. It isn't thread-safe, and it doesn't need to be: every game owns its
+ * own streams, so parallel simulations never touch each other's random state.
+ */
+public final class GameRandom {
+
+	//Which stream of a game seed to use
+	public static final int LAYOUT = 0;
+	public static final int DECK = 1;
+	public static final int DICE = 2;
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private long _state;
+
+	/**
+	 * Starts the generator from the given state (which is just the seed for a brand new generator).
+	 */
+	public GameRandom(long state) {
+		_state = state;
+	}
+
+	/**
+	 * Returns the generator for one of a game's streams (LAYOUT, DECK or DICE). The stream number is mixed into the
+	 * seed, so the streams start far apart and don't overlap in any realistic game.
+	 */
+	public static GameRandom stream(long gameSeed, int stream) {
+		return new GameRandom(GameRandom.mix(gameSeed + (stream + 1) * GOLDEN_GAMMA));
+	}
+
+	/**
+	 * Returns a fresh game seed, for when nobody asked for a particular game.
+	 */
+	public static long newSeed() {
+		return GameRandom.mix(System.nanoTime()) ^ GameRandom.mix(Thread.currentThread().getId() * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * The SplitMix64 finalizer: scrambles all 64 bits of z.
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	public long nextLong() {
+		_state += GOLDEN_GAMMA;
+		return GameRandom.mix(_state);
+	}
+
+	/**
+	 * Returns a uniformly random int from 0 (inclusive) to bound (exclusive). Just taking the remainder would favour
+	 * the small numbers a tiny bit, so draws that land in the last incomplete block of "bound" numbers are thrown away
+	 * and redrawn (the same trick java.util.Random uses).
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive: " + bound);
+		}
+		int bits = (int) (this.nextLong() >>> 33);
+		int value = bits % bound;
+		while (bits - value + (bound - 1) < 0) {
+			bits = (int) (this.nextLong() >>> 33);
+			value = bits % bound;
+		}
+		return value;
+	}
+
+	/**
+	 * The whole state of the generator, so a game can be saved and picked up again from exactly the same point.
+	 */
+	public long getState() {
+		return _state;
+	}
+
+	public void setState(long state) {
+		_state = state;
+	}
+}
@@ -0,0 +1,89 @@
+package myindy.settlersOfCatan.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is the GameSnapshot class! It saves a whole game in progress (the GameState, the seed, and where the dice are)
+ * into a fixed binary layout, and brings it back exactly as it was, mid-turn or even mid-setup. Every snapshot is the
+ * same SIZE no matter how many players or pieces there are, so a server can keep a whole file of parked games where
+ * game i lives at byte i * SIZE, map the file into memory, and restore any one of them with a straight copy (the
+ * longest roads, production table, and legal-move masks are saved too, so nothing has to be worked out again).
+ *
+ * The layout is little-endian. The header is at fixed offsets, so the interesting bits can be read straight out of a
+ * mapped file without restoring the game:
+ *   0  MAGIC "CTSS"        4  VERSION            8  game seed          16 dice state
+ *   24 number of players  28 deck size          32 the rest of the GameState (see GameState.writeTo())
+ * The listener and any EventLog belong to whoever is running the game, so they aren't saved.
+ */
+public final class GameSnapshot {
+
+	public static final int MAGIC = 0x43545353; //"CTSS"
+	public static final int VERSION = 2;
+	//The layout has room for this many players and development cards
+	public static final int MAX_PLAYERS = 4;
+	public static final int MAX_DECK = 32;
+
+	public static final int SEED_OFFSET = 8;
+	public static final int NUM_PLAYERS_OFFSET = 24;
+	private static final int HEADER_BYTES = 24;
+	public static final int SIZE = HEADER_BYTES + GameState.SNAPSHOT_BYTES;
+
+	private GameSnapshot() {
+	}
+
+	/**
+	 * Writes the game into the next SIZE bytes of the buffer (starting at its position, which then moves past them).
+	 */
+	public static void write(GameEngine engine, ByteBuffer buffer) {
+		ByteBuffer out = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+		out.putInt(MAGIC).putInt(VERSION).putLong(engine.getSeed()).putLong(engine.getDiceState());
+		engine.getState().writeTo(out);
+		buffer.position(buffer.position() + SIZE);
+	}
+
+	/**
+	 * Restores the game in the next SIZE bytes of the buffer (starting at its position, which then moves past them).
+	 */
+	public static GameEngine read(ByteBuffer buffer) {
+		ByteBuffer in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+		if (in.remaining() < SIZE || in.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a game snapshot");
+		}
+		int version = in.getInt();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unknown game snapshot version " + version);
+		}
+		long seed = in.getLong();
+		long diceState = in.getLong();
+		GameState state = GameState.readFrom(in);
+		buffer.position(buffer.position() + SIZE);
+		return new GameEngine(state, seed, diceState);
+	}
+
+	/**
+	 * Saves the game to the given file (which ends up exactly SIZE bytes long).
+	 */
+	public static void save(GameEngine engine, Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+			GameSnapshot.write(engine, out);
+			out.force();
+		}
+	}
+
+	/**
+	 * Loads a game that save() wrote.
+	 */
+	public static GameEngine load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return GameSnapshot.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, SIZE));
+		}
+	}
+}
@@ -0,0 +1,1010 @@
+package myindy.settlersOfCatan.engine;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This is the GameState class! It holds everything about a game in progress without any graphics: the tile layout,
+ * who owns which structure locations and roads, every player's hand and score, the development card deck, and which
+ * stage of the game we're in. It also contains the rules. Every action (placing a piece, rolling, moving the robber,
+ * ending a turn) is checked here first and then applied, and the state moves itself from phase to phase exactly like
+ * the old Board and Game classes did with their Boolean flags. Nothing in here is random; the GameEngine rolls the
+ * dice and shuffles the board/deck and then hands the results in, so the same actions always give the same state.
+ *
+ * Structure locations, roads and tiles are all referred to by their Topology index. A vertex has level 0 when it's
+ * empty, 1 for a settlement and 2 for a city (the same numbers RealEstate uses for its status). The owner arrays answer
+ * "who is here?", and the Bitboard answers "where can this player build?" with a couple of mask operations.
+ */
+public class GameState {
+
+	public static final int NO_PLAYER = -1;
+	public static final int WINNING_SCORE = 8;
+	//You have to beat these to take "Longest Road" and "Largest Army" the first time
+	private static final int MIN_LONGEST_ROAD = 4;
+	private static final int MIN_LARGEST_ARMY = 2;
+	//Everybody only gets so many pieces, like in the box (a city hands its settlement piece back)
+	public static final int MAX_ROADS = 15;
+	public static final int MAX_SETTLEMENTS = 5;
+	public static final int MAX_CITIES = 4;
+	//Phase.values() makes a new array every time, and unmake() shouldn't allocate
+	private static final Phase[] PHASES = Phase.values();
+
+	private int _numPlayers;
+	private Resource[] _tileResources;
+	private int[] _tileNumbers;
+	private int _robberTile;
+	private int[] _vertexOwner;
+	private int[] _vertexLevel;
+	private int[] _edgeOwner;
+	private Bitboard _bits;
+	private LongestRoad _roadLengths;
+	private Production _production;
+	private PlayerState[] _players;
+	private DevCard[] _deck;
+	private int _deckTop;
+	private Phase _phase;
+	private int _currPlayer;
+	private int _setupStep;
+	private boolean _usingKnight;
+	private int _longestRoad;
+	private int _longestRoadOwner;
+	private int _largestArmy;
+	private int _largestArmyOwner;
+	private int _winner;
+	private int _dieA;
+	private int _dieB;
+	private int _turn;
+	//Zobrist key of the tiles, pieces and robber, kept up to date as they change (see getKey())
+	private long _boardKey;
+
+	/**
+	 * Creates a brand new game, about to start the settlement placements. The tile resources (null for the desert)
+	 * and numbers (0 for the desert) are indexed by Topology tile index, and the deck is in the order it will be drawn.
+	 * The robber starts on the desert.
+	 */
+	public GameState(int numPlayers, Resource[] tileResources, int[] tileNumbers, DevCard[] deck) {
+		_numPlayers = numPlayers;
+		_tileResources = tileResources.clone();
+		_tileNumbers = tileNumbers.clone();
+		_robberTile = 0;
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			if (_tileResources[tile] == null) {
+				_robberTile = tile;
+			}
+		}
+		_vertexOwner = new int[Topology.NUM_VERTICES];
+		_vertexLevel = new int[Topology.NUM_VERTICES];
+		_edgeOwner = new int[Topology.NUM_EDGES];
+		Arrays.fill(_vertexOwner, NO_PLAYER);
+		Arrays.fill(_edgeOwner, NO_PLAYER);
+		_bits = new Bitboard(numPlayers);
+		_roadLengths = new LongestRoad(numPlayers);
+		_production = new Production(numPlayers, _tileResources, _tileNumbers);
+		_players = new PlayerState[numPlayers];
+		for (int i = 0; i < numPlayers; i++) {
+			_players[i] = new PlayerState();
+		}
+		_deck = deck.clone();
+		_deckTop = 0;
+		_phase = Phase.SETUP_SETTLEMENT;
+		_setupStep = 0;
+		_currPlayer = this.setupSeat(0);
+		_usingKnight = false;
+		_longestRoad = MIN_LONGEST_ROAD;
+		_longestRoadOwner = NO_PLAYER;
+		_largestArmy = MIN_LARGEST_ARMY;
+		_largestArmyOwner = NO_PLAYER;
+		_winner = NO_PLAYER;
+		_dieA = 0;
+		_dieB = 0;
+		_turn = 0;
+		_boardKey = this.computeBoardKey();
+	}
+
+	/**
+	 * Copy constructor, so simulations can branch off a game without touching the original.
+	 */
+	public GameState(GameState other) {
+		_numPlayers = other._numPlayers;
+		_tileResources = other._tileResources.clone();
+		_tileNumbers = other._tileNumbers.clone();
+		_robberTile = other._robberTile;
+		_vertexOwner = other._vertexOwner.clone();
+		_vertexLevel = other._vertexLevel.clone();
+		_edgeOwner = other._edgeOwner.clone();
+		_bits = new Bitboard(other._bits);
+		_roadLengths = new LongestRoad(other._roadLengths);
+		//Built on this copy's own tile arrays, so copyFrom() can later put a different board under it
+		_production = new Production(_numPlayers, _tileResources, _tileNumbers);
+		_production.copyFrom(other._production);
+		_players = new PlayerState[_numPlayers];
+		for (int i = 0; i < _numPlayers; i++) {
+			_players[i] = new PlayerState(other._players[i]);
+		}
+		_deck = other._deck.clone();
+		_deckTop = other._deckTop;
+		_phase = other._phase;
+		_currPlayer = other._currPlayer;
+		_setupStep = other._setupStep;
+		_usingKnight = other._usingKnight;
+		_longestRoad = other._longestRoad;
+		_longestRoadOwner = other._longestRoadOwner;
+		_largestArmy = other._largestArmy;
+		_largestArmyOwner = other._largestArmyOwner;
+		_winner = other._winner;
+		_dieA = other._dieA;
+		_dieB = other._dieB;
+		_turn = other._turn;
+		_boardKey = other._boardKey;
+	}
+
+	/**
+	 * Turns this GameState into a copy of other, for a bot that branches off a new position every decision and
+	 * doesn't want a whole new GameState each time. Nothing is allocated unless the games have different numbers of
+	 * players or deck sizes.
+	 */
+	public void copyFrom(GameState other) {
+		if (_numPlayers != other._numPlayers) {
+			_numPlayers = other._numPlayers;
+			_bits = new Bitboard(_numPlayers);
+			_roadLengths = new LongestRoad(_numPlayers);
+			_production = new Production(_numPlayers, _tileResources, _tileNumbers);
+			_players = new PlayerState[_numPlayers];
+			for (int i = 0; i < _numPlayers; i++) {
+				_players[i] = new PlayerState();
+			}
+		}
+		_bits.copyFrom(other._bits);
+		_roadLengths.copyFrom(other._roadLengths);
+		_production.copyFrom(other._production);
+		for (int i = 0; i < _numPlayers; i++) {
+			_players[i].copyFrom(other._players[i]);
+		}
+		if (_deck.length != other._deck.length) {
+			_deck = other._deck.clone();
+		} else {
+			System.arraycopy(other._deck, 0, _deck, 0, _deck.length);
+		}
+		System.arraycopy(other._tileResources, 0, _tileResources, 0, _tileResources.length);
+		System.arraycopy(other._tileNumbers, 0, _tileNumbers, 0, _tileNumbers.length);
+		_robberTile = other._robberTile;
+		System.arraycopy(other._vertexOwner, 0, _vertexOwner, 0, _vertexOwner.length);
+		System.arraycopy(other._vertexLevel, 0, _vertexLevel, 0, _vertexLevel.length);
+		System.arraycopy(other._edgeOwner, 0, _edgeOwner, 0, _edgeOwner.length);
+		_deckTop = other._deckTop;
+		_phase = other._phase;
+		_currPlayer = other._currPlayer;
+		_setupStep = other._setupStep;
+		_usingKnight = other._usingKnight;
+		_longestRoad = other._longestRoad;
+		_longestRoadOwner = other._longestRoadOwner;
+		_largestArmy = other._largestArmy;
+		_largestArmyOwner = other._largestArmyOwner;
+		_winner = other._winner;
+		_dieA = other._dieA;
+		_dieB = other._dieB;
+		_turn = other._turn;
+		_boardKey = other._boardKey;
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                    **THESE METHODS SAVE AND RESTORE A GAMESNAPSHOT**                              //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	//How much room the GameState takes up in a GameSnapshot (see writeTo() for the order)
+	static final int SNAPSHOT_BYTES = 8 + 2 * Topology.NUM_TILES + GameSnapshot.MAX_DECK + 14 * 4
+			+ 2 * Topology.NUM_VERTICES + Topology.NUM_EDGES + 6 + GameSnapshot.MAX_PLAYERS * PlayerState.SNAPSHOT_BYTES
+			+ Bitboard.SNAPSHOT_BYTES + LongestRoad.SNAPSHOT_BYTES + Production.SNAPSHOT_BYTES;
+
+	/**
+	 * Writes the whole game into a GameSnapshot, always in the same order and always SNAPSHOT_BYTES long: the number
+	 * of players, the tile layout and the deck first (they're needed to make the GameState), then the single values, the owner arrays, the
+	 * players, and finally the Bitboard, LongestRoad and Production exactly as they are, so nothing has to be worked
+	 * out again when the game is restored. Missing players and unused deck slots are written as zeros.
+	 */
+	void writeTo(ByteBuffer out) {
+		if (_numPlayers > GameSnapshot.MAX_PLAYERS || _deck.length > GameSnapshot.MAX_DECK) {
+			throw new IllegalArgumentException("Game is too big for a snapshot");
+		}
+		out.putInt(_numPlayers).putInt(_deck.length);
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			out.put((byte) (_tileResources[tile] == null ? 0 : _tileResources[tile].ordinal() + 1));
+			out.put((byte) _tileNumbers[tile]);
+		}
+		for (int card = 0; card < GameSnapshot.MAX_DECK; card++) {
+			out.put((byte) (card < _deck.length ? _deck[card].ordinal() : 0));
+		}
+		out.putInt(_phase.ordinal()).putInt(_currPlayer).putInt(_setupStep).putInt(_usingKnight ? 1 : 0);
+		out.putInt(_longestRoad).putInt(_longestRoadOwner).putInt(_largestArmy).putInt(_largestArmyOwner);
+		out.putInt(_winner).putInt(_dieA).putInt(_dieB).putInt(_turn).putInt(_robberTile).putInt(_deckTop);
+		//Owners are stored one higher, so that NO_PLAYER is 0
+		for (int vertex = 0; vertex < Topology.NUM_VERTICES; vertex++) {
+			out.put((byte) (_vertexOwner[vertex] + 1));
+			out.put((byte) _vertexLevel[vertex]);
+		}
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			out.put((byte) (_edgeOwner[edge] + 1));
+		}
+		//Padding, so the players (and the Bitboard after them) start on an 8-byte boundary: the GameState starts at
+		//snapshot offset 24, and everything before this is 314 bytes
+		out.putShort((short) 0).putInt(0);
+		for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+			if (player < _numPlayers) {
+				_players[player].writeTo(out);
+			} else {
+				new PlayerState().writeTo(out);
+			}
+		}
+		_bits.writeTo(out);
+		_roadLengths.writeTo(out);
+		_production.writeTo(out);
+	}
+
+	/**
+	 * Reads a GameState back out of a GameSnapshot that writeTo() wrote.
+	 */
+	static GameState readFrom(ByteBuffer in) {
+		int numPlayers = in.getInt();
+		int deckSize = in.getInt();
+		Resource[] resources = new Resource[Topology.NUM_TILES];
+		int[] numbers = new int[Topology.NUM_TILES];
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			int resource = in.get();
+			resources[tile] = resource == 0 ? null : Resource.values()[resource - 1];
+			numbers[tile] = in.get();
+		}
+		DevCard[] deck = new DevCard[deckSize];
+		for (int card = 0; card < GameSnapshot.MAX_DECK; card++) {
+			int kind = in.get();
+			if (card < deckSize) {
+				deck[card] = DevCard.values()[kind];
+			}
+		}
+		GameState state = new GameState(numPlayers, resources, numbers, deck);
+		state._phase = Phase.values()[in.getInt()];
+		state._currPlayer = in.getInt();
+		state._setupStep = in.getInt();
+		state._usingKnight = in.getInt() != 0;
+		state._longestRoad = in.getInt();
+		state._longestRoadOwner = in.getInt();
+		state._largestArmy = in.getInt();
+		state._largestArmyOwner = in.getInt();
+		state._winner = in.getInt();
+		state._dieA = in.getInt();
+		state._dieB = in.getInt();
+		state._turn = in.getInt();
+		state._robberTile = in.getInt();
+		state._deckTop = in.getInt();
+		for (int vertex = 0; vertex < Topology.NUM_VERTICES; vertex++) {
+			state._vertexOwner[vertex] = in.get() - 1;
+			state._vertexLevel[vertex] = in.get();
+		}
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			state._edgeOwner[edge] = in.get() - 1;
+		}
+		in.position(in.position() + 6);
+		PlayerState unused = new PlayerState();
+		for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+			(player < numPlayers ? state._players[player] : unused).readFrom(in);
+		}
+		state._bits.readFrom(in);
+		state._roadLengths.readFrom(in);
+		state._production.readFrom(in);
+		state._boardKey = state.computeBoardKey();
+		return state;
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                    **THESE METHODS ANSWER "IS THIS MOVE LEGAL?"**                                 //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * A location can hold a new settlement if nobody has built there and nobody has built exactly one road away
+	 * (the distance rule that Structure.nullifyStructure() used to enforce).
+	 */
+	public boolean isOpenVertex(int vertex) {
+		return (_bits.openVertices() & (1L << vertex)) != 0;
+	}
+
+	/**
+	 * During gameplay a new settlement also has to sit at the end of one of the player's own roads.
+	 */
+	public boolean isLegalSettlement(int player, int vertex) {
+		return this.getSettlementsLeft(player) > 0 && (_bits.settlementSpots(player) & (1L << vertex)) != 0;
+	}
+
+	/**
+	 * A road can go on any empty edge that touches one of the player's structures, or that continues one of the
+	 * player's roads through a location that an opponent hasn't built on.
+	 */
+	public boolean isLegalRoad(int player, int edge) {
+		return this.getRoadsLeft(player) > 0 && _bits.isLegalRoad(player, edge);
+	}
+
+	/**
+	 * Only the player's own settlements can be upgraded into cities.
+	 */
+	public boolean isLegalCity(int player, int vertex) {
+		return this.getCitiesLeft(player) > 0 && (_bits.citySpots(player) & (1L << vertex)) != 0;
+	}
+
+	public boolean hasSettlementSpot(int player) {
+		return this.getSettlementsLeft(player) > 0 && _bits.settlementSpots(player) != 0;
+	}
+
+	public boolean hasRoadSpot(int player) {
+		return this.getRoadsLeft(player) > 0 && (_bits.roadSpotsLo(player) | _bits.roadSpotsHi(player)) != 0;
+	}
+
+	public boolean hasCitySpot(int player) {
+		return this.getCitiesLeft(player) > 0 && _bits.citySpots(player) != 0;
+	}
+
+	public int getRoadsLeft(int player) {
+		return MAX_ROADS - _bits.countRoads(player);
+	}
+
+	public int getSettlementsLeft(int player) {
+		return MAX_SETTLEMENTS - _bits.countSettlements(player);
+	}
+
+	public int getCitiesLeft(int player) {
+		return MAX_CITIES - _bits.countCities(player);
+	}
+
+	/**
+	 * These "canBuy" methods are what the action buttons are toggled by: the current player needs to be in the
+	 * middle of their turn, have the right cards, and have somewhere to put the piece.
+	 */
+	public boolean canBuyRoad() {
+		return _phase == Phase.MAIN && _players[_currPlayer].canAfford(PlayerState.ROAD_COST)
+				&& this.hasRoadSpot(_currPlayer);
+	}
+
+	public boolean canBuySettlement() {
+		return _phase == Phase.MAIN && _players[_currPlayer].canAfford(PlayerState.SETTLEMENT_COST)
+				&& this.hasSettlementSpot(_currPlayer);
+	}
+
+	public boolean canBuyCity() {
+		return _phase == Phase.MAIN && _players[_currPlayer].canAfford(PlayerState.CITY_COST)
+				&& this.hasCitySpot(_currPlayer);
+	}
+
+	public boolean canBuyDevCard() {
+		return _phase == Phase.MAIN && _players[_currPlayer].canAfford(PlayerState.DEV_CARD_COST)
+				&& _deckTop < _deck.length;
+	}
+
+	public boolean canPlayKnight() {
+		return _phase == Phase.MAIN && _players[_currPlayer].getKnightCards() >= 1;
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                   **THESE METHODS APPLY ACTIONS TO THE GAME**                                     //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * During set-up, the current player places a free settlement at any open location.
+	 */
+	public void placeSetupSettlement(int vertex) {
+		this.checkPhase(Phase.SETUP_SETTLEMENT);
+		if (!this.isOpenVertex(vertex)) {
+			throw new IllegalArgumentException("Can't place a settlement at vertex " + vertex);
+		}
+		this.placeSettlement(_currPlayer, vertex);
+		this.advanceSetup();
+	}
+
+	/**
+	 * During set-up, the current player places a free road connected to their settlements.
+	 */
+	public void placeSetupRoad(int edge) {
+		this.checkPhase(Phase.SETUP_ROAD);
+		if (!this.isLegalRoad(_currPlayer, edge)) {
+			throw new IllegalArgumentException("Can't place a road at edge " + edge);
+		}
+		this.placeRoad(_currPlayer, edge);
+		this.advanceSetup();
+	}
+
+	/**
+	 * The last step of set-up: the current player picks one of their settlements and gets one card for every
+	 * resource-producing tile around it.
+	 */
+	public void choosePregameResources(int vertex) {
+		this.checkPhase(Phase.SETUP_RESOURCES);
+		if (_vertexOwner[vertex] != _currPlayer) {
+			throw new IllegalArgumentException("Vertex " + vertex + " isn't one of the player's settlements");
+		}
+		for (int i = Topology.vertexTileStart(vertex); i < Topology.vertexTileEnd(vertex); i++) {
+			int tile = Topology.vertexTile(i);
+			if (_tileResources[tile] != null) {
+				_players[_currPlayer].addCards(_tileResources[tile], 1);
+			}
+		}
+		this.advanceSetup();
+	}
+
+	/**
+	 * Applies a roll of the dice. Anything but a 7 hands out resources and lets the player take their turn; a 7
+	 * means the player has to move the robber first.
+	 */
+	public void roll(int dieA, int dieB) {
+		this.checkPhase(Phase.ROLL);
+		_dieA = dieA;
+		_dieB = dieB;
+		if (dieA + dieB == 7) {
+			_usingKnight = false;
+			_phase = Phase.ROBBER;
+		} else {
+			this.produce(dieA + dieB);
+			_phase = Phase.MAIN;
+		}
+		this.checkWinner();
+	}
+
+	/**
+	 * Moves the robber onto a tile. If the robber is moving because of a knight card, this is when the knight counts
+	 * as used, so it's also when "Largest Army" can change hands.
+	 */
+	public void moveRobber(int tile) {
+		this.checkPhase(Phase.ROBBER);
+		if (tile < 0 || tile >= Topology.NUM_TILES) {
+			throw new IllegalArgumentException("No tile " + tile);
+		}
+		_production.robberMoved(_robberTile, tile, _vertexOwner, _vertexLevel);
+		_boardKey ^= Zobrist.robber(_robberTile) ^ Zobrist.robber(tile);
+		_robberTile = tile;
+		_phase = Phase.MAIN;
+		if (_usingKnight) {
+			_usingKnight = false;
+			_players[_currPlayer].useKnightCard();
+			this.updateLargestArmy(_currPlayer);
+		}
+		this.checkWinner();
+	}
+
+	/**
+	 * Starts playing a knight card; the robber still has to be moved with moveRobber().
+	 */
+	public void playKnight() {
+		if (!this.canPlayKnight()) {
+			throw new IllegalStateException("Can't play a knight right now");
+		}
+		_usingKnight = true;
+		_phase = Phase.ROBBER;
+	}
+
+	public void buildRoad(int edge) {
+		this.checkPhase(Phase.MAIN);
+		if (!_players[_currPlayer].canAfford(PlayerState.ROAD_COST) || !this.isLegalRoad(_currPlayer, edge)) {
+			throw new IllegalArgumentException("Can't build a road at edge " + edge);
+		}
+		_players[_currPlayer].pay(PlayerState.ROAD_COST);
+		this.placeRoad(_currPlayer, edge);
+		this.updateLongestRoad();
+		this.checkWinner();
+	}
+
+	public void buildSettlement(int vertex) {
+		this.checkPhase(Phase.MAIN);
+		if (!_players[_currPlayer].canAfford(PlayerState.SETTLEMENT_COST)
+				|| !this.isLegalSettlement(_currPlayer, vertex)) {
+			throw new IllegalArgumentException("Can't build a settlement at vertex " + vertex);
+		}
+		_players[_currPlayer].pay(PlayerState.SETTLEMENT_COST);
+		this.placeSettlement(_currPlayer, vertex);
+		this.updateLongestRoad();
+		this.checkWinner();
+	}
+
+	public void buildCity(int vertex) {
+		this.checkPhase(Phase.MAIN);
+		if (!_players[_currPlayer].canAfford(PlayerState.CITY_COST) || !this.isLegalCity(_currPlayer, vertex)) {
+			throw new IllegalArgumentException("Can't build a city at vertex " + vertex);
+		}
+		_players[_currPlayer].pay(PlayerState.CITY_COST);
+		_vertexLevel[vertex] = 2;
+		_boardKey ^= Zobrist.vertex(vertex, _currPlayer, 1) ^ Zobrist.vertex(vertex, _currPlayer, 2);
+		_bits.placeCity(_currPlayer, vertex);
+		_production.structureUpgraded(_currPlayer, vertex, _robberTile);
+		_players[_currPlayer].addVictoryPoints(1);
+		this.checkWinner();
+	}
+
+	/**
+	 * Takes the top card off the deck. Knights go into the player's hand; victory points count right away.
+	 */
+	public DevCard buyDevCard() {
+		if (!this.canBuyDevCard()) {
+			throw new IllegalStateException("Can't buy a development card right now");
+		}
+		_players[_currPlayer].pay(PlayerState.DEV_CARD_COST);
+		DevCard card = _deck[_deckTop++];
+		switch (card) {
+		case KNIGHT:
+			_players[_currPlayer].addKnightCard();
+			break;
+		case VICTORY_POINT:
+			_players[_currPlayer].addVictoryPoints(1);
+			break;
+		}
+		this.checkWinner();
+		return card;
+	}
+
+	/**
+	 * Shuffles the cards nobody has drawn yet. Nobody at the table knows their order, so a bot searching ahead calls
+	 * this on its own copy of the game to make sure it isn't planning around cards it couldn't really know about.
+	 * (The cards already drawn, and how many of each are left, stay the same.)
+	 */
+	public void shuffleUndrawnCards(GameRandom random) {
+		for (int i = _deck.length - 1; i > _deckTop; i--) {
+			int j = _deckTop + random.nextInt(i - _deckTop + 1);
+			DevCard temp = _deck[i];
+			_deck[i] = _deck[j];
+			_deck[j] = temp;
+		}
+	}
+
+	public void endTurn() {
+		this.checkPhase(Phase.MAIN);
+		_currPlayer = (_currPlayer + 1) % _numPlayers;
+		_phase = Phase.ROLL;
+		_turn++;
+	}
+
+	private void checkPhase(Phase phase) {
+		if (_phase != phase) {
+			throw new IllegalStateException("Expected phase " + phase + " but the game is in " + _phase);
+		}
+	}
+
+	private void placeSettlement(int player, int vertex) {
+		_vertexOwner[vertex] = player;
+		_vertexLevel[vertex] = 1;
+		_boardKey ^= Zobrist.vertex(vertex, player, 1);
+		_bits.placeSettlement(player, vertex);
+		_production.structureUpgraded(player, vertex, _robberTile);
+		_roadLengths.settlementPlaced(_bits, player, vertex);
+		_players[player].addVictoryPoints(1);
+	}
+
+	private void placeRoad(int player, int edge) {
+		_edgeOwner[edge] = player;
+		_boardKey ^= Zobrist.edge(edge, player);
+		_bits.placeRoad(player, edge);
+		_roadLengths.roadPlaced(_bits, player, edge);
+	}
+
+	/**
+	 * The set-up order goes forwards then backwards for settlements and roads (A-B-C-D-D-C-B-A) and just forwards
+	 * for choosing resources (A-B-C-D), the same as Game.setupOrder() used to build with its Stack.
+	 */
+	private int setupSeat(int step) {
+		if (_phase == Phase.SETUP_RESOURCES || step < _numPlayers) {
+			return step;
+		}
+		return 2 * _numPlayers - 1 - step;
+	}
+
+	private void advanceSetup() {
+		_setupStep++;
+		if (_phase == Phase.SETUP_SETTLEMENT && _setupStep == 2 * _numPlayers) {
+			_phase = Phase.SETUP_ROAD;
+			_setupStep = 0;
+		} else if (_phase == Phase.SETUP_ROAD && _setupStep == 2 * _numPlayers) {
+			_phase = Phase.SETUP_RESOURCES;
+			_setupStep = 0;
+		} else if (_phase == Phase.SETUP_RESOURCES && _setupStep == _numPlayers) {
+			_phase = Phase.ROLL;
+			_setupStep = 0;
+			_currPlayer = 0;
+			_turn = 1;
+			return;
+		}
+		_currPlayer = this.setupSeat(_setupStep);
+	}
+
+	/**
+	 * Every settlement or city around a tile with the rolled number (and without the robber) collects one or two of
+	 * that tile's resource. The Production table already knows what that adds up to for each player.
+	 */
+	private void produce(int roll) {
+		for (int player = 0; player < _numPlayers; player++) {
+			_players[player].addCards(_production.getProduction(roll, player));
+		}
+	}
+
+	/**
+	 * Hands "Longest Road" to whoever deserves it now that the lengths may have changed. The holder keeps it as long as
+	 * nobody has a strictly longer road (ties go to the holder). If the holder's road was broken by a settlement and
+	 * somebody else is now the single longest, the title moves to them; if nobody beats MIN_LONGEST_ROAD or several
+	 * players tie for the longest, nobody holds it until someone pulls ahead.
+	 */
+	private void updateLongestRoad() {
+		int best = MIN_LONGEST_ROAD;
+		int bestPlayer = NO_PLAYER;
+		boolean tied = false;
+		for (int player = 0; player < _numPlayers; player++) {
+			int length = _roadLengths.getLength(player);
+			if (length > best) {
+				best = length;
+				bestPlayer = player;
+				tied = false;
+			} else if (length == best && bestPlayer != NO_PLAYER) {
+				tied = true;
+			}
+		}
+		int owner = bestPlayer;
+		if (_longestRoadOwner != NO_PLAYER && bestPlayer != NO_PLAYER
+				&& _roadLengths.getLength(_longestRoadOwner) == best) {
+			owner = _longestRoadOwner;
+		} else if (tied) {
+			owner = NO_PLAYER;
+		}
+		if (owner != _longestRoadOwner) {
+			if (_longestRoadOwner != NO_PLAYER) {
+				_players[_longestRoadOwner].addVictoryPoints(-2);
+			}
+			if (owner != NO_PLAYER) {
+				_players[owner].addVictoryPoints(2);
+			}
+			_longestRoadOwner = owner;
+		}
+		_longestRoad = owner == NO_PLAYER ? MIN_LONGEST_ROAD : best;
+	}
+
+	private void updateLargestArmy(int player) {
+		int knights = _players[player].getKnightsUsed();
+		if (knights > _largestArmy) {
+			_largestArmy = knights;
+			if (player != _largestArmyOwner) {
+				if (_largestArmyOwner != NO_PLAYER) {
+					_players[_largestArmyOwner].addVictoryPoints(-2);
+				}
+				_largestArmyOwner = player;
+				_players[player].addVictoryPoints(2);
+			}
+		}
+	}
+
+	/**
+	 * You can only win on your own turn, so only the player taking their turn is checked. (Somebody can pick up
+	 * "Longest Road" on another player's turn when that player's settlement breaks the holder's road; they win as
+	 * soon as they roll.)
+	 */
+	private void checkWinner() {
+		if (_players[_currPlayer].getScore() >= WINNING_SCORE) {
+			_winner = _currPlayer;
+			_phase = Phase.GAME_OVER;
+		}
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                     **THESE METHODS MAKE AND UNMAKE MOVES**                                       //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Plays a move (see the Move class) the same way the methods above would, but first pushes everything it's about to
+	 * change onto the UndoStack so that unmake() can put the game back exactly as it was. That's how a search walks down
+	 * a line of play and back up again on one GameState instead of copying it at every step.
+	 *
+	 * Only what the move can touch is saved: every player's hand and counters, the single values (phase, current player,
+	 * title holders, robber, dice, deck position and so on) packed into two longs, the board's Zobrist key, and for a
+	 * piece, the Bitboard masks and road lengths around it. The owner arrays and the Production table aren't saved at
+	 * all, since the move itself says which vertex or edge to clear and Production can take a structure (or the robber)
+	 * back exactly. A roll has to say which dice came up (Move.roll()), since the GameState has no dice of its own. If
+	 * the move is illegal nothing changes and nothing is left on the stack.
+	 */
+	public void make(int move, UndoStack undo) {
+		int size = undo.size();
+		switch (Move.type(move)) {
+		case Move.SETUP_SETTLEMENT:
+		case Move.BUILD_SETTLEMENT:
+			_bits.pushSettlement(undo, _currPlayer);
+			_roadLengths.push(undo);
+			break;
+		case Move.SETUP_ROAD:
+		case Move.BUILD_ROAD:
+			_bits.pushRoad(undo, _currPlayer);
+			_roadLengths.push(undo);
+			break;
+		case Move.BUILD_CITY:
+			_bits.pushCity(undo, _currPlayer);
+			break;
+		}
+		for (int player = 0; player < _numPlayers; player++) {
+			undo.push(_players[player].getHand());
+			undo.push(_players[player].packCounts());
+		}
+		undo.push((long) _phase.ordinal() | (long) _currPlayer << 8 | (long) _setupStep << 16
+				| (_usingKnight ? 1L : 0L) << 24 | (long) _longestRoad << 32 | (long) (_longestRoadOwner + 1) << 40
+				| (long) _largestArmy << 48 | (long) (_largestArmyOwner + 1) << 56);
+		undo.push((long) (_winner + 1) | (long) _dieA << 8 | (long) _dieB << 16 | (long) _robberTile << 24
+				| (long) _deckTop << 32 | (long) _turn << 40);
+		undo.push(_boardKey);
+		undo.push(move);
+		try {
+			this.apply(move);
+		} catch (RuntimeException e) {
+			undo.truncate(size);
+			throw e;
+		}
+	}
+
+	/**
+	 * Takes back the last move make() played with this UndoStack.
+	 */
+	public void unmake(UndoStack undo) {
+		int move = (int) undo.pop();
+		_boardKey = undo.pop();
+		long boardValues = undo.pop();
+		long turnValues = undo.pop();
+		for (int player = _numPlayers - 1; player >= 0; player--) {
+			_players[player].unpackCounts(undo.pop());
+			_players[player].setHand(undo.pop());
+		}
+		int player = (int) (turnValues >>> 8 & 0xFF);
+		int robberTile = (int) (boardValues >>> 24 & 0xFF);
+		int argument = Move.argument(move);
+		switch (Move.type(move)) {
+		case Move.SETUP_SETTLEMENT:
+		case Move.BUILD_SETTLEMENT:
+			_production.structureDowngraded(player, argument, robberTile);
+			_vertexOwner[argument] = NO_PLAYER;
+			_vertexLevel[argument] = 0;
+			_roadLengths.pop(undo);
+			_bits.popSettlement(undo, player);
+			break;
+		case Move.SETUP_ROAD:
+		case Move.BUILD_ROAD:
+			_edgeOwner[argument] = NO_PLAYER;
+			_roadLengths.pop(undo);
+			_bits.popRoad(undo, player);
+			break;
+		case Move.BUILD_CITY:
+			_production.structureDowngraded(player, argument, robberTile);
+			_vertexLevel[argument] = 1;
+			_bits.popCity(undo, player);
+			break;
+		case Move.MOVE_ROBBER:
+			_production.robberMoved(argument, robberTile, _vertexOwner, _vertexLevel);
+			break;
+		}
+		_phase = PHASES[(int) (turnValues & 0xFF)];
+		_currPlayer = player;
+		_setupStep = (int) (turnValues >>> 16 & 0xFF);
+		_usingKnight = (turnValues >>> 24 & 1) != 0;
+		_longestRoad = (int) (turnValues >>> 32 & 0xFF);
+		_longestRoadOwner = (int) (turnValues >>> 40 & 0xFF) - 1;
+		_largestArmy = (int) (turnValues >>> 48 & 0xFF);
+		_largestArmyOwner = (int) (turnValues >>> 56 & 0xFF) - 1;
+		_winner = (int) (boardValues & 0xFF) - 1;
+		_dieA = (int) (boardValues >>> 8 & 0xFF);
+		_dieB = (int) (boardValues >>> 16 & 0xFF);
+		_robberTile = robberTile;
+		_deckTop = (int) (boardValues >>> 32 & 0xFF);
+		_turn = (int) (boardValues >>> 40);
+	}
+
+	/**
+	 * The position's 64-bit Zobrist key (see the Zobrist class), for transposition tables, opening books, and spotting
+	 * the same position twice in a log. It covers the tile layout, every piece, the robber, every player's hand,
+	 * knights and score, who holds the titles, how much of the deck is gone, and whose move it is (and what kind of
+	 * move). The dice and the turn number aren't part of it, so the same position reached on different turns matches.
+	 *
+	 * The board part is XORed in and out as pieces go down and the robber moves, so it never has to be worked out
+	 * again; the rest is only a few values per player, and is hashed when the key is asked for.
+	 */
+	public long getKey() {
+		long key = _boardKey ^ Zobrist.turn(_phase, _currPlayer, _setupStep, _usingKnight)
+				^ Zobrist.titles(_longestRoadOwner, _longestRoad, _largestArmyOwner, _largestArmy)
+				^ Zobrist.deck(_deckTop);
+		for (int player = 0; player < _numPlayers; player++) {
+			key ^= Zobrist.player(player, _players[player].getHand(), _players[player].packCounts());
+		}
+		return key;
+	}
+
+	/**
+	 * The board part of the key worked out from scratch, for a new or restored GameState. (Public so the benchmarks
+	 * can compare it with the kept-up-to-date key.)
+	 */
+	public long computeBoardKey() {
+		long key = Zobrist.robber(_robberTile);
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			key ^= Zobrist.tile(tile, _tileResources[tile], _tileNumbers[tile]);
+		}
+		for (int vertex = 0; vertex < Topology.NUM_VERTICES; vertex++) {
+			if (_vertexOwner[vertex] != NO_PLAYER) {
+				key ^= Zobrist.vertex(vertex, _vertexOwner[vertex], _vertexLevel[vertex]);
+			}
+		}
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			if (_edgeOwner[edge] != NO_PLAYER) {
+				key ^= Zobrist.edge(edge, _edgeOwner[edge]);
+			}
+		}
+		return key;
+	}
+
+	private void apply(int move) {
+		int argument = Move.argument(move);
+		switch (Move.type(move)) {
+		case Move.SETUP_SETTLEMENT:
+			this.placeSetupSettlement(argument);
+			break;
+		case Move.SETUP_ROAD:
+			this.placeSetupRoad(argument);
+			break;
+		case Move.PREGAME_RESOURCES:
+			this.choosePregameResources(argument);
+			break;
+		case Move.ROLL:
+			if (argument == 0) {
+				throw new IllegalArgumentException("A roll needs its dice to be made (see Move.roll())");
+			}
+			this.roll(Move.dieA(move), Move.dieB(move));
+			break;
+		case Move.MOVE_ROBBER:
+			this.moveRobber(argument);
+			break;
+		case Move.PLAY_KNIGHT:
+			this.playKnight();
+			break;
+		case Move.BUILD_ROAD:
+			this.buildRoad(argument);
+			break;
+		case Move.BUILD_SETTLEMENT:
+			this.buildSettlement(argument);
+			break;
+		case Move.BUILD_CITY:
+			this.buildCity(argument);
+			break;
+		case Move.BUY_DEV_CARD:
+			this.buyDevCard();
+			break;
+		case Move.END_TURN:
+			this.endTurn();
+			break;
+		default:
+			throw new IllegalArgumentException("Not a move: " + move);
+		}
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                           **THESE ARE ACCESSOR METHODS**                                          //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	public int getNumPlayers() {
+		return _numPlayers;
+	}
+
+	public Phase getPhase() {
+		return _phase;
+	}
+
+	public int getCurrentPlayer() {
+		return _currPlayer;
+	}
+
+	public PlayerState getPlayer(int player) {
+		return _players[player];
+	}
+
+	/**
+	 * Returns the tile's resource, or null for the desert.
+	 */
+	public Resource getTileResource(int tile) {
+		return _tileResources[tile];
+	}
+
+	/**
+	 * Returns the number token on the tile, or 0 for the desert.
+	 */
+	public int getTileNumber(int tile) {
+		return _tileNumbers[tile];
+	}
+
+	public int getRobberTile() {
+		return _robberTile;
+	}
+
+	public int getVertexOwner(int vertex) {
+		return _vertexOwner[vertex];
+	}
+
+	public int getVertexLevel(int vertex) {
+		return _vertexLevel[vertex];
+	}
+
+	public int getEdgeOwner(int edge) {
+		return _edgeOwner[edge];
+	}
+
+	/**
+	 * The bit masks of every piece, for callers that want to look at whole sets of locations at once.
+	 */
+	public Bitboard getBitboard() {
+		return _bits;
+	}
+
+	/**
+	 * What every player collects on every roll, for callers judging how good a position is.
+	 */
+	public Production getProduction() {
+		return _production;
+	}
+
+	public int getDeckSize() {
+		return _deck.length - _deckTop;
+	}
+
+	/**
+	 * How many development cards the deck started the game with.
+	 */
+	public int getDeckLength() {
+		return _deck.length;
+	}
+
+	public boolean isUsingKnight() {
+		return _usingKnight;
+	}
+
+	public int getLongestRoadOwner() {
+		return _longestRoadOwner;
+	}
+
+	/**
+	 * The length of the current "Longest Road" (or the length to beat, if nobody holds it yet).
+	 */
+	public int getLongestRoad() {
+		return _longestRoad;
+	}
+
+	/**
+	 * This player's exact longest road right now, whether or not it holds the title.
+	 */
+	public int getRoadLength(int player) {
+		return _roadLengths.getLength(player);
+	}
+
+	public int getLargestArmyOwner() {
+		return _largestArmyOwner;
+	}
+
+	public int getLargestArmy() {
+		return _largestArmy;
+	}
+
+	public int getWinner() {
+		return _winner;
+	}
+
+	public int getDieA() {
+		return _dieA;
+	}
+
+	public int getDieB() {
+		return _dieB;
+	}
+
+	/**
+	 * Turns are counted from 1 once gameplay starts (0 during set-up).
+	 */
+	public int getTurn() {
+		return _turn;
+	}
+}
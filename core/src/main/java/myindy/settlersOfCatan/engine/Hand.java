@@ -0,0 +1,80 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the Hand class! A hand of resource cards is just a long: each Resource gets its own 12-bit slot (LUMBER in
+ * bits 0-11, BRICK in bits 12-23, and so on in Resource order), so a hand never has to be allocated, boxed, or looked
+ * up by name. Costs are packed the same way, which means paying is a single subtraction and "can I afford this?" is a
+ * single compare for all five resources at once.
+ *
+ * The affordability trick: the top bit of every slot is a "guard" bit that real counts never reach (a slot holds at
+ * most MAX_CARDS, 2047 cards, because add() stops every count there). Setting every guard bit and then subtracting the cost leaves a slot's guard bit set only if that
+ * slot had enough cards, and a slot that comes up short borrows from its own guard bit instead of from its neighbor.
+ * So the hand can afford the cost exactly when all five guard bits survive.
+ *
+ * Everything here is static; the hand itself lives in a plain long field (see PlayerState).
+ */
+public final class Hand {
+
+	public static final long EMPTY = 0L;
+	public static final int BITS = 12;
+	public static final int MAX_CARDS = (1 << (BITS - 1)) - 1;
+	private static final long SLOT = (1L << BITS) - 1;
+	private static final long GUARD = Hand.of(2048, 2048, 2048, 2048, 2048);
+
+	private Hand() {
+	}
+
+	/**
+	 * Packs five counts (in Resource order) into a hand or cost.
+	 */
+	public static long of(int lumber, int brick, int wheat, int wool, int ore) {
+		return (long) lumber | (long) brick << BITS | (long) wheat << (2 * BITS) | (long) wool << (3 * BITS)
+				| (long) ore << (4 * BITS);
+	}
+
+	/**
+	 * A hand with just this many of one resource, ready to be added to another hand.
+	 */
+	public static long single(Resource resource, int amount) {
+		return (long) amount << (resource.ordinal() * BITS);
+	}
+
+	public static int count(long hand, Resource resource) {
+		return (int) ((hand >>> (resource.ordinal() * BITS)) & SLOT);
+	}
+
+	/**
+	 * The total number of cards in the hand.
+	 */
+	public static int total(long hand) {
+		int total = 0;
+		for (int i = 0; i < Resource.COUNT; i++) {
+			total += (int) ((hand >>> (i * BITS)) & SLOT);
+		}
+		return total;
+	}
+
+	/**
+	 * Adds one hand to another, stopping any resource that would go over MAX_CARDS at exactly MAX_CARDS. A real game
+	 * never gets close, but a simulated one left running for thousands of turns does, and a count past MAX_CARDS would
+	 * set its guard bit (so canAfford() would lie) and then carry into the next resource. Both hands have to be within
+	 * MAX_CARDS already, so each slot's sum still fits in its 12 bits and only the guard bit needs checking.
+	 */
+	public static long add(long hand, long cards) {
+		long sum = hand + cards;
+		long over = sum & GUARD;
+		if (over == 0) {
+			return sum;
+		}
+		//A 1 at the bottom of every slot that went over
+		long ones = over >>> (BITS - 1);
+		return (sum & ~(ones * SLOT)) | ones * MAX_CARDS;
+	}
+
+	/**
+	 * True if the hand has at least as many of every resource as the cost (see the class comment for how).
+	 */
+	public static boolean canAfford(long hand, long cost) {
+		return (((hand | GUARD) - cost) & GUARD) == GUARD;
+	}
+}
@@ -0,0 +1,288 @@
+package myindy.settlersOfCatan.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is the LongestRoad class! It keeps every player's exact longest road (the longest path along their own roads
+ * that never uses the same road twice) up to date as pieces are placed. Loops and forks are handled properly, and an
+ * opponent's settlement or city in the middle of a road breaks it there, since a road can end at an opponent's
+ * structure but can't pass through it.
+ *
+ * The roads a player has that are connected to each other (without passing through an opponent) form a "network".
+ * Every road remembers the longest road of the network it's in. Placing a road can only change the network that road
+ * joins, and placing a settlement can only split the networks running through that vertex, so those are the only
+ * networks that ever get walked again. Each player's best length is kept alongside, so asking for it is just an
+ * array lookup.
+ */
+public class LongestRoad {
+
+	static final int SNAPSHOT_BYTES = Topology.NUM_EDGES + GameSnapshot.MAX_PLAYERS;
+	//How lengths are packed onto an UndoStack (MAX_ROADS fits in 4 bits)
+	private static final int LENGTH_BITS = 4;
+	private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+	private static final int LENGTHS_PER_LONG = 64 / LENGTH_BITS;
+
+	private int[] _edgeLength;
+	private int[] _lengths;
+	//Scratch space for walking a network, reused so placing a piece never allocates
+	private boolean[] _used;
+	private int[] _degree;
+	private int[] _seen;
+	private int _stamp;
+	private int[] _network;
+	private int _networkSize;
+	private int _best;
+	private int _bound;
+
+	public LongestRoad(int numPlayers) {
+		_edgeLength = new int[Topology.NUM_EDGES];
+		_lengths = new int[numPlayers];
+		this.makeScratch();
+	}
+
+	public LongestRoad(LongestRoad other) {
+		_edgeLength = other._edgeLength.clone();
+		_lengths = other._lengths.clone();
+		this.makeScratch();
+	}
+
+	/**
+	 * Turns this LongestRoad into a copy of other, keeping its own scratch arrays. Both have to be for the same
+	 * number of players.
+	 */
+	void copyFrom(LongestRoad other) {
+		System.arraycopy(other._edgeLength, 0, _edgeLength, 0, _edgeLength.length);
+		System.arraycopy(other._lengths, 0, _lengths, 0, _lengths.length);
+	}
+
+	private void makeScratch() {
+		_used = new boolean[Topology.NUM_EDGES];
+		_degree = new int[Topology.NUM_VERTICES];
+		_seen = new int[Topology.NUM_EDGES];
+		_stamp = 0;
+		_network = new int[Topology.NUM_EDGES];
+		_networkSize = 0;
+	}
+
+	/**
+	 * Called after the Bitboard has the new road. Only the network the road joined (possibly merging two of them) is
+	 * walked again, and since adding a road never makes another network shorter, the player's best can only go up.
+	 * (Public so the benchmarks can time it on a LongestRoad of their own; a GameState's is never handed out.)
+	 */
+	public void roadPlaced(Bitboard bits, int player, int edge) {
+		this.measure(bits, player, edge);
+		_lengths[player] = Math.max(_lengths[player], _edgeLength[edge]);
+	}
+
+	/**
+	 * Called after the Bitboard has the new settlement. A settlement only breaks an opponent's network if at least two
+	 * of that opponent's roads meet at the vertex. The pieces on each side are walked again, and then the opponent's
+	 * best is taken over all of their roads (which are already labeled with their network's length).
+	 */
+	void settlementPlaced(Bitboard bits, int owner, int vertex) {
+		for (int player = 0; player < _lengths.length; player++) {
+			if (player == owner || this.roadsAt(bits, player, vertex) < 2) {
+				continue;
+			}
+			for (int i = Topology.vertexEdgeStart(vertex); i < Topology.vertexEdgeEnd(vertex); i++) {
+				int edge = Topology.vertexEdge(i);
+				if (bits.hasRoad(player, edge)) {
+					this.measure(bits, player, edge);
+				}
+			}
+			int best = 0;
+			for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+				if (bits.hasRoad(player, edge)) {
+					best = Math.max(best, _edgeLength[edge]);
+				}
+			}
+			_lengths[player] = best;
+		}
+	}
+
+	private int roadsAt(Bitboard bits, int player, int vertex) {
+		int count = 0;
+		for (int i = Topology.vertexEdgeStart(vertex); i < Topology.vertexEdgeEnd(vertex); i++) {
+			if (bits.hasRoad(player, Topology.vertexEdge(i))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Collects the network containing this road, finds its longest road, and labels every road in the network with
+	 * that length.
+	 *
+	 * Trying every possible road from every vertex would take forever on a big network, but two facts cut it down a
+	 * lot. Call a vertex an "odd end" if an odd number of the network's roads meet there, and count every road that
+	 * touches an opponent's structure as an odd end of its own (the road can only stop there). If there are no odd
+	 * ends, one loop can use every road, so the answer is just the network size. Otherwise the longest road always
+	 * starts at an odd end (if it started anywhere else there'd be an unused road there to tack onto the start), and
+	 * since a single road has at most two odd ends, at least (odd ends - 2) / 2 roads have to be left out, so the
+	 * search can stop as soon as it finds a road that long.
+	 */
+	private void measure(Bitboard bits, int player, int edge) {
+		long blocked = bits.getOccupied() & ~bits.getStructures(player);
+		this.collectNetwork(bits, player, blocked, edge);
+		int oddEnds = 0;
+		for (int i = 0; i < _networkSize; i++) {
+			for (int end = 0; end < 2; end++) {
+				int vertex = Topology.edgeVertex(_network[i], end);
+				if ((blocked & (1L << vertex)) != 0) {
+					oddEnds++;
+				} else {
+					_degree[vertex]++;
+				}
+			}
+		}
+		for (int i = 0; i < _networkSize; i++) {
+			for (int end = 0; end < 2; end++) {
+				int vertex = Topology.edgeVertex(_network[i], end);
+				//Negative marks a vertex that's already been counted
+				if (_degree[vertex] > 0) {
+					oddEnds += _degree[vertex] % 2;
+					_degree[vertex] = -_degree[vertex];
+				}
+			}
+		}
+		_best = 0;
+		if (oddEnds == 0) {
+			_best = _networkSize;
+		} else {
+			_bound = _networkSize - (oddEnds - 2) / 2;
+			for (int i = 0; i < _networkSize && _best < _bound; i++) {
+				for (int end = 0; end < 2; end++) {
+					int vertex = Topology.edgeVertex(_network[i], end);
+					if ((blocked & (1L << vertex)) != 0 || _degree[vertex] % 2 != 0) {
+						this.extend(bits, player, blocked, vertex, 0);
+					}
+				}
+			}
+		}
+		for (int i = 0; i < _networkSize; i++) {
+			_edgeLength[_network[i]] = _best;
+			_degree[Topology.edgeVertex(_network[i], 0)] = 0;
+			_degree[Topology.edgeVertex(_network[i], 1)] = 0;
+		}
+	}
+
+	/**
+	 * A flood fill over the player's roads, stepping from road to road through their shared vertices (but never
+	 * through a blocked one). _seen uses a new stamp each time so it never has to be cleared.
+	 */
+	private void collectNetwork(Bitboard bits, int player, long blocked, int edge) {
+		_stamp++;
+		_networkSize = 0;
+		_network[_networkSize++] = edge;
+		_seen[edge] = _stamp;
+		for (int next = 0; next < _networkSize; next++) {
+			int road = _network[next];
+			for (int end = 0; end < 2; end++) {
+				int vertex = Topology.edgeVertex(road, end);
+				if ((blocked & (1L << vertex)) != 0) {
+					continue;
+				}
+				for (int i = Topology.vertexEdgeStart(vertex); i < Topology.vertexEdgeEnd(vertex); i++) {
+					int other = Topology.vertexEdge(i);
+					if (_seen[other] != _stamp && bits.hasRoad(player, other)) {
+						_seen[other] = _stamp;
+						_network[_networkSize++] = other;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Keeps extending a road (already "length" long and ending at this vertex) along every road it hasn't used yet,
+	 * remembering the longest one in _best. Vertices can be visited more than once (that's how loops get counted), but
+	 * the road stops as soon as it reaches an opponent's structure. Only roads in the network being measured are
+	 * followed: a road that starts at an opponent's structure would otherwise walk straight across it into the
+	 * player's network on the other side.
+	 */
+	private void extend(Bitboard bits, int player, long blocked, int vertex, int length) {
+		_best = Math.max(_best, length);
+		for (int i = Topology.vertexEdgeStart(vertex); i < Topology.vertexEdgeEnd(vertex) && _best < _bound; i++) {
+			int edge = Topology.vertexEdge(i);
+			if (!_used[edge] && _seen[edge] == _stamp) {
+				int next = Topology.otherVertex(edge, vertex);
+				if ((blocked & (1L << next)) == 0) {
+					_used[edge] = true;
+					this.extend(bits, player, blocked, next, length + 1);
+					_used[edge] = false;
+				} else {
+					_best = Math.max(_best, length + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The player's longest road right now, in roads.
+	 */
+	public int getLength(int player) {
+		return _lengths[player];
+	}
+
+	/**
+	 * Pushes every road's network length and every player's best onto an UndoStack, and pops them back off. A new
+	 * piece can relabel a whole network (or several), so all of them are saved, but since none is longer than
+	 * MAX_ROADS they pack 16 to a long: 5 longs for the roads and 1 for the players.
+	 */
+	void push(UndoStack undo) {
+		for (int first = 0; first < Topology.NUM_EDGES; first += LENGTHS_PER_LONG) {
+			long packed = 0;
+			for (int edge = Math.min(first + LENGTHS_PER_LONG, Topology.NUM_EDGES) - 1; edge >= first; edge--) {
+				packed = packed << LENGTH_BITS | _edgeLength[edge];
+			}
+			undo.push(packed);
+		}
+		long packed = 0;
+		for (int player = _lengths.length - 1; player >= 0; player--) {
+			packed = packed << LENGTH_BITS | _lengths[player];
+		}
+		undo.push(packed);
+	}
+
+	void pop(UndoStack undo) {
+		long packed = undo.pop();
+		for (int player = 0; player < _lengths.length; player++) {
+			_lengths[player] = (int) (packed & LENGTH_MASK);
+			packed >>>= LENGTH_BITS;
+		}
+		int last = (Topology.NUM_EDGES - 1) / LENGTHS_PER_LONG * LENGTHS_PER_LONG;
+		for (int first = last; first >= 0; first -= LENGTHS_PER_LONG) {
+			packed = undo.pop();
+			for (int edge = first; edge < Math.min(first + LENGTHS_PER_LONG, Topology.NUM_EDGES); edge++) {
+				_edgeLength[edge] = (int) (packed & LENGTH_MASK);
+				packed >>>= LENGTH_BITS;
+			}
+		}
+	}
+
+	/**
+	 * Writes every road's network length and every player's best into a GameSnapshot, and reads them back. A road
+	 * can't be longer than MAX_ROADS, so one byte per road is plenty.
+	 */
+	void writeTo(ByteBuffer out) {
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			out.put((byte) _edgeLength[edge]);
+		}
+		for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+			out.put((byte) (player < _lengths.length ? _lengths[player] : 0));
+		}
+	}
+
+	void readFrom(ByteBuffer in) {
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			_edgeLength[edge] = in.get();
+		}
+		for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+			byte length = in.get();
+			if (player < _lengths.length) {
+				_lengths[player] = length;
+			}
+		}
+	}
+}
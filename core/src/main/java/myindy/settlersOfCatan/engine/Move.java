@@ -0,0 +1,129 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the Move class! A move is just an int, so bots and servers can keep whole lists of them in an int[] without
+ * allocating anything. The move's type sits above the low 8 bits and its argument (a vertex, edge or tile index) in
+ * the low 8 bits. The types are the same codes the EventLog uses for the matching actions. Rolling the dice is a move
+ * too, with no argument, since on a GameEngine the roll itself comes from the game's dice stream. GameState.make()
+ * doesn't have any dice, so a search picks the outcome itself with Move.roll(), which keeps both dice in the argument.
+ *
+ * This class only has static helpers for building, reading and applying moves; MoveGenerator lists the legal ones.
+ */
+public final class Move {
+
+	public static final int SETUP_SETTLEMENT = EventLog.SETUP_SETTLEMENT;
+	public static final int SETUP_ROAD = EventLog.SETUP_ROAD;
+	public static final int PREGAME_RESOURCES = EventLog.PREGAME_RESOURCES;
+	public static final int ROLL = EventLog.ROLL;
+	public static final int MOVE_ROBBER = EventLog.MOVE_ROBBER;
+	public static final int PLAY_KNIGHT = EventLog.PLAY_KNIGHT;
+	public static final int BUILD_ROAD = EventLog.BUILD_ROAD;
+	public static final int BUILD_SETTLEMENT = EventLog.BUILD_SETTLEMENT;
+	public static final int BUILD_CITY = EventLog.BUILD_CITY;
+	public static final int BUY_DEV_CARD = EventLog.BUY_DEV_CARD;
+	public static final int END_TURN = EventLog.END_TURN;
+
+	private static final int TYPE_SHIFT = 8;
+	private static final int ARGUMENT_MASK = (1 << TYPE_SHIFT) - 1;
+	private static final int DIE_BITS = 3;
+	private static final int DIE_MASK = (1 << DIE_BITS) - 1;
+	private static final String[] NAMES = {"END_GAME", "SETUP_SETTLEMENT", "SETUP_ROAD", "PREGAME_RESOURCES", "ROLL",
+			"MOVE_ROBBER", "PLAY_KNIGHT", "BUILD_ROAD", "BUILD_SETTLEMENT", "BUILD_CITY", "BUY_DEV_CARD", "END_TURN"};
+
+	private Move() {
+	}
+
+	public static int of(int type, int argument) {
+		return (type << TYPE_SHIFT) | argument;
+	}
+
+	public static int of(int type) {
+		return type << TYPE_SHIFT;
+	}
+
+	/**
+	 * A roll that already knows how the dice came up, for GameState.make(). (GameEngine ignores the dice and rolls its
+	 * own.)
+	 */
+	public static int roll(int dieA, int dieB) {
+		return Move.of(ROLL, dieA << DIE_BITS | dieB);
+	}
+
+	public static int dieA(int move) {
+		return Move.argument(move) >>> DIE_BITS;
+	}
+
+	public static int dieB(int move) {
+		return Move.argument(move) & DIE_MASK;
+	}
+
+	public static int type(int move) {
+		return move >>> TYPE_SHIFT;
+	}
+
+	public static int argument(int move) {
+		return move & ARGUMENT_MASK;
+	}
+
+	/**
+	 * Plays the move on the engine. The engine (really the GameState) still checks that it's legal.
+	 */
+	public static void apply(GameEngine engine, int move) {
+		int argument = Move.argument(move);
+		switch (Move.type(move)) {
+		case SETUP_SETTLEMENT:
+			engine.placeSetupSettlement(argument);
+			break;
+		case SETUP_ROAD:
+			engine.placeSetupRoad(argument);
+			break;
+		case PREGAME_RESOURCES:
+			engine.choosePregameResources(argument);
+			break;
+		case ROLL:
+			engine.rollDice();
+			break;
+		case MOVE_ROBBER:
+			engine.moveRobber(argument);
+			break;
+		case PLAY_KNIGHT:
+			engine.playKnight();
+			break;
+		case BUILD_ROAD:
+			engine.buildRoad(argument);
+			break;
+		case BUILD_SETTLEMENT:
+			engine.buildSettlement(argument);
+			break;
+		case BUILD_CITY:
+			engine.buildCity(argument);
+			break;
+		case BUY_DEV_CARD:
+			engine.buyDevCard();
+			break;
+		case END_TURN:
+			engine.endTurn();
+			break;
+		default:
+			throw new IllegalArgumentException("Not a move: " + move);
+		}
+	}
+
+	/**
+	 * Something readable like "BUILD_ROAD 17", for debugging.
+	 */
+	public static String toString(int move) {
+		int type = Move.type(move);
+		String name = type < NAMES.length ? NAMES[type] : "UNKNOWN";
+		switch (type) {
+		case ROLL:
+			return Move.argument(move) == 0 ? name : name + " " + Move.dieA(move) + "+" + Move.dieB(move);
+		case PLAY_KNIGHT:
+		case BUY_DEV_CARD:
+		case END_TURN:
+			return name;
+		default:
+			return name + " " + Move.argument(move);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the MoveGenerator class! It lists every legal move (see the Move class) for the player whose turn it is,
+ * straight from the Bitboard's masks, into an int[] the caller provides. Nothing is allocated, so a search can call
+ * it millions of times a second with the same array. Moves always come out in the same order: by type, then by
+ * vertex, edge or tile index.
+ */
+public final class MoveGenerator {
+
+	//No phase can ever have more moves than this: in MAIN, every edge could be a road spot and every vertex a
+	//settlement or city spot, plus buying a card, playing a knight and ending the turn
+	public static final int MAX_MOVES = Topology.NUM_EDGES + Topology.NUM_VERTICES + 3;
+
+	private MoveGenerator() {
+	}
+
+	/**
+	 * Fills "moves" (which needs room for MAX_MOVES) with every legal move in the state and returns how many there
+	 * are. A finished game has none.
+	 */
+	public static int generate(GameState state, int[] moves) {
+		int player = state.getCurrentPlayer();
+		Bitboard bits = state.getBitboard();
+		int count = 0;
+		switch (state.getPhase()) {
+		case SETUP_SETTLEMENT:
+			count = MoveGenerator.addVertices(moves, count, Move.SETUP_SETTLEMENT, bits.openVertices());
+			break;
+		case SETUP_ROAD:
+			count = MoveGenerator.addEdges(moves, count, Move.SETUP_ROAD, bits.roadSpotsLo(player),
+					bits.roadSpotsHi(player));
+			break;
+		case SETUP_RESOURCES:
+			count = MoveGenerator.addVertices(moves, count, Move.PREGAME_RESOURCES, bits.getStructures(player));
+			break;
+		case ROLL:
+			moves[count++] = Move.of(Move.ROLL);
+			break;
+		case ROBBER:
+			for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+				moves[count++] = Move.of(Move.MOVE_ROBBER, tile);
+			}
+			break;
+		case MAIN:
+			if (state.canBuyRoad()) {
+				count = MoveGenerator.addEdges(moves, count, Move.BUILD_ROAD, bits.roadSpotsLo(player),
+						bits.roadSpotsHi(player));
+			}
+			if (state.canBuySettlement()) {
+				count = MoveGenerator.addVertices(moves, count, Move.BUILD_SETTLEMENT, bits.settlementSpots(player));
+			}
+			if (state.canBuyCity()) {
+				count = MoveGenerator.addVertices(moves, count, Move.BUILD_CITY, bits.citySpots(player));
+			}
+			if (state.canBuyDevCard()) {
+				moves[count++] = Move.of(Move.BUY_DEV_CARD);
+			}
+			if (state.canPlayKnight()) {
+				moves[count++] = Move.of(Move.PLAY_KNIGHT);
+			}
+			moves[count++] = Move.of(Move.END_TURN);
+			break;
+		default:
+			break;
+		}
+		return count;
+	}
+
+	private static int addVertices(int[] moves, int count, int type, long vertices) {
+		while (vertices != 0) {
+			moves[count++] = Move.of(type, Long.numberOfTrailingZeros(vertices));
+			vertices &= vertices - 1;
+		}
+		return count;
+	}
+
+	private static int addEdges(int[] moves, int count, int type, long lo, long hi) {
+		while (lo != 0) {
+			moves[count++] = Move.of(type, Long.numberOfTrailingZeros(lo));
+			lo &= lo - 1;
+		}
+		while (hi != 0) {
+			moves[count++] = Move.of(type, 64 + Long.numberOfTrailingZeros(hi));
+			hi &= hi - 1;
+		}
+		return count;
+	}
+}
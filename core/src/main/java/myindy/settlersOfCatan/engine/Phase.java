@@ -0,0 +1,17 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * These are the stages of a game, in the order they happen. The three SETUP stages are the pre-gameplay rotations the
+ * Board used to run itself: every player places a settlement (A-B-C-D-D-C-B-A), then a road (same order), then picks
+ * one settlement to collect initial resources from (A-B-C-D). After that, each turn starts with ROLL, goes to ROBBER
+ * if a 7 is rolled or a knight is played, and otherwise sits in MAIN until the player ends the turn.
+ */
+public enum Phase {
+	SETUP_SETTLEMENT,
+	SETUP_ROAD,
+	SETUP_RESOURCES,
+	ROLL,
+	ROBBER,
+	MAIN,
+	GAME_OVER
+}
@@ -0,0 +1,152 @@
+package myindy.settlersOfCatan.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is the PlayerState class! It is the headless half of the old Player class: the cards in a player's hand, their
+ * knights, and their score. It doesn't know anything about colors or Labels; the view's Player reads from it whenever
+ * it needs to refresh. Only the GameState changes these values, so every mutator here is package-private. The hand is
+ * a packed long (see the Hand class), so buying, paying and collecting never allocate anything.
+ */
+public class PlayerState {
+
+	public static final long ROAD_COST = Hand.of(1, 1, 0, 0, 0);
+	public static final long SETTLEMENT_COST = Hand.of(1, 1, 1, 1, 0);
+	public static final long CITY_COST = Hand.of(0, 0, 2, 0, 3);
+	public static final long DEV_CARD_COST = Hand.of(0, 0, 1, 1, 1);
+
+	//How much room one player takes up in a GameSnapshot
+	static final int SNAPSHOT_BYTES = 24;
+
+	private long _hand;
+	private int _knightCards;
+	private int _knightsUsed;
+	private int _score;
+
+	/**
+	 * A new player starts with no cards and no points.
+	 */
+	public PlayerState() {
+		_hand = Hand.EMPTY;
+		_knightCards = 0;
+		_knightsUsed = 0;
+		_score = 0;
+	}
+
+	/**
+	 * Copy constructor, so a whole game can be duplicated for simulations.
+	 */
+	public PlayerState(PlayerState other) {
+		_hand = other._hand;
+		_knightCards = other._knightCards;
+		_knightsUsed = other._knightsUsed;
+		_score = other._score;
+	}
+
+	void copyFrom(PlayerState other) {
+		_hand = other._hand;
+		_knightCards = other._knightCards;
+		_knightsUsed = other._knightsUsed;
+		_score = other._score;
+	}
+
+	/**
+	 * Returns true if the player has at least as many of every resource as the cost asks for.
+	 */
+	boolean canAfford(long cost) {
+		return Hand.canAfford(_hand, cost);
+	}
+
+	void pay(long cost) {
+		_hand -= cost;
+	}
+
+	/**
+	 * Adds cards of one resource. Like every way of adding cards, it stops at Hand.MAX_CARDS of each resource (see
+	 * Hand.add()).
+	 */
+	void addCards(Resource resource, int amount) {
+		_hand = Hand.add(_hand, Hand.single(resource, amount));
+	}
+
+	/**
+	 * Adds a whole packed hand of cards at once (this is how a dice roll pays out), stopping at Hand.MAX_CARDS of each
+	 * resource. It's public so benchmarks and tools can set up a position with cards to spend, so only call it on a
+	 * game nobody is playing.
+	 */
+	public void addCards(long cards) {
+		_hand = Hand.add(_hand, cards);
+	}
+
+	void addKnightCard() {
+		_knightCards += 1;
+	}
+
+	void useKnightCard() {
+		_knightCards -= 1;
+		_knightsUsed += 1;
+	}
+
+	void addVictoryPoints(int points) {
+		_score += points;
+	}
+
+	public int getCards(Resource resource) {
+		return Hand.count(_hand, resource);
+	}
+
+	/**
+	 * The whole hand, packed the way the Hand class describes.
+	 */
+	public long getHand() {
+		return _hand;
+	}
+
+	public int getKnightCards() {
+		return _knightCards;
+	}
+
+	public int getKnightsUsed() {
+		return _knightsUsed;
+	}
+
+	public int getScore() {
+		return _score;
+	}
+
+	/**
+	 * Packs the knights and score into one long for an UndoStack (the hand is saved separately), and unpacks them.
+	 */
+	long packCounts() {
+		return (long) _knightCards | (long) _knightsUsed << 16 | (long) _score << 32;
+	}
+
+	void unpackCounts(long counts) {
+		_knightCards = (int) (counts & 0xFFFF);
+		_knightsUsed = (int) (counts >>> 16 & 0xFFFF);
+		_score = (int) (counts >>> 32);
+	}
+
+	void setHand(long hand) {
+		_hand = hand;
+	}
+
+	/**
+	 * Writes this player into a GameSnapshot (always PlayerState.SNAPSHOT_BYTES bytes), and reads it back.
+	 */
+	void writeTo(ByteBuffer out) {
+		out.putLong(_hand);
+		out.putInt(_knightCards);
+		out.putInt(_knightsUsed);
+		out.putInt(_score);
+		out.putInt(0);
+	}
+
+	void readFrom(ByteBuffer in) {
+		_hand = in.getLong();
+		_knightCards = in.getInt();
+		_knightsUsed = in.getInt();
+		_score = in.getInt();
+		in.getInt();
+	}
+}
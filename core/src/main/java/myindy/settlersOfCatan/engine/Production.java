@@ -0,0 +1,128 @@
+package myindy.settlersOfCatan.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This is the Production class! It answers "what does everybody collect when this number is rolled?" ahead of time.
+ * For every roll (2 through 12) and every player it keeps a packed hand (see the Hand class) of exactly what that
+ * player would collect, so a roll is just one addition per player instead of a walk over the tiles and their corners.
+ *
+ * The table only changes when something that affects production changes: a settlement or city is built (its owner
+ * collects one more card from every tile around it), or the robber moves (the tile it leaves starts producing again
+ * and the tile it lands on stops). Each of those only patches the entries for the few tiles involved.
+ */
+public class Production {
+
+	private static final int MAX_ROLL = 12;
+	static final int SNAPSHOT_BYTES = 8 * (MAX_ROLL + 1) * GameSnapshot.MAX_PLAYERS;
+
+	private Resource[] _tileResources;
+	private int[] _tileNumbers;
+	private long[][] _table;
+
+	/**
+	 * A brand new table, with no structures on the board yet. The tile arrays never change during a game, so they're
+	 * shared with the GameState rather than copied.
+	 */
+	public Production(int numPlayers, Resource[] tileResources, int[] tileNumbers) {
+		_tileResources = tileResources;
+		_tileNumbers = tileNumbers;
+		_table = new long[MAX_ROLL + 1][numPlayers];
+	}
+
+	public Production(Production other) {
+		_tileResources = other._tileResources;
+		_tileNumbers = other._tileNumbers;
+		_table = new long[MAX_ROLL + 1][];
+		for (int roll = 0; roll <= MAX_ROLL; roll++) {
+			_table[roll] = other._table[roll].clone();
+		}
+	}
+
+	/**
+	 * Turns this table into a copy of other without allocating anything. Both have to be for the same number of
+	 * players. The tile arrays stay the ones this table shares with its own GameState, which copies the board itself.
+	 */
+	void copyFrom(Production other) {
+		for (int roll = 0; roll <= MAX_ROLL; roll++) {
+			System.arraycopy(other._table[roll], 0, _table[roll], 0, _table[roll].length);
+		}
+	}
+
+	/**
+	 * The player's structure on this vertex just went up a level (empty to settlement, or settlement to city), so it
+	 * collects one more card from every producing tile around it that doesn't have the robber.
+	 */
+	void structureUpgraded(int player, int vertex, int robberTile) {
+		this.patchVertex(player, vertex, robberTile, 1);
+	}
+
+	/**
+	 * The opposite of structureUpgraded(), for when GameState.unmake() takes a settlement or city back.
+	 */
+	void structureDowngraded(int player, int vertex, int robberTile) {
+		this.patchVertex(player, vertex, robberTile, -1);
+	}
+
+	private void patchVertex(int player, int vertex, int robberTile, int sign) {
+		for (int i = Topology.vertexTileStart(vertex); i < Topology.vertexTileEnd(vertex); i++) {
+			int tile = Topology.vertexTile(i);
+			if (tile != robberTile && _tileResources[tile] != null) {
+				_table[_tileNumbers[tile]][player] += sign * Hand.single(_tileResources[tile], 1);
+			}
+		}
+	}
+
+	/**
+	 * The robber moved, so the structures around the old tile collect from it again and the ones around the new
+	 * tile stop. The owner and level arrays are the GameState's, indexed by vertex.
+	 */
+	void robberMoved(int fromTile, int toTile, int[] vertexOwner, int[] vertexLevel) {
+		if (fromTile != toTile) {
+			this.patchTile(fromTile, vertexOwner, vertexLevel, 1);
+			this.patchTile(toTile, vertexOwner, vertexLevel, -1);
+		}
+	}
+
+	private void patchTile(int tile, int[] vertexOwner, int[] vertexLevel, int sign) {
+		if (_tileResources[tile] == null) {
+			return;
+		}
+		long[] row = _table[_tileNumbers[tile]];
+		for (int corner = 0; corner < Topology.TILE_CORNERS; corner++) {
+			int vertex = Topology.tileVertex(tile, corner);
+			if (vertexOwner[vertex] != GameState.NO_PLAYER) {
+				row[vertexOwner[vertex]] += sign * Hand.single(_tileResources[tile], vertexLevel[vertex]);
+			}
+		}
+	}
+
+	/**
+	 * Everything this player collects when this number is rolled, as a packed hand.
+	 */
+	public long getProduction(int roll, int player) {
+		return _table[roll][player];
+	}
+
+	/**
+	 * Writes the whole table into a GameSnapshot (MAX_PLAYERS entries per roll), and reads it back.
+	 */
+	void writeTo(ByteBuffer out) {
+		for (int roll = 0; roll <= MAX_ROLL; roll++) {
+			for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+				out.putLong(player < _table[roll].length ? _table[roll][player] : Hand.EMPTY);
+			}
+		}
+	}
+
+	void readFrom(ByteBuffer in) {
+		for (int roll = 0; roll <= MAX_ROLL; roll++) {
+			for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+				long hand = in.getLong();
+				if (player < _table[roll].length) {
+					_table[roll][player] = hand;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * The five resources a tile can produce. The name of each resource is also the name of its tile's PNG, so the view
+ * can still find the right graphic. The Desert doesn't produce anything, so it isn't a Resource (a desert tile just
+ * has a null resource in the GameState).
+ */
+public enum Resource {
+	LUMBER("Lumber"),
+	BRICK("Brick"),
+	WHEAT("Wheat"),
+	WOOL("Wool"),
+	ORE("Ore");
+
+	public static final int COUNT = 5;
+
+	private final String _name;
+
+	private Resource(String name) {
+		_name = name;
+	}
+
+	/**
+	 * Returns the display name, which doubles as the tile image name (e.g. "Lumber" for Lumber.png).
+	 */
+	public String getName() {
+		return _name;
+	}
+}
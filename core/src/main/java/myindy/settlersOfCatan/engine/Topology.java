@@ -0,0 +1,344 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the Topology class! It describes the shape of the board without any graphics: which structure locations
+ * (vertices) exist, which roads (edges) connect them, and which tiles surround each vertex. Everything is numbered
+ * with plain ints so neither the rules nor the view ever need to walk Structure/Road objects. The numbering follows
+ * the same 2D Arrays the Board has always used: vertices are the real entries of the 12x6 structure array in row-major
+ * order, tiles are the real entries of the 5x5 tile array in row-major order, and edges are numbered by walking the
+ * structures in that same order and creating the roads below each one.
+ *
+ * The adjacency lists are stored "flat" (compressed sparse rows): all of the lists are packed end to end in one int
+ * array, and a second array holds where each list starts. For example, the edges touching vertex v are
+ * VERTEX_EDGES[VERTEX_EDGE_START[v]] up to (but not including) VERTEX_EDGES[VERTEX_EDGE_START[v+1]]. Looping over them
+ * never allocates anything, and every list sits right next to its neighbors in memory. Every edge has exactly two ends
+ * and every tile has exactly six corners, so those tables don't need a start array at all.
+ *
+ * For the Bitboard, the same neighborhoods are also stored as bit masks: bit v of a vertex mask is vertex v, and an
+ * edge mask is split into a "lo" long (edges 0-63) and a "hi" long (edges 64-71, shifted down to bits 0-7).
+ *
+ * The tables are built once, when the class loads, and never change.
+ */
+public final class Topology {
+
+	public static final int NUM_VERTICES = 54;
+	public static final int NUM_EDGES = 72;
+	public static final int NUM_TILES = 19;
+	public static final int STRUCTURE_ROWS = 12;
+	public static final int STRUCTURE_COLS = 6;
+	public static final int TILE_ROWS = 5;
+	public static final int TILE_COLS = 5;
+	public static final int TILE_CORNERS = 6;
+	public static final long ALL_VERTICES = (1L << NUM_VERTICES) - 1;
+
+	//These entries of the Board's 2D Arrays are off the edge of the island
+	private static final int[][] EMPTY_TILE_LOCS = {{0,3},{0,4},{1,4},{3,0},{4,0},{4,1}};
+	private static final int[][] EMPTY_STRUCTURE_LOCS = {{0,3},{0,4},{0,5},{1,4},{1,5},{2,4},{2,5},{3,5},{4,5},
+			{7,0},{8,0},{9,0},{9,1},{10,0},{10,1},{11,0},{11,1},{11,2}};
+
+	private static final int[][] VERTEX_AT = new int[STRUCTURE_ROWS][STRUCTURE_COLS];
+	private static final int[] VERTEX_ROW = new int[NUM_VERTICES];
+	private static final int[] VERTEX_COL = new int[NUM_VERTICES];
+	private static final int[][] TILE_AT = new int[TILE_ROWS][TILE_COLS];
+	private static final int[] TILE_ROW = new int[NUM_TILES];
+	private static final int[] TILE_COL = new int[NUM_TILES];
+	//Two entries per edge: [2e] is the upper end, [2e+1] is the lower end
+	private static final int[] EDGE_VERTICES = new int[2 * NUM_EDGES];
+	private static final int[] EDGE_ORIENTATION = new int[NUM_EDGES];
+	private static final int[] VERTEX_EDGE_START = new int[NUM_VERTICES + 1];
+	private static final int[] VERTEX_EDGES = new int[2 * NUM_EDGES];
+	private static final int[] VERTEX_TILE_START = new int[NUM_VERTICES + 1];
+	private static final int[] VERTEX_TILES = new int[TILE_CORNERS * NUM_TILES];
+	//Six entries per tile: [6t] to [6t+5]
+	private static final int[] TILE_VERTICES = new int[TILE_CORNERS * NUM_TILES];
+	private static final long[] VERTEX_NEIGHBOR_MASK = new long[NUM_VERTICES];
+	private static final long[] VERTEX_EDGE_MASK_LO = new long[NUM_VERTICES];
+	private static final long[] VERTEX_EDGE_MASK_HI = new long[NUM_VERTICES];
+	private static final long[] EDGE_VERTEX_MASK = new long[NUM_EDGES];
+
+	static {
+		Topology.numberTiles();
+		Topology.numberVertices();
+		Topology.numberEdges();
+		Topology.linkEdges();
+		Topology.linkTiles();
+		Topology.buildMasks();
+	}
+
+	private Topology() {
+	}
+
+	/**
+	 * Numbers the tiles row by row, skipping the empty corners of the 5x5 array.
+	 */
+	private static void numberTiles() {
+		for (int[] coordPair: EMPTY_TILE_LOCS) {
+			TILE_AT[coordPair[0]][coordPair[1]] = -1;
+		}
+		int index = 0;
+		for (int row = 0; row < TILE_ROWS; row++) {
+			for (int col = 0; col < TILE_COLS; col++) {
+				if (TILE_AT[row][col] != -1) {
+					TILE_AT[row][col] = index;
+					TILE_ROW[index] = row;
+					TILE_COL[index] = col;
+					index++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Numbers the structure locations row by row, skipping the entries of the 12x6 array that are off the island.
+	 */
+	private static void numberVertices() {
+		for (int[] coordPair: EMPTY_STRUCTURE_LOCS) {
+			VERTEX_AT[coordPair[0]][coordPair[1]] = -1;
+		}
+		int index = 0;
+		for (int row = 0; row < STRUCTURE_ROWS; row++) {
+			for (int col = 0; col < STRUCTURE_COLS; col++) {
+				if (VERTEX_AT[row][col] != -1) {
+					VERTEX_AT[row][col] = index;
+					VERTEX_ROW[index] = row;
+					VERTEX_COL[index] = col;
+					index++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * In the Board's 2D Array, even-indexed rows are orientation 1 (roads flank above, below left, and below right)
+	 * and odd-indexed rows are orientation 2 (roads flank above right, above left, and below). So going row by row, a
+	 * structure in an even row creates its lower right road and then its lower left road, and a structure in an odd
+	 * row creates the road directly below it. Every road is created by its upper structure, so the road's orientation
+	 * (1 = vertical, 2 = slopes down to the right, 3 = slopes down to the left) is enough for the view to draw it.
+	 */
+	private static void numberEdges() {
+		int index = 0;
+		for (int row = 0; row < STRUCTURE_ROWS - 1; row++) {
+			for (int col = 0; col < STRUCTURE_COLS; col++) {
+				int vertex = VERTEX_AT[row][col];
+				if (vertex == -1) {
+					continue;
+				}
+				if (row % 2 == 0) {
+					if (col != STRUCTURE_COLS - 1) {
+						index = Topology.addEdge(index, vertex, VERTEX_AT[row+1][col+1], 2);
+					}
+					if (VERTEX_AT[row+1][col] != -1) {
+						index = Topology.addEdge(index, vertex, VERTEX_AT[row+1][col], 3);
+					}
+				} else {
+					index = Topology.addEdge(index, vertex, VERTEX_AT[row+1][col], 1);
+				}
+			}
+		}
+	}
+
+	private static int addEdge(int index, int upper, int lower, int orientation) {
+		EDGE_VERTICES[2 * index] = upper;
+		EDGE_VERTICES[2 * index + 1] = lower;
+		EDGE_ORIENTATION[index] = orientation;
+		return index + 1;
+	}
+
+	/**
+	 * Builds the flat vertex -> edges table: first count each vertex's edges to find where each list starts, then
+	 * drop every edge into both of its ends' lists.
+	 */
+	private static void linkEdges() {
+		for (int end: EDGE_VERTICES) {
+			VERTEX_EDGE_START[end + 1]++;
+		}
+		for (int vertex = 0; vertex < NUM_VERTICES; vertex++) {
+			VERTEX_EDGE_START[vertex + 1] += VERTEX_EDGE_START[vertex];
+		}
+		int[] filled = new int[NUM_VERTICES];
+		for (int i = 0; i < EDGE_VERTICES.length; i++) {
+			int vertex = EDGE_VERTICES[i];
+			VERTEX_EDGES[VERTEX_EDGE_START[vertex] + filled[vertex]++] = i / 2;
+		}
+	}
+
+	/**
+	 * Same neighborhood rules as the Board's old assignTiles(): an orientation 1 structure touches the tiles to its
+	 * upper left, upper right and directly below; an orientation 2 structure touches the tiles directly above, to its
+	 * lower left and to its lower right. Anything that falls off the array or onto an empty corner is skipped. Since
+	 * vertices are visited in order, the flat vertex -> tiles table can be filled as we go.
+	 */
+	private static void linkTiles() {
+		int[] tileCount = new int[NUM_TILES];
+		int filled = 0;
+		for (int vertex = 0; vertex < NUM_VERTICES; vertex++) {
+			int row = VERTEX_ROW[vertex];
+			int col = VERTEX_COL[vertex];
+			VERTEX_TILE_START[vertex] = filled;
+			if (row % 2 == 0) {
+				filled = Topology.addTile(filled, row/2 - 1, col - 1);
+				filled = Topology.addTile(filled, row/2 - 1, col);
+				filled = Topology.addTile(filled, row/2, col);
+			} else {
+				filled = Topology.addTile(filled, row/2 - 1, col - 1);
+				filled = Topology.addTile(filled, row/2, col - 1);
+				filled = Topology.addTile(filled, row/2, col);
+			}
+			for (int i = VERTEX_TILE_START[vertex]; i < filled; i++) {
+				int tile = VERTEX_TILES[i];
+				TILE_VERTICES[TILE_CORNERS * tile + tileCount[tile]++] = vertex;
+			}
+		}
+		VERTEX_TILE_START[NUM_VERTICES] = filled;
+	}
+
+	private static int addTile(int filled, int row, int col) {
+		if (row >= 0 && row < TILE_ROWS && col >= 0 && col < TILE_COLS && TILE_AT[row][col] != -1) {
+			VERTEX_TILES[filled] = TILE_AT[row][col];
+			return filled + 1;
+		}
+		return filled;
+	}
+
+	/**
+	 * Turns the edge table into the bit masks the Bitboard uses.
+	 */
+	private static void buildMasks() {
+		for (int edge = 0; edge < NUM_EDGES; edge++) {
+			int upper = EDGE_VERTICES[2 * edge];
+			int lower = EDGE_VERTICES[2 * edge + 1];
+			EDGE_VERTEX_MASK[edge] = (1L << upper) | (1L << lower);
+			VERTEX_NEIGHBOR_MASK[upper] |= 1L << lower;
+			VERTEX_NEIGHBOR_MASK[lower] |= 1L << upper;
+			Topology.addEdgeMask(upper, edge);
+			Topology.addEdgeMask(lower, edge);
+		}
+	}
+
+	private static void addEdgeMask(int vertex, int edge) {
+		if (edge < 64) {
+			VERTEX_EDGE_MASK_LO[vertex] |= 1L << edge;
+		} else {
+			VERTEX_EDGE_MASK_HI[vertex] |= 1L << (edge - 64);
+		}
+	}
+
+	/**
+	 * Returns the vertex index for an entry in the Board's 12x6 structure array, or -1 if that entry is off the
+	 * island.
+	 */
+	public static int vertexAt(int row, int col) {
+		return VERTEX_AT[row][col];
+	}
+
+	public static int vertexRow(int vertex) {
+		return VERTEX_ROW[vertex];
+	}
+
+	public static int vertexCol(int vertex) {
+		return VERTEX_COL[vertex];
+	}
+
+	/**
+	 * Returns the tile index for an entry in the Board's 5x5 tile array, or -1 for an empty (ocean) corner.
+	 */
+	public static int tileAt(int row, int col) {
+		return TILE_AT[row][col];
+	}
+
+	public static int tileRow(int tile) {
+		return TILE_ROW[tile];
+	}
+
+	public static int tileCol(int tile) {
+		return TILE_COL[tile];
+	}
+
+	/**
+	 * Returns one of the two structure locations this edge connects (end 0 is always the upper one).
+	 */
+	public static int edgeVertex(int edge, int end) {
+		return EDGE_VERTICES[2 * edge + end];
+	}
+
+	/**
+	 * Given one end of the edge, returns the other end. XOR-ing both ends with the known one leaves the other.
+	 */
+	public static int otherVertex(int edge, int vertex) {
+		return EDGE_VERTICES[2 * edge] ^ EDGE_VERTICES[2 * edge + 1] ^ vertex;
+	}
+
+	/**
+	 * The orientation the Road class uses to draw this edge from its upper structure.
+	 */
+	public static int edgeOrientation(int edge) {
+		return EDGE_ORIENTATION[edge];
+	}
+
+	/**
+	 * The roads touching a vertex are vertexEdge(i) for i from vertexEdgeStart(vertex) up to vertexEdgeEnd(vertex)
+	 * (two or three of them).
+	 */
+	public static int vertexEdgeStart(int vertex) {
+		return VERTEX_EDGE_START[vertex];
+	}
+
+	public static int vertexEdgeEnd(int vertex) {
+		return VERTEX_EDGE_START[vertex + 1];
+	}
+
+	public static int vertexEdge(int index) {
+		return VERTEX_EDGES[index];
+	}
+
+	/**
+	 * The land tiles touching a vertex are vertexTile(i) for i from vertexTileStart(vertex) up to
+	 * vertexTileEnd(vertex) (one to three of them).
+	 */
+	public static int vertexTileStart(int vertex) {
+		return VERTEX_TILE_START[vertex];
+	}
+
+	public static int vertexTileEnd(int vertex) {
+		return VERTEX_TILE_START[vertex + 1];
+	}
+
+	public static int vertexTile(int index) {
+		return VERTEX_TILES[index];
+	}
+
+	/**
+	 * Returns one of the six structure locations around a tile (corner goes from 0 to 5).
+	 */
+	public static int tileVertex(int tile, int corner) {
+		return TILE_VERTICES[TILE_CORNERS * tile + corner];
+	}
+
+	/**
+	 * The structure locations exactly one road away from this one, as a vertex mask.
+	 */
+	public static long vertexNeighborMask(int vertex) {
+		return VERTEX_NEIGHBOR_MASK[vertex];
+	}
+
+	/**
+	 * The roads touching this structure location, as the low half (edges 0-63) of an edge mask.
+	 */
+	public static long vertexEdgeMaskLo(int vertex) {
+		return VERTEX_EDGE_MASK_LO[vertex];
+	}
+
+	/**
+	 * The roads touching this structure location, as the high half (edges 64-71) of an edge mask.
+	 */
+	public static long vertexEdgeMaskHi(int vertex) {
+		return VERTEX_EDGE_MASK_HI[vertex];
+	}
+
+	/**
+	 * Both ends of this edge, as a vertex mask.
+	 */
+	public static long edgeVertexMask(int edge) {
+		return EDGE_VERTEX_MASK[edge];
+	}
+}
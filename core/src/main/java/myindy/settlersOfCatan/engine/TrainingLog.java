@@ -0,0 +1,321 @@
+package myindy.settlersOfCatan.engine;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This is the TrainingLog class! It's what we train evaluators on: for every action in every game, the position just
+ * before it, the move that was chosen, and who ended up winning the game. Where an EventLog keeps only what's needed
+ * to replay a game, a TrainingLog spells every position out in full, so a trainer (or numpy) can read it straight off
+ * the disk without knowing anything about the rules.
+ *
+ * The data is stored by column rather than by row. The file starts with an 8-byte header (the magic number "CTTD" and
+ * a 4-byte version), then holds any number of chunks. Each chunk is an 8-byte header (the number of rows, then how
+ * many bytes of columns follow) followed by its columns one after another, every column being rows * its width bytes.
+ * The columns are zero-padded up to a multiple of 8 bytes, so the next chunk starts on a multiple of 8 too. The
+ * columns are:
+ *   - GAME (8): the game's seed
+ *   - MOVE (4): the chosen Move (a roll is stored with its dice, see Move.roll())
+ *   - TURN (2): GameState.getTurn()
+ *   - PLAYER (1): who made the move
+ *   - NUM_PLAYERS (1)
+ *   - WINNER (1): who won the game, or -1 if it hit the turn limit first
+ *   - ROBBER (1): the robber's tile
+ *   - TILE_RESOURCES (19): each tile's Resource ordinal plus 1, or 0 for the desert
+ *   - TILE_NUMBERS (19): each tile's number token, or 0 for the desert
+ *   - VERTICES (54): 0 for nobody, 1-4 for a settlement of player 0-3, 5-8 for a city
+ *   - EDGES (72): 0 for nobody, otherwise the road owner plus 1
+ *   - HANDS (20): how many of each Resource every seat holds (seat 0's five counts first), capped at 255
+ *   - SCORES (4): every seat's score
+ * Everything is little-endian, and the widest columns come first so every value sits on a multiple of its own size
+ * (the file header, the chunk headers and the padding keep every chunk's GAME column on a multiple of 8).
+ *
+ * Every position of a long game is a lot of data (a couple of hundred bytes each, for hundreds of actions per game),
+ * and writing it all can easily take longer than playing the games. A TrainingLog can keep just one position in
+ * "every" instead, which also skips the work of capturing the others. Which positions are kept depends only on the
+ * game's seed and the action number, so the same games always give the same file.
+ *
+ * Like EventLogs, several TrainingLogs (one per simulation thread) share one channel. Each one fills a chunk in its
+ * own buffers and only writes out finished games, so the threads never wait on each other while they play. Writing a
+ * chunk only holds the channel's lock long enough to grow the file and map the chunk's place in it; the copy into the
+ * mapping happens outside the lock.
+ */
+public class TrainingLog implements Flushable {
+
+	public static final int MAGIC = 0x43545444; //"CTTD"
+	public static final int VERSION = 2;
+	public static final int HEADER_BYTES = 8;
+	public static final int CHUNK_HEADER_BYTES = 8;
+
+	public static final int MAX_SEATS = 4;
+
+	//The columns, in the order they're stored
+	public static final int GAME = 0;
+	public static final int MOVE = 1;
+	public static final int TURN = 2;
+	public static final int PLAYER = 3;
+	public static final int NUM_PLAYERS = 4;
+	public static final int WINNER = 5;
+	public static final int ROBBER = 6;
+	public static final int TILE_RESOURCES = 7;
+	public static final int TILE_NUMBERS = 8;
+	public static final int VERTICES = 9;
+	public static final int EDGES = 10;
+	public static final int HANDS = 11;
+	public static final int SCORES = 12;
+	public static final int NUM_COLUMNS = 13;
+
+	private static final int[] WIDTHS = {8, 4, 2, 1, 1, 1, 1, Topology.NUM_TILES, Topology.NUM_TILES,
+			Topology.NUM_VERTICES, Topology.NUM_EDGES, MAX_SEATS * Resource.COUNT, MAX_SEATS};
+	public static final int ROW_BYTES = TrainingLog.rowBytes();
+
+	//Once a chunk has this many rows (a few MB), it's written out at the end of the game. Every chunk is a mapping
+	//until the garbage collector gets to it, so they're kept big enough that there aren't too many of those.
+	private static final int CHUNK_ROWS = 16384;
+	private static final Resource[] RESOURCES = Resource.values();
+
+	private FileChannel _channel;
+	//The staged chunk: the three wide columns get arrays of their own type, the rest a byte[] each
+	private long[] _games;
+	private int[] _moves;
+	private short[] _turns;
+	private byte[][] _bytes;
+	private int _capacity;
+	private int _rows;
+	private int _gameStart;
+	private long _seed;
+	private int _numPlayers;
+	//The current game's tile resources and numbers as they're stored, which never change during a game
+	private byte[] _tiles;
+	private boolean _haveTiles;
+	private int _every;
+	//How many actions the current game has had, and whether the one being captured is kept
+	private int _actions;
+	private boolean _keep;
+
+	/**
+	 * Makes a log that writes its chunks to the given channel, which should already have the file header (see
+	 * create()). The channel belongs to whoever opened it, so this class never closes it.
+	 */
+	public TrainingLog(FileChannel channel) {
+		this(channel, 1);
+	}
+
+	/**
+	 * Makes a log that keeps about one position in "every" (see the class comment).
+	 */
+	public TrainingLog(FileChannel channel, int every) {
+		if (every < 1) {
+			throw new IllegalArgumentException("Can't keep one position in " + every);
+		}
+		_channel = channel;
+		_every = every;
+		_capacity = CHUNK_ROWS * 2;
+		_games = new long[_capacity];
+		_moves = new int[_capacity];
+		_turns = new short[_capacity];
+		_bytes = new byte[NUM_COLUMNS][];
+		for (int column = PLAYER; column < NUM_COLUMNS; column++) {
+			_bytes[column] = new byte[_capacity * WIDTHS[column]];
+		}
+		_tiles = new byte[2 * Topology.NUM_TILES];
+	}
+
+	/**
+	 * Creates (or empties) a training file, writes the file header, and returns the channel to hand to the
+	 * TrainingLogs. The channel can read too, since growing the file by mapping it needs that.
+	 */
+	public static FileChannel create(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putInt(VERSION).flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		return channel;
+	}
+
+	/**
+	 * How many bytes each row of the given column takes.
+	 */
+	public static int width(int column) {
+		return WIDTHS[column];
+	}
+
+	/**
+	 * How many bytes the columns of a chunk with the given number of rows take, padding included.
+	 */
+	public static int columnBytes(int rows) {
+		return (rows * ROW_BYTES + 7) & ~7;
+	}
+
+	private static int rowBytes() {
+		int bytes = 0;
+		for (int width: WIDTHS) {
+			bytes += width;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Starts a new game. The GameEngine calls this when the log is handed to it.
+	 */
+	public void startGame(long seed, int numPlayers) {
+		if (numPlayers > MAX_SEATS) {
+			throw new IllegalArgumentException("Training logs only cover " + MAX_SEATS + " players");
+		}
+		_seed = seed;
+		_numPlayers = numPlayers;
+		_gameStart = _rows;
+		_haveTiles = false;
+		_actions = 0;
+	}
+
+	/**
+	 * Writes the position into the next row, ready for the move about to be played from it. The GameEngine calls this
+	 * before every action, and record() afterwards if the action worked; if it didn't, the next capture() just
+	 * overwrites the row.
+	 *
+	 * This runs before every single action of every exported game, so it sticks to plain array stores: the tiles are
+	 * worked out once per game and copied in, and the pieces come from the Bitboard's masks, so only the vertices and
+	 * edges that actually have something on them are visited.
+	 */
+	public void capture(GameState state) {
+		_keep = _every == 1 || Long.remainderUnsigned(GameRandom.mix(_seed + _actions), _every) == 0;
+		if (!_keep) {
+			return;
+		}
+		if (_rows == _capacity) {
+			this.grow();
+		}
+		if (!_haveTiles) {
+			for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+				Resource resource = state.getTileResource(tile);
+				_tiles[tile] = (byte) (resource == null ? 0 : resource.ordinal() + 1);
+				_tiles[Topology.NUM_TILES + tile] = (byte) state.getTileNumber(tile);
+			}
+			_haveTiles = true;
+		}
+		int row = _rows;
+		_games[row] = _seed;
+		_turns[row] = (short) state.getTurn();
+		_bytes[PLAYER][row] = (byte) state.getCurrentPlayer();
+		_bytes[NUM_PLAYERS][row] = (byte) _numPlayers;
+		_bytes[ROBBER][row] = (byte) state.getRobberTile();
+		System.arraycopy(_tiles, 0, _bytes[TILE_RESOURCES], row * Topology.NUM_TILES, Topology.NUM_TILES);
+		System.arraycopy(_tiles, Topology.NUM_TILES, _bytes[TILE_NUMBERS], row * Topology.NUM_TILES,
+				Topology.NUM_TILES);
+		byte[] vertices = _bytes[VERTICES];
+		byte[] edges = _bytes[EDGES];
+		int vertexStart = row * Topology.NUM_VERTICES;
+		int edgeStart = row * Topology.NUM_EDGES;
+		Arrays.fill(vertices, vertexStart, vertexStart + Topology.NUM_VERTICES, (byte) 0);
+		Arrays.fill(edges, edgeStart, edgeStart + Topology.NUM_EDGES, (byte) 0);
+		Bitboard board = state.getBitboard();
+		byte[] hands = _bytes[HANDS];
+		byte[] scores = _bytes[SCORES];
+		int handStart = row * MAX_SEATS * Resource.COUNT;
+		for (int seat = 0; seat < MAX_SEATS; seat++) {
+			int index = handStart + seat * Resource.COUNT;
+			if (seat >= _numPlayers) {
+				Arrays.fill(hands, index, index + Resource.COUNT, (byte) 0);
+				scores[row * MAX_SEATS + seat] = 0;
+				continue;
+			}
+			long cities = board.getCities(seat);
+			for (long bits = board.getStructures(seat); bits != 0; bits &= bits - 1) {
+				int vertex = Long.numberOfTrailingZeros(bits);
+				int value = (cities & 1L << vertex) != 0 ? MAX_SEATS + seat + 1 : seat + 1;
+				vertices[vertexStart + vertex] = (byte) value;
+			}
+			for (long bits = board.getRoadsLo(seat); bits != 0; bits &= bits - 1) {
+				edges[edgeStart + Long.numberOfTrailingZeros(bits)] = (byte) (seat + 1);
+			}
+			for (long bits = board.getRoadsHi(seat); bits != 0; bits &= bits - 1) {
+				edges[edgeStart + 64 + Long.numberOfTrailingZeros(bits)] = (byte) (seat + 1);
+			}
+			PlayerState player = state.getPlayer(seat);
+			long hand = player.getHand();
+			for (Resource resource: RESOURCES) {
+				hands[index++] = (byte) Math.min(255, Hand.count(hand, resource));
+			}
+			scores[row * MAX_SEATS + seat] = (byte) player.getScore();
+		}
+	}
+
+	/**
+	 * Keeps the row capture() just wrote (if it's one of the positions being kept), with the move that was played
+	 * from it.
+	 */
+	public void record(int move) {
+		if (_keep) {
+			_moves[_rows] = move;
+			_rows++;
+		}
+		_actions++;
+	}
+
+	/**
+	 * Ends the current game, filling in its winner (or GameState.NO_PLAYER) on every one of its rows. Whoever is
+	 * running the game calls this when they're done with it. Once the chunk is big enough, it's written out.
+	 */
+	public void endGame(int winner) throws IOException {
+		Arrays.fill(_bytes[WINNER], _gameStart, _rows, (byte) winner);
+		_gameStart = _rows;
+		if (_rows >= CHUNK_ROWS) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Writes every finished game as one chunk. This should only be called between games.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (_rows == 0) {
+			return;
+		}
+		int columnBytes = TrainingLog.columnBytes(_rows);
+		MappedByteBuffer chunk;
+		synchronized (_channel) {
+			//Mapping past the end of the file grows it, so the next log maps after this chunk. The mapping's padding
+			//is already zeroes, since that's what a file grows with.
+			chunk = _channel.map(FileChannel.MapMode.READ_WRITE, _channel.size(), CHUNK_HEADER_BYTES + columnBytes);
+		}
+		chunk.order(ByteOrder.LITTLE_ENDIAN);
+		chunk.putInt(_rows).putInt(columnBytes);
+		chunk.asLongBuffer().put(_games, 0, _rows);
+		chunk.position(chunk.position() + _rows * WIDTHS[GAME]);
+		chunk.asIntBuffer().put(_moves, 0, _rows);
+		chunk.position(chunk.position() + _rows * WIDTHS[MOVE]);
+		chunk.asShortBuffer().put(_turns, 0, _rows);
+		chunk.position(chunk.position() + _rows * WIDTHS[TURN]);
+		for (int column = PLAYER; column < NUM_COLUMNS; column++) {
+			chunk.put(_bytes[column], 0, _rows * WIDTHS[column]);
+		}
+		_rows = 0;
+		_gameStart = 0;
+	}
+
+	/**
+	 * A game in the middle of being captured can't be split across chunks (its winner isn't known yet), so if one
+	 * game somehow outgrows the buffers, they just grow instead.
+	 */
+	private void grow() {
+		_capacity *= 2;
+		_games = Arrays.copyOf(_games, _capacity);
+		_moves = Arrays.copyOf(_moves, _capacity);
+		_turns = Arrays.copyOf(_turns, _capacity);
+		for (int column = PLAYER; column < NUM_COLUMNS; column++) {
+			_bytes[column] = Arrays.copyOf(_bytes[column], _capacity * WIDTHS[column]);
+		}
+	}
+}
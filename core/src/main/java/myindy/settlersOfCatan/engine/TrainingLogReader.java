@@ -0,0 +1,201 @@
+package myindy.settlersOfCatan.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is the TrainingLogReader class! It reads back what TrainingLogs wrote (see TrainingLog for the format), one
+ * chunk at a time. The file is memory-mapped and every getter reads straight out of the mapping, so nothing is ever
+ * copied into the heap. A single mapping can't cover more than 2 GB, so instead of mapping the whole file at once
+ * (like EventLogReader does) it maps a window of up to WINDOW_BYTES and moves the window along when the next chunk
+ * doesn't fit in it. (Mappings are only let go of by the garbage collector, so mapping every chunk separately could
+ * run out of them on a big file.)
+ *
+ * A trainer that wants whole columns at once can take them with column(), which is a view of the mapping too.
+ */
+public class TrainingLogReader implements Closeable {
+
+	public static final long WINDOW_BYTES = 1L << 30;
+
+	private static final Resource[] RESOURCES = Resource.values();
+
+	private FileChannel _channel;
+	private long _position;
+	private ByteBuffer _window;
+	private long _windowStart;
+	private ByteBuffer _chunk;
+	private int _rows;
+	private int[] _offsets;
+
+	/**
+	 * Opens a training file and checks its header. Call nextChunk() to get to the first chunk.
+	 */
+	public TrainingLogReader(Path path) throws IOException {
+		_channel = FileChannel.open(path, StandardOpenOption.READ);
+		ByteBuffer header = _channel.size() < TrainingLog.HEADER_BYTES ? null : this.map(0, TrainingLog.HEADER_BYTES);
+		if (header == null || header.getInt() != TrainingLog.MAGIC) {
+			_channel.close();
+			throw new IllegalArgumentException("Not a training log");
+		}
+		int version = header.getInt();
+		if (version != TrainingLog.VERSION) {
+			_channel.close();
+			throw new IllegalArgumentException("Unknown training log version " + version);
+		}
+		_position = TrainingLog.HEADER_BYTES;
+		_offsets = new int[TrainingLog.NUM_COLUMNS];
+	}
+
+	/**
+	 * Moves on to the next chunk. Returns false at the end of the file.
+	 */
+	public boolean nextChunk() throws IOException {
+		if (_position + TrainingLog.CHUNK_HEADER_BYTES > _channel.size()) {
+			_chunk = null;
+			_window = null;
+			_rows = 0;
+			return false;
+		}
+		ByteBuffer header = this.window(_position, TrainingLog.CHUNK_HEADER_BYTES);
+		_rows = header.getInt();
+		//The header says how far the padded columns go, so the padding itself never has to be worked out here
+		long bytes = header.getInt();
+		_chunk = this.window(_position + TrainingLog.CHUNK_HEADER_BYTES, bytes);
+		_position += TrainingLog.CHUNK_HEADER_BYTES + bytes;
+		int offset = 0;
+		for (int column = 0; column < TrainingLog.NUM_COLUMNS; column++) {
+			_offsets[column] = offset;
+			offset += _rows * TrainingLog.width(column);
+		}
+		return true;
+	}
+
+	/**
+	 * Goes back to before the first chunk, for another pass over the file.
+	 */
+	public void rewind() {
+		_position = TrainingLog.HEADER_BYTES;
+		_chunk = null;
+		_rows = 0;
+	}
+
+	/**
+	 * How many rows the current chunk has.
+	 */
+	public int getRows() {
+		return _rows;
+	}
+
+	/**
+	 * A read-only, little-endian view of one whole column of the current chunk (getRows() * TrainingLog.width()
+	 * bytes).
+	 */
+	public ByteBuffer column(int column) {
+		int bytes = _rows * TrainingLog.width(column);
+		return _chunk.slice(_offsets[column], bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public long getGame(int row) {
+		return _chunk.getLong(_offsets[TrainingLog.GAME] + row * 8);
+	}
+
+	public int getMove(int row) {
+		return _chunk.getInt(_offsets[TrainingLog.MOVE] + row * 4);
+	}
+
+	public int getTurn(int row) {
+		return _chunk.getShort(_offsets[TrainingLog.TURN] + row * 2);
+	}
+
+	public int getPlayer(int row) {
+		return _chunk.get(_offsets[TrainingLog.PLAYER] + row);
+	}
+
+	public int getNumPlayers(int row) {
+		return _chunk.get(_offsets[TrainingLog.NUM_PLAYERS] + row);
+	}
+
+	/**
+	 * Who won the game this row comes from, or GameState.NO_PLAYER if nobody did.
+	 */
+	public int getWinner(int row) {
+		return _chunk.get(_offsets[TrainingLog.WINNER] + row);
+	}
+
+	public int getRobberTile(int row) {
+		return _chunk.get(_offsets[TrainingLog.ROBBER] + row);
+	}
+
+	/**
+	 * Returns the tile's resource, or null for the desert.
+	 */
+	public Resource getTileResource(int row, int tile) {
+		int value = _chunk.get(_offsets[TrainingLog.TILE_RESOURCES] + row * Topology.NUM_TILES + tile);
+		return value == 0 ? null : RESOURCES[value - 1];
+	}
+
+	public int getTileNumber(int row, int tile) {
+		return _chunk.get(_offsets[TrainingLog.TILE_NUMBERS] + row * Topology.NUM_TILES + tile);
+	}
+
+	/**
+	 * Returns who has a settlement or city on the vertex, or GameState.NO_PLAYER.
+	 */
+	public int getVertexOwner(int row, int vertex) {
+		int value = this.getVertex(row, vertex);
+		return value == 0 ? GameState.NO_PLAYER : (value - 1) % TrainingLog.MAX_SEATS;
+	}
+
+	/**
+	 * Returns 0 for an empty vertex, 1 for a settlement and 2 for a city (like GameState.getVertexLevel()).
+	 */
+	public int getVertexLevel(int row, int vertex) {
+		int value = this.getVertex(row, vertex);
+		return value == 0 ? 0 : (value - 1) / TrainingLog.MAX_SEATS + 1;
+	}
+
+	private int getVertex(int row, int vertex) {
+		return _chunk.get(_offsets[TrainingLog.VERTICES] + row * Topology.NUM_VERTICES + vertex);
+	}
+
+	public int getEdgeOwner(int row, int edge) {
+		return _chunk.get(_offsets[TrainingLog.EDGES] + row * Topology.NUM_EDGES + edge) - 1;
+	}
+
+	public int getCards(int row, int seat, Resource resource) {
+		int index = (row * TrainingLog.MAX_SEATS + seat) * Resource.COUNT + resource.ordinal();
+		return _chunk.get(_offsets[TrainingLog.HANDS] + index) & 0xFF;
+	}
+
+	public int getScore(int row, int seat) {
+		return _chunk.get(_offsets[TrainingLog.SCORES] + row * TrainingLog.MAX_SEATS + seat);
+	}
+
+	@Override
+	public void close() throws IOException {
+		_channel.close();
+		_chunk = null;
+		_window = null;
+	}
+
+	/**
+	 * Returns a view of the given part of the file, moving the window first if it isn't in there.
+	 */
+	private ByteBuffer window(long position, long bytes) throws IOException {
+		if (_window == null || position < _windowStart || position + bytes > _windowStart + _window.capacity()) {
+			long size = Math.max(bytes, Math.min(WINDOW_BYTES, _channel.size() - position));
+			_window = this.map(position, size);
+			_windowStart = position;
+		}
+		return _window.slice((int) (position - _windowStart), (int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private ByteBuffer map(long position, long bytes) throws IOException {
+		return _channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
@@ -0,0 +1,70 @@
+package myindy.settlersOfCatan.engine;
+
+import java.util.Arrays;
+
+/**
+ * This is the UndoStack class! It's what GameState.make() and GameState.unmake() use to walk a game forwards and
+ * backwards without ever copying it. Every make() pushes only the values its move is about to change (the hands and
+ * counters of every player, the turn's single values packed into two longs, the board's Zobrist key, and for a piece
+ * the Bitboard words it touches and the LongestRoad labels), with the move itself on top, and unmake() pops them back
+ * off in reverse. With 4 players that's exactly 12 longs for most moves, 13 for a city, 29 for a settlement and 31
+ * for a road (a road or settlement saves every player's road frontier, plus 6 longs of road lengths). With n players
+ * it's 2n + 4, plus 1 for a city, 2n + 9 for a settlement or 2n + 11 for a road: a lot less than the GameState it
+ * would take to copy.
+ *
+ * The stack is just a long[] that grows when it has to, so once a search has reached its deepest line nothing is
+ * allocated anymore. One stack belongs to one GameState at a time; nothing else should push onto it in between.
+ */
+public class UndoStack {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private long[] _entries;
+	private int _size;
+
+	public UndoStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public UndoStack(int capacity) {
+		_entries = new long[Math.max(1, capacity)];
+		_size = 0;
+	}
+
+	void push(long value) {
+		if (_size == _entries.length) {
+			_entries = Arrays.copyOf(_entries, 2 * _entries.length);
+		}
+		_entries[_size++] = value;
+	}
+
+	long pop() {
+		if (_size == 0) {
+			throw new IllegalStateException("Nothing left to undo");
+		}
+		return _entries[--_size];
+	}
+
+	/**
+	 * Throws away everything pushed after the stack was this size (make() does this when its move turns out to be
+	 * illegal).
+	 */
+	void truncate(int size) {
+		_size = size;
+	}
+
+	/**
+	 * How many longs are on the stack (not how many moves).
+	 */
+	public int size() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	public void clear() {
+		_size = 0;
+	}
+}
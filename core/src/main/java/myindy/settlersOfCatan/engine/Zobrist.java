@@ -0,0 +1,96 @@
+package myindy.settlersOfCatan.engine;
+
+/**
+ * This is the Zobrist class! It hands out the random 64-bit numbers that GameState.getKey() is built from. Every fact
+ * about a position (this tile is wheat, this vertex has player 2's city, the robber is on tile 7, it's player 1's turn
+ * to roll, ...) has its own number, and a position's key is all of its facts XORed together. Two different positions
+ * get the same key with a chance of about 1 in 2^64, and when a piece is placed the key only needs that one fact XORed
+ * in, which is how the GameState keeps its key up to date as moves are made and unmade.
+ *
+ * Instead of a big table of random numbers, each fact's number is the SplitMix64 output (the same one GameRandom
+ * uses) at the fact's index in its own stream. That's exactly what a table filled from a GameRandom would hold, but
+ * it works for any number of players and never has to be loaded from memory. Hands and counters have far too many
+ * values for one number each, so the whole packed hand is hashed instead; that's still one fact per player.
+ *
+ * The numbers are the same in every run, so keys can be saved (in an opening book, or to spot duplicate games in a
+ * log) and looked up again later.
+ */
+public final class Zobrist {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	//Where each kind of fact's stream starts (any far-apart constants will do)
+	private static final long TILE_RESOURCE = 0x1000000000000000L;
+	private static final long TILE_NUMBER = 0x2000000000000000L;
+	private static final long VERTEX = 0x3000000000000000L;
+	private static final long EDGE = 0x4000000000000000L;
+	private static final long ROBBER = 0x5000000000000000L;
+	private static final long HAND = 0x6000000000000000L;
+	private static final long COUNTS = 0x7000000000000000L;
+	private static final long TURN = 0x8000000000000000L;
+	private static final long TITLES = 0x9000000000000000L;
+	private static final long DECK = 0xA000000000000000L;
+	//Room for this many entries per player in the per-player streams
+	private static final long PLAYER_STRIDE = 1L << 40;
+
+	private Zobrist() {
+	}
+
+	private static long key(long stream, long index) {
+		return GameRandom.mix(stream + (index + 1) * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * A tile's resource (null for the desert) and number (0 for the desert). These never change during a game, but
+	 * they're part of the key so positions from different boards never match.
+	 */
+	public static long tile(int tile, Resource resource, int number) {
+		return Zobrist.key(TILE_RESOURCE, tile * 8 + (resource == null ? 0 : resource.ordinal() + 1))
+				^ Zobrist.key(TILE_NUMBER, tile * 16 + number);
+	}
+
+	/**
+	 * The player's settlement (level 1) or city (level 2) on a vertex.
+	 */
+	public static long vertex(int vertex, int player, int level) {
+		return Zobrist.key(VERTEX + player * PLAYER_STRIDE, vertex * 2 + level - 1);
+	}
+
+	public static long edge(int edge, int player) {
+		return Zobrist.key(EDGE + player * PLAYER_STRIDE, edge);
+	}
+
+	public static long robber(int tile) {
+		return Zobrist.key(ROBBER, tile);
+	}
+
+	/**
+	 * A player's whole hand, plus their knights and score (PlayerState.packCounts()), which is where the development
+	 * cards they're holding show up.
+	 */
+	public static long player(int player, long hand, long counts) {
+		return Zobrist.key(HAND + player * PLAYER_STRIDE, hand) ^ Zobrist.key(COUNTS + player * PLAYER_STRIDE, counts);
+	}
+
+	/**
+	 * Whose move it is and what kind of move they're making.
+	 */
+	public static long turn(Phase phase, int currPlayer, int setupStep, boolean usingKnight) {
+		return Zobrist.key(TURN, (long) phase.ordinal() | (long) currPlayer << 8 | (long) setupStep << 16
+				| (usingKnight ? 1L : 0L) << 24);
+	}
+
+	/**
+	 * Who holds "Longest Road" and "Largest Army", and how long a road or big an army it takes to take them away.
+	 */
+	public static long titles(int longestRoadOwner, int longestRoad, int largestArmyOwner, int largestArmy) {
+		return Zobrist.key(TITLES, (long) (longestRoadOwner + 1) | (long) longestRoad << 8
+				| (long) (largestArmyOwner + 1) << 16 | (long) largestArmy << 24);
+	}
+
+	/**
+	 * How many development cards have been bought (the rest of the deck is what's left to draw).
+	 */
+	public static long deck(int deckTop) {
+		return Zobrist.key(DECK, deckTop);
+	}
+}
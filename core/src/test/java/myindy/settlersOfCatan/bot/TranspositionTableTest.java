@@ -0,0 +1,114 @@
+package myindy.settlersOfCatan.bot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import myindy.settlersOfCatan.engine.GameRandom;
+import myindy.settlersOfCatan.engine.Move;
+
+/**
+ * This is the TranspositionTableTest class! It checks that a stored result comes back exactly, that the
+ * depth-preferred slot keeps deep results, and that threads hammering one table at once never get back a result
+ * that was stored for a different position.
+ */
+public class TranspositionTableTest {
+
+	private static final int THREADS = 4;
+	private static final int OPERATIONS = 2000000;
+
+	@Test
+	public void storedResultComesBack() {
+		TranspositionTable table = new TranspositionTable(1);
+		int move = Move.of(Move.BUILD_ROAD, 71);
+		table.store(12345L, 0.625f, 7, move, TranspositionTable.LOWER_BOUND);
+		long data = table.probe(12345L);
+		assertEquals(0.625f, TranspositionTable.value(data));
+		assertEquals(7, TranspositionTable.depth(data));
+		assertEquals(move, TranspositionTable.bestMove(data));
+		assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(data));
+		assertEquals(TranspositionTable.MISSING, table.probe(54321L));
+	}
+
+	@Test
+	public void deepResultsStayPut() {
+		TranspositionTable table = new TranspositionTable(1);
+		int buckets = table.getCapacity() / 2;
+		long deep = 3;
+		long shallow = deep + buckets;
+		long newer = deep + 2L * buckets;
+		table.store(deep, 1f, 10, 0, TranspositionTable.EXACT);
+		table.store(shallow, 2f, 1, 0, TranspositionTable.EXACT);
+		table.store(newer, 3f, 1, 0, TranspositionTable.EXACT);
+		//All three share a bucket: the deep one keeps its slot and the newest shallow one took the other
+		assertEquals(10, TranspositionTable.depth(table.probe(deep)));
+		assertEquals(TranspositionTable.MISSING, table.probe(shallow));
+		assertEquals(3f, TranspositionTable.value(table.probe(newer)));
+	}
+
+	@Test
+	public void threadsNeverSeeAnotherPositionsResult() throws InterruptedException {
+		//Small enough that the threads keep landing on each other's slots
+		TranspositionTable table = new TranspositionTable(1);
+		AtomicLong wrong = new AtomicLong();
+		AtomicLong hits = new AtomicLong();
+		Thread[] threads = new Thread[THREADS];
+		for (int i = 0; i < THREADS; i++) {
+			threads[i] = new Thread(new Hammer(table, i, wrong, hits));
+			threads[i].start();
+		}
+		for (Thread thread: threads) {
+			thread.join();
+		}
+		assertEquals(0, wrong.get());
+		assertTrue(hits.get() > 0, "no probe ever found anything, so nothing was tested");
+	}
+
+	/**
+	 * Stores and probes random keys from a small pool. Every key's result is worked out from the key itself, so a
+	 * probe can tell whether what it got back really belongs to that key.
+	 */
+	private static class Hammer implements Runnable {
+		private TranspositionTable _table;
+		private GameRandom _random;
+		private AtomicLong _wrong;
+		private AtomicLong _hits;
+
+		public Hammer(TranspositionTable table, long seed, AtomicLong wrong, AtomicLong hits) {
+			_table = table;
+			_random = new GameRandom(seed);
+			_wrong = wrong;
+			_hits = hits;
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < OPERATIONS; i++) {
+				long key = GameRandom.mix(_random.nextInt(1 << 16));
+				if (_random.nextInt(2) == 0) {
+					_table.store(key, Hammer.valueFor(key), Hammer.depthFor(key), 0, TranspositionTable.EXACT);
+				} else {
+					long data = _table.probe(key);
+					if (data != TranspositionTable.MISSING) {
+						_hits.incrementAndGet();
+						if (TranspositionTable.value(data) != Hammer.valueFor(key)
+								|| TranspositionTable.depth(data) != Hammer.depthFor(key)) {
+							_wrong.incrementAndGet();
+						}
+					}
+				}
+			}
+		}
+
+		private static float valueFor(long key) {
+			return (key >>> 40) / (float) (1 << 24);
+		}
+
+		private static int depthFor(long key) {
+			return (int) (key & 0xFF);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package myindy.settlersOfCatan.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the GameSnapshotTest class! It snapshots games at all sorts of points, restores them, and checks that the
+ * restored game snapshots to exactly the same bytes and then plays on exactly like the original (same moves, same
+ * dice, same bytes at the end).
+ */
+public class GameSnapshotTest {
+
+	private static final int GAMES = 100;
+
+	@Test
+	public void roundTripIsByteIdentical() {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		for (int game = 0; game < GAMES; game++) {
+			GameEngine engine = new GameEngine(2 + game % 3, game);
+			Random random = new Random(game);
+			GameSnapshotTest.play(engine, random, moves, 30 + game * 5);
+			ByteBuffer first = GameSnapshotTest.snapshot(engine);
+			GameEngine restored = GameSnapshot.read(first.duplicate());
+			assertEquals(first, GameSnapshotTest.snapshot(restored), "game " + game + " restored differently");
+
+			long seed = random.nextLong();
+			GameSnapshotTest.play(engine, new Random(seed), moves, 100);
+			GameSnapshotTest.play(restored, new Random(seed), moves, 100);
+			assertEquals(GameSnapshotTest.snapshot(engine), GameSnapshotTest.snapshot(restored),
+					"game " + game + " played on differently");
+		}
+	}
+
+	private static void play(GameEngine engine, Random random, int[] moves, int count) {
+		for (int i = 0; i < count; i++) {
+			int legal = MoveGenerator.generate(engine.getState(), moves);
+			if (legal == 0) {
+				return;
+			}
+			Move.apply(engine, moves[random.nextInt(legal)]);
+		}
+	}
+
+	private static ByteBuffer snapshot(GameEngine engine) {
+		ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.SIZE);
+		GameSnapshot.write(engine, buffer);
+		buffer.flip();
+		return buffer;
+	}
+}
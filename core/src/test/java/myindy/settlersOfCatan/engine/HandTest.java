@@ -0,0 +1,55 @@
+package myindy.settlersOfCatan.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the HandTest class! It checks that adding cards stops at Hand.MAX_CARDS without spilling into the next
+ * resource, and that a game where nobody ever spends anything keeps every hand within the limit (and canAfford()
+ * honest) no matter how long it runs.
+ */
+public class HandTest {
+
+	@Test
+	public void addStopsAtMaxCards() {
+		long hand = Hand.of(Hand.MAX_CARDS - 1, 0, 5, Hand.MAX_CARDS, 7);
+		long sum = Hand.add(hand, Hand.of(3, 1, 2, Hand.MAX_CARDS, 0));
+		assertEquals(Hand.of(Hand.MAX_CARDS, 1, 7, Hand.MAX_CARDS, 7), sum);
+		assertEquals(Hand.of(1, 2, 3, 4, 5), Hand.add(Hand.of(1, 1, 1, 1, 1), Hand.of(0, 1, 2, 3, 4)));
+	}
+
+	@Test
+	public void handsStayWithinMaxCardsInAnEndlessGame() {
+		GameState state = new GameEngine(4, 3).getState();
+		Random random = new Random(3);
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		UndoStack undo = new UndoStack();
+		//Set the game up, then only ever roll, move the robber and pass
+		while (state.getPhase() != Phase.ROLL) {
+			state.make(RandomPlay.pick(state, moves, random), undo);
+		}
+		for (int turn = 0; turn < 10000 && state.getPhase() != Phase.GAME_OVER; turn++) {
+			state.roll(1 + random.nextInt(6), 1 + random.nextInt(6));
+			if (state.getPhase() == Phase.ROBBER) {
+				state.moveRobber(random.nextInt(Topology.NUM_TILES));
+			}
+			state.endTurn();
+		}
+		boolean full = false;
+		for (int player = 0; player < state.getNumPlayers(); player++) {
+			long hand = state.getPlayer(player).getHand();
+			for (Resource resource : Resource.values()) {
+				int count = Hand.count(hand, resource);
+				assertTrue(count <= Hand.MAX_CARDS, "player " + player + " has " + count + " " + resource);
+				full |= count == Hand.MAX_CARDS;
+			}
+			assertFalse(Hand.canAfford(hand, Hand.of(0, 0, 0, 0, Hand.MAX_CARDS + 1)));
+		}
+		assertTrue(full, "no hand ever reached the limit, so nothing was tested");
+	}
+}
@@ -0,0 +1,100 @@
+package myindy.settlersOfCatan.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the LongestRoadTest class! It checks the incremental longest road against the slowest possible way of
+ * finding it: trying every trail along the player's roads from every vertex. Pieces go down at random (roads only
+ * where they're legal, settlements anywhere that's open, so opponents' settlements land in the middle of roads a lot
+ * more often than they would in a real game), and after every single piece each player's length has to match.
+ */
+public class LongestRoadTest {
+
+	private static final int GAMES = 2000;
+	private static final int NUM_PLAYERS = 3;
+
+	@Test
+	public void matchesBruteForceAfterRandomPlacements() {
+		for (int game = 0; game < GAMES; game++) {
+			Random random = new Random(game);
+			Bitboard bits = new Bitboard(NUM_PLAYERS);
+			LongestRoad longest = new LongestRoad(NUM_PLAYERS);
+			for (int player = 0; player < NUM_PLAYERS; player++) {
+				for (int i = 0; i < 2; i++) {
+					this.placeSettlement(bits, longest, player, this.pick(random, bits.openVertices(), 0));
+				}
+			}
+			for (int step = 0; step < 80; step++) {
+				int player = random.nextInt(NUM_PLAYERS);
+				if (random.nextInt(5) == 0) {
+					if (bits.openVertices() != 0) {
+						this.placeSettlement(bits, longest, player, this.pick(random, bits.openVertices(), 0));
+					}
+				} else if (bits.countRoads(player) < GameState.MAX_ROADS
+						&& (bits.roadSpotsLo(player) | bits.roadSpotsHi(player)) != 0) {
+					int edge = this.pick(random, bits.roadSpotsLo(player), bits.roadSpotsHi(player));
+					bits.placeRoad(player, edge);
+					longest.roadPlaced(bits, player, edge);
+				}
+				for (int p = 0; p < NUM_PLAYERS; p++) {
+					assertEquals(LongestRoadTest.bruteForce(bits, p), longest.getLength(p),
+							"game " + game + ", step " + step + ", player " + p);
+				}
+			}
+		}
+	}
+
+	private void placeSettlement(Bitboard bits, LongestRoad longest, int player, int vertex) {
+		bits.placeSettlement(player, vertex);
+		longest.settlementPlaced(bits, player, vertex);
+	}
+
+	/**
+	 * A random set bit out of the two halves (the high half counts from 64, like the edges do).
+	 */
+	private int pick(Random random, long lo, long hi) {
+		int index = random.nextInt(Long.bitCount(lo) + Long.bitCount(hi));
+		for (int bit = 0; bit < 128; bit++) {
+			long word = bit < 64 ? lo : hi;
+			if ((word & (1L << (bit & 63))) != 0 && index-- == 0) {
+				return bit;
+			}
+		}
+		throw new IllegalStateException("No bits to pick from");
+	}
+
+	/**
+	 * The longest trail along the player's roads, tried from every vertex. A trail can start or end at an opponent's
+	 * structure but never passes through one.
+	 */
+	static int bruteForce(Bitboard bits, int player) {
+		long blocked = bits.getOccupied() & ~bits.getStructures(player);
+		boolean[] used = new boolean[Topology.NUM_EDGES];
+		int best = 0;
+		for (int vertex = 0; vertex < Topology.NUM_VERTICES; vertex++) {
+			best = Math.max(best, LongestRoadTest.walk(bits, player, blocked, used, vertex, true));
+		}
+		return best;
+	}
+
+	private static int walk(Bitboard bits, int player, long blocked, boolean[] used, int vertex, boolean start) {
+		if (!start && (blocked & (1L << vertex)) != 0) {
+			return 0;
+		}
+		int best = 0;
+		for (int i = Topology.vertexEdgeStart(vertex); i < Topology.vertexEdgeEnd(vertex); i++) {
+			int edge = Topology.vertexEdge(i);
+			if (!used[edge] && bits.hasRoad(player, edge)) {
+				used[edge] = true;
+				best = Math.max(best, 1 + LongestRoadTest.walk(bits, player, blocked, used,
+						Topology.otherVertex(edge, vertex), false));
+				used[edge] = false;
+			}
+		}
+		return best;
+	}
+}
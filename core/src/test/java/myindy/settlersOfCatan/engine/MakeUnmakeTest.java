@@ -0,0 +1,107 @@
+package myindy.settlersOfCatan.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the MakeUnmakeTest class! It plays long random lines with make() on one UndoStack, then takes every move
+ * back with unmake(), checking that each position comes back byte-for-byte the way it was (everything a GameSnapshot
+ * would save, which includes the Bitboard masks, the road lengths and the Production table).
+ */
+public class MakeUnmakeTest {
+
+	private static final int GAMES = 200;
+	private static final int MOVES_PER_GAME = 400;
+
+	@Test
+	public void unmakeRestoresEveryPosition() {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		for (int game = 0; game < GAMES; game++) {
+			Random random = new Random(game);
+			GameState state = new GameEngine(2 + game % 3, game).getState();
+			UndoStack undo = new UndoStack();
+			List<byte[]> before = new ArrayList<byte[]>();
+			for (int step = 0; step < MOVES_PER_GAME; step++) {
+				int move = RandomPlay.pick(state, moves, random);
+				if (move < 0) {
+					break;
+				}
+				before.add(RandomPlay.bytes(state));
+				state.make(move, undo);
+			}
+			for (int step = before.size() - 1; step >= 0; step--) {
+				state.unmake(undo);
+				assertArrayEquals(before.get(step), RandomPlay.bytes(state), "game " + game + ", step " + step);
+			}
+			assertTrue(undo.isEmpty(), "game " + game + " left something on the stack");
+		}
+	}
+
+	/**
+	 * The UndoStack's class comment says how many longs each kind of move takes, so this keeps it honest.
+	 */
+	@Test
+	public void movesPushWhatUndoStackSays() {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		for (int game = 0; game < 30; game++) {
+			int numPlayers = 2 + game % 3;
+			Random random = new Random(game);
+			GameState state = new GameEngine(numPlayers, game).getState();
+			UndoStack undo = new UndoStack();
+			for (int step = 0; step < 400 && state.getPhase() != Phase.GAME_OVER; step++) {
+				int move = RandomPlay.pick(state, moves, random);
+				int size = undo.size();
+				state.make(move, undo);
+				int expected = 2 * numPlayers + 4;
+				switch (Move.type(move)) {
+				case Move.BUILD_CITY:
+					expected += 1;
+					break;
+				case Move.SETUP_SETTLEMENT:
+				case Move.BUILD_SETTLEMENT:
+					expected += 2 * numPlayers + 9;
+					break;
+				case Move.SETUP_ROAD:
+				case Move.BUILD_ROAD:
+					expected += 2 * numPlayers + 11;
+					break;
+				}
+				assertEquals(expected, undo.size() - size, Move.toString(move) + " with " + numPlayers + " players");
+			}
+		}
+	}
+
+	@Test
+	public void illegalMoveChangesNothing() {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		Random random = new Random(1);
+		GameState state = new GameEngine(4, 1).getState();
+		UndoStack undo = new UndoStack();
+		for (int step = 0; step < 100; step++) {
+			state.make(RandomPlay.pick(state, moves, random), undo);
+		}
+		byte[] before = RandomPlay.bytes(state);
+		int size = undo.size();
+		//Whatever the phase is, one of these two can't be played in it
+		int[] illegal = {Move.of(Move.SETUP_SETTLEMENT, 0), Move.of(Move.BUILD_CITY, 0)};
+		int rejected = 0;
+		for (int move : illegal) {
+			try {
+				state.make(move, undo);
+				state.unmake(undo);
+			} catch (RuntimeException e) {
+				rejected++;
+				assertEquals(size, undo.size());
+				assertArrayEquals(before, RandomPlay.bytes(state));
+			}
+		}
+		assertTrue(rejected > 0, "both moves were legal");
+	}
+}
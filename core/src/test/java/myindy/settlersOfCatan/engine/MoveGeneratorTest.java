@@ -0,0 +1,92 @@
+package myindy.settlersOfCatan.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the MoveGeneratorTest class! It checks MoveGenerator against the slow way of finding legal moves: trying
+ * every move there is (every type with every vertex, edge or tile) with make() and keeping the ones that don't throw.
+ * The two lists have to match in every position along random games for 3 and 4 players.
+ */
+public class MoveGeneratorTest {
+
+	private static final int GAMES = 30;
+	private static final int MOVES_PER_GAME = 300;
+	private static final int[] VERTEX_TYPES = {Move.SETUP_SETTLEMENT, Move.PREGAME_RESOURCES, Move.BUILD_SETTLEMENT,
+			Move.BUILD_CITY};
+	private static final int[] EDGE_TYPES = {Move.SETUP_ROAD, Move.BUILD_ROAD};
+	private static final int[] PLAIN_TYPES = {Move.PLAY_KNIGHT, Move.BUY_DEV_CARD, Move.END_TURN};
+
+	@Test
+	public void matchesTryingEveryMove() {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int[] tried = new int[MoveGenerator.MAX_MOVES];
+		UndoStack undo = new UndoStack();
+		int positions = 0;
+		for (int game = 0; game < GAMES; game++) {
+			Random random = new Random(game);
+			GameState state = new GameEngine(3 + game % 2, game).getState();
+			for (int step = 0; step < MOVES_PER_GAME && state.getPhase() != Phase.GAME_OVER; step++) {
+				int count = MoveGenerator.generate(state, moves);
+				int[] generated = Arrays.copyOf(moves, count);
+				for (int i = 0; i < count; i++) {
+					//The generator's roll has no dice; the one tried below does
+					if (Move.type(generated[i]) == Move.ROLL) {
+						generated[i] = Move.roll(3, 4);
+					}
+				}
+				Arrays.sort(generated);
+				int legal = this.tryEveryMove(state, undo, tried);
+				assertArrayEquals(Arrays.copyOf(tried, legal), generated, "game " + game + ", step " + step);
+				positions++;
+				state.make(RandomPlay.pick(state, moves, random), undo);
+			}
+		}
+		assertTrue(positions > 5000, "only " + positions + " positions were checked");
+	}
+
+	/**
+	 * Fills "legal" with every move make() accepts in the state (in increasing order, since the types and arguments
+	 * are tried in order) and returns how many there are. Each one is taken back again straight away.
+	 */
+	private int tryEveryMove(GameState state, UndoStack undo, int[] legal) {
+		int count = 0;
+		for (int type = Move.SETUP_SETTLEMENT; type <= Move.END_TURN; type++) {
+			int arguments = 1;
+			if (this.contains(VERTEX_TYPES, type)) {
+				arguments = Topology.NUM_VERTICES;
+			} else if (this.contains(EDGE_TYPES, type)) {
+				arguments = Topology.NUM_EDGES;
+			} else if (type == Move.MOVE_ROBBER) {
+				arguments = Topology.NUM_TILES;
+			} else if (type != Move.ROLL && !this.contains(PLAIN_TYPES, type)) {
+				continue;
+			}
+			for (int argument = 0; argument < arguments; argument++) {
+				int move = type == Move.ROLL ? Move.roll(3, 4) : Move.of(type, argument);
+				try {
+					state.make(move, undo);
+				} catch (RuntimeException e) {
+					continue;
+				}
+				state.unmake(undo);
+				legal[count++] = move;
+			}
+		}
+		return count;
+	}
+
+	private boolean contains(int[] types, int type) {
+		for (int each : types) {
+			if (each == type) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,40 @@
+package myindy.settlersOfCatan.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * This is the RandomPlay class! It's what the engine tests use to get lots of different positions: it picks a random
+ * legal move (rolling random dice for a roll, since GameState.make() needs to be told how they came up), and it can
+ * write a GameState out as bytes so two states can be compared exactly.
+ */
+final class RandomPlay {
+
+	private RandomPlay() {
+	}
+
+	/**
+	 * A random legal move in the state, ready to hand to make(), or -1 if the game is over.
+	 */
+	static int pick(GameState state, int[] moves, Random random) {
+		int count = MoveGenerator.generate(state, moves);
+		if (count == 0) {
+			return -1;
+		}
+		int move = moves[random.nextInt(count)];
+		if (Move.type(move) == Move.ROLL) {
+			return Move.roll(1 + random.nextInt(6), 1 + random.nextInt(6));
+		}
+		return move;
+	}
+
+	/**
+	 * Everything in the GameState, laid out the way a GameSnapshot stores it.
+	 */
+	static byte[] bytes(GameState state) {
+		ByteBuffer out = ByteBuffer.allocate(GameState.SNAPSHOT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		state.writeTo(out);
+		return out.array();
+	}
+}
@@ -0,0 +1,53 @@
+package myindy.settlersOfCatan.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the ZobristTest class! The board part of a GameState's key is kept up to date piece by piece, so here it's
+ * checked against the key worked out from scratch (by restoring the position into a new GameState, which hashes the
+ * whole board again) after every make() and every unmake() along random games.
+ */
+public class ZobristTest {
+
+	private static final int GAMES = 200;
+	private static final int MOVES_PER_GAME = 400;
+
+	@Test
+	public void incrementalKeyMatchesFromScratch() {
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		for (int game = 0; game < GAMES; game++) {
+			Random random = new Random(game);
+			GameState state = new GameEngine(2 + game % 3, game).getState();
+			UndoStack undo = new UndoStack();
+			int made = 0;
+			for (; made < MOVES_PER_GAME; made++) {
+				int move = RandomPlay.pick(state, moves, random);
+				if (move < 0) {
+					break;
+				}
+				state.make(move, undo);
+				assertEquals(ZobristTest.fromScratch(state), state.getKey(), "game " + game + ", move " + made);
+			}
+			for (; made > 0; made--) {
+				state.unmake(undo);
+				assertEquals(ZobristTest.fromScratch(state), state.getKey(), "game " + game + ", unmake " + made);
+			}
+		}
+	}
+
+	@Test
+	public void differentBoardsGetDifferentKeys() {
+		assertEquals(false, new GameEngine(4, 1).getState().getKey() == new GameEngine(4, 2).getState().getKey());
+	}
+
+	private static long fromScratch(GameState state) {
+		ByteBuffer in = ByteBuffer.wrap(RandomPlay.bytes(state)).order(ByteOrder.LITTLE_ENDIAN);
+		return GameState.readFrom(in).getKey();
+	}
+}
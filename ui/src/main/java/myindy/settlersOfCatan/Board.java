@@ -0,0 +1,541 @@
+package myindy.settlersOfCatan;
+
+import javafx.event.EventHandler;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import myindy.settlersOfCatan.engine.Bitboard;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Phase;
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * This is the Board class! It is the graphical side of the board: it builds all of the tiles, structures, and roads
+ * onto the game pane, and it shows the players where they're allowed to build. All of the actual rules (where pieces
+ * can go, who gets resources, longest road, the set-up rotations) now live in the GameState inside the GameEngine, so
+ * this class asks the engine what is legal, highlights those pieces, and tells the engine when a player clicks one.
+ * The set-up rotations still don't follow typical gameplay (i.e. players can't choose when to end their turn; they just
+ * place a structure, then it goes to the next player), so this class keeps walking the players through set-up until
+ * the engine says gameplay has started. The Board is also the only thing listening to the mouse on the game pane: it
+ * uses a BoardPicker to work out which structure, road, or tile is under the mouse and passes the event along.
+ *
+ * There are two ways to draw the board. By default every ocean hex, tile, number token, and robber is its own
+ * ImageView. Running with -Dcatan.renderer=canvas instead paints everything that never changes (the ocean, the tiles,
+ * and the number tokens) once onto a single Canvas, and only the pieces, the highlights, and one shared robber stay in
+ * the scene graph, so JavaFX only ever has to repaint the little regions around those when they change.
+ */
+public class Board {
+
+	public static final boolean CANVAS_RENDERER = "canvas".equals(System.getProperty("catan.renderer"));
+
+	private Game _game;
+	private GameEngine _engine;
+	private GameState _state;
+	private Tile[] _tiles;
+	private Structure[] _vertexStructures;
+	private Road[] _roads;
+	private Player _currPlayer;
+	private BoardPicker _picker;
+	private RealEstate _hovered;
+	private GraphicsContext _staticLayer;
+	private ImageView _robber;
+
+	/**
+	 * This is the constructor for the Board! It takes parameter Game so it can set up the association between the
+	 * Board and the Game, and the GameEngine that holds the rules. First, the constructor sets up all the graphics of
+	 * the board (the background, the actual board, all the structures, then all the roads). Then it gets the board
+	 * ready for the first player to place a settlement.
+	 */
+	public Board(Game game, GameEngine engine) {
+		_game = game;
+		_engine = engine;
+		_state = engine.getState();
+		if (CANVAS_RENDERER) {
+			Canvas canvas = new Canvas(Constants.GAME_PANE_WIDTH, Constants.SCENE_HEIGHT);
+			canvas.setMouseTransparent(true);
+			this.getGamePane().getChildren().add(canvas);
+			_staticLayer = canvas.getGraphicsContext2D();
+		}
+		this.makeBackground();
+		this.makeBoard();
+		this.makeStructures();
+		this.makeRoads();
+		PickHandler pickHandler = new PickHandler();
+		this.getGamePane().addEventHandler(MouseEvent.MOUSE_MOVED, pickHandler);
+		this.getGamePane().addEventHandler(MouseEvent.MOUSE_EXITED, pickHandler);
+		this.getGamePane().addEventHandler(MouseEvent.MOUSE_CLICKED, pickHandler);
+		this.setUpTurns();
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                          **THESE METHODS ARE ONLY USED IN THE INITIALIZATION OF THE GAMEBOARD**                   //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Since the background consists of hexagonal Ocean tiles, I had to specifically place each tile rather than
+	 * set that image to repeat for the background. Also, I wanted these hexagons to fit into the board hexagons.
+	 * Therefore, this method uses for-loops by "row" and "column" to place the ocean tiles. Since each row is
+	 * offset by a specific "TILE_X_INCREMENT", the first x-value of the row alternates, always storing the
+	 * "firstX" and "nextFirstX".
+	 */
+	private void makeBackground() {
+		double firstX = Constants.FIRST_BACKGROUND_TILE_X;
+		double nextFirstX = firstX - Constants.TILE_X_INCREMENT;
+		double firstY = Constants.FIRST_BACKGROUND_TILE_Y;
+		for (int row = 0; row < 9; row++) {
+			for (int col = 0; col < 7; col++) {
+				Tile tile = new Tile(null, -1, this);
+				tile.setLoc(firstX + col*Constants.TILE_X_INCREMENT*2, firstY);
+			}
+			//The intermediate is just needed to swap "firstX" and "nextFirstX"
+			double intermediate = firstX;
+			firstX = nextFirstX;
+			nextFirstX = intermediate;
+			firstY += Constants.TILE_Y_INCREMENT;
+		}
+	}
+
+	/**
+	 * This method graphically builds the board. The engine has already randomized which resource and which number
+	 * goes on each tile, so we just go through the tiles in Topology order, find their row and column in the 5x5 board,
+	 * and put the matching graphic there. Due to the unique shape of the board, each time we move down a row, the
+	 * first x-value shifts left by TILE_X_INCREMENT as the first y-value moves down. When the board is drawn on a
+	 * canvas, the tiles don't have robbers of their own, so the one robber is made here (on top of all the tiles).
+	 */
+	private void makeBoard() {
+		_tiles = new Tile[Topology.NUM_TILES];
+		if (_staticLayer != null) {
+			_robber = new ImageView(ImageCache.get("Robber.png"));
+			_robber.setPreserveRatio(true);
+			_robber.setFitHeight(60);
+			_robber.setMouseTransparent(true);
+			_robber.setVisible(false);
+		}
+		for (int index = 0; index < Topology.NUM_TILES; index++) {
+			int row = Topology.tileRow(index);
+			int col = Topology.tileCol(index);
+			Tile tile = new Tile(_state.getTileResource(index), index, this);
+			tile.setLoc(Constants.FIRST_TILE_X + col*Constants.TILE_X_INCREMENT*2 - row*Constants.TILE_X_INCREMENT,
+					Constants.FIRST_TILE_Y + row*Constants.TILE_Y_INCREMENT);
+			if (_state.getTileNumber(index) != 0) {
+				//setDiceRoll() adds the number token graphic to the tile
+				tile.setDiceRoll(_state.getTileNumber(index));
+			}
+			tile.showRobber(index == _state.getRobberTile());
+			_tiles[index] = tile;
+		}
+		if (_robber != null) {
+			this.getGamePane().getChildren().add(_robber);
+		}
+	}
+
+	/**
+	 * This method creates all the structure locations, indexed by their Topology vertex. This uses a similar logic as
+	 * I did in makeBoard(), but it is a bit more complex since the rows of structures aren't spaced out equally
+	 * (hexagons are annoying sometimes). Every other row is shifted left by a "TILE_X_INCREMENT" and sits a smaller
+	 * step below the row before it, and the rows in between sit a larger step down. Entries of the 12x6 array that
+	 * are off the island (Topology gives them -1) are just skipped, so no place-holder structures are needed. The
+	 * locations are also handed to the BoardPicker, since every road and tile can be found from them.
+	 */
+	private void makeStructures() {
+		_vertexStructures = new Structure[Topology.NUM_VERTICES];
+		double[] vertexX = new double[Topology.NUM_VERTICES];
+		double[] vertexY = new double[Topology.NUM_VERTICES];
+		double x = Constants.FIRST_STRUCTURE_X;
+		double y = Constants.FIRST_STRUCTURE_Y;
+		for (int row = 0; row < Topology.STRUCTURE_ROWS; row++) {
+			for (int col = 0; col < Topology.STRUCTURE_COLS; col ++) {
+				int vertex = Topology.vertexAt(row, col);
+				if (vertex != -1) {
+					vertexX[vertex] = x + col*Constants.TILE_X_INCREMENT*2;
+					vertexY[vertex] = y;
+					_vertexStructures[vertex] = new Structure(vertex, vertexX[vertex], y, this);
+				}
+			}
+			if (row % 2 == 0) {
+				x += -Constants.TILE_X_INCREMENT;
+				y += Constants.STRUCTURE_SMALLER_Y_INCREMENT;
+			} else {
+				y += Constants.STRUCTURE_LARGER_Y_INCREMENT;
+			}
+		}
+		_picker = new BoardPicker(vertexX, vertexY, Constants.GAME_PANE_WIDTH, Constants.SCENE_HEIGHT);
+	}
+
+	/**
+	 * This method creates all of the roads on the board. Topology already knows which two structures every road
+	 * connects, so the roads no longer have to be wired to their structures one edge case at a time: each road is
+	 * just drawn from its upper structure at the angle Topology gives it (see more about this in the Road class).
+	 */
+	private void makeRoads() {
+		_roads = new Road[Topology.NUM_EDGES];
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			Structure upper = _vertexStructures[Topology.edgeVertex(edge, 0)];
+			_roads[edge] = new Road(edge, Topology.edgeOrientation(edge), upper.getImage().getLayoutX(),
+					upper.getImage().getLayoutY(), this);
+		}
+	}
+
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                               **THESE METHODS ARE ONLY USED DURING SET-UP PLACEMENTS**                            //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+
+	/**
+	 * This method is used only during set-up, and it allows the current player to purchase a settlement at any open
+	 * location on the board. The engine knows which locations are still open (nobody built there or one road away).
+	 */
+	private void purchaseAnySettlement(Player player) {
+		_game.changeInstructions(player.getName() + ":  Place a Structure");
+		this.readyStructures(player, _state.getBitboard().openVertices());
+	}
+
+	/**
+	 * Since the turn rotation during set-up only has each player place one item, the Game class doesn't need to
+	 * worry about it! Instead, the Board class walks the players through set-up. The engine decides whose turn it is
+	 * and which part of set-up we're in (settlements, then roads, then choosing initial resources), so whenever an
+	 * item is placed before gameplay, this method just asks the engine what's next and shows it. Once the engine says
+	 * set-up is over, the Game starts gameplay. A computer player places its own set-up pieces, and the Game comes
+	 * back here once it has.
+	 */
+	public void setUpTurns() {
+		_currPlayer = _game.getPlayer(_state.getCurrentPlayer());
+		if (_currPlayer.isComputer() && _state.getPhase() != Phase.ROLL) {
+			_game.playComputerMove();
+			return;
+		}
+		switch (_state.getPhase()) {
+		case SETUP_SETTLEMENT:
+			this.purchaseAnySettlement(_currPlayer);
+			break;
+		case SETUP_ROAD:
+			this.purchaseRoad(_currPlayer);
+			break;
+		case SETUP_RESOURCES:
+			for (Structure structure: _vertexStructures) {
+				if (structure.getOwner() == _currPlayer) {
+					structure.readyForSelection();
+				}
+			}
+			_game.changeInstructions(_currPlayer.getName() + ": Choose One Settlement from which to receive"
+					+ " initial resources");
+			break;
+		default:
+			_game.startGameplay();
+			break;
+		}
+	}
+
+	/**
+	 * This is called when a player clicks one of their settlements while choosing initial resources. The engine
+	 * hands out the cards, and then we move on to the next player.
+	 */
+	public void resourcesChosen(Structure structure) {
+		_engine.choosePregameResources(structure.getVertex());
+		for (Structure otherStructure: _vertexStructures) {
+			otherStructure.cannotBuy();
+		}
+		_game.updatePlayers();
+		this.setUpTurns();
+	}
+
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                    **THESE METHODS ARE USED TO FACILITATE PURCHASING REAL ESTATE DURING GAMEPLAY**                //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Each time a player wants to place a road, we set every road the engine says is legal as ready for purchase.
+	 */
+	public void purchaseRoad(Player player) {
+		_game.changeInstructions(player.getName() + ": Place a Road");
+		Bitboard bits = _state.getBitboard();
+		this.readyRoads(player, bits.roadSpotsLo(player.getSeat()), 0);
+		this.readyRoads(player, bits.roadSpotsHi(player.getSeat()), 64);
+	}
+
+	/**
+	 * Each time a player wants to purchase a settlement (not during set-up), we set every location the engine says
+	 * is legal as ready for purchase.
+	 */
+	public void purchaseSettlement(Player player) {
+		_game.changeInstructions(player.getName() + ":  Place a Structure");
+		this.readyStructures(player, _state.getBitboard().settlementSpots(player.getSeat()));
+	}
+
+	/**
+	 * It's a lot easier to buy a city! Just find all of that player's settlements and set them as ready for
+	 * purchase!
+	 */
+	public void purchaseCity(Player player) {
+		_game.changeInstructions(player.getName() + ": Place a City");
+		this.readyStructures(player, _state.getBitboard().citySpots(player.getSeat()));
+	}
+
+	/**
+	 * The engine keeps every player's legal locations as bit masks, so instead of asking about all 54 locations we
+	 * just walk the set bits (bit v is vertex v) and ready those structures.
+	 */
+	private void readyStructures(Player player, long vertices) {
+		while (vertices != 0) {
+			_vertexStructures[Long.numberOfTrailingZeros(vertices)].readyForPurchase(player);
+			vertices &= vertices - 1;
+		}
+	}
+
+	/**
+	 * Same idea for roads, except the 72 edges are split over two masks, so "offset" says which edge bit 0 is.
+	 */
+	private void readyRoads(Player player, long edges, int offset) {
+		while (edges != 0) {
+			_roads[offset + Long.numberOfTrailingZeros(edges)].readyForPurchase(player);
+			edges &= edges - 1;
+		}
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                        **THESE METHODS ARE USED AFTER A PIECE OF REAL ESTATE HAS BEEN PLACED**                    //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * This method is called every time any real estate has been placed on the board. It tells the engine what was
+	 * placed (the engine takes care of resources, points and longest road), and then resets the highlights on the
+	 * board. If it's not actually during gameplay yet (i.e. during setup), it moves on to the next set-up placement.
+	 * Otherwise it goes back to the player's turn. If that purchase won the game, the Game has already been told by
+	 * the engine, so we don't turn the buttons back on.
+	 */
+	public void purchased(Player player, RealEstate bought) {
+		Phase phase = _state.getPhase();
+		if (bought instanceof Road) {
+			Road road = (Road) bought;
+			if (phase == Phase.SETUP_ROAD) {
+				_engine.placeSetupRoad(road.getEdge());
+			} else {
+				_engine.buildRoad(road.getEdge());
+			}
+			this.hideEmptyRoads();
+		} else {
+			Structure structure = (Structure) bought;
+			if (phase == Phase.SETUP_SETTLEMENT) {
+				_engine.placeSetupSettlement(structure.getVertex());
+			} else if (bought.getStatus() == 1) {
+				_engine.buildSettlement(structure.getVertex());
+			} else {
+				_engine.buildCity(structure.getVertex());
+			}
+			this.hideEmptyStructures();
+			for (Structure otherStructure: _vertexStructures) {
+				otherStructure.cannotBuy();
+			}
+		}
+		_game.updatePlayers();
+		if (phase == Phase.SETUP_SETTLEMENT || phase == Phase.SETUP_ROAD) {
+			this.setUpTurns();
+		} else if (_state.getPhase() != Phase.GAME_OVER) {
+			_game.changeInstructions(player.getName() + "'s Turn");
+			_game.toggleButtons();
+		}
+	}
+
+	/**
+	 * Now that the roads are all in one array, we can just go through it and hide every road that nobody owns (and
+	 * make sure it can't be clicked anymore).
+	 */
+	private void hideEmptyRoads() {
+		for (Road road: _roads) {
+			if (road.getOwner() == null) {
+				road.getImage().setVisible(false);
+				road.cannotBuy();
+			}
+		}
+	}
+
+	/**
+	 * This method uses a for-loop to go through all the structures on the board and hide any locations that haven't
+	 * been purchased yet. It's called any time a settlement or city is placed.
+	 */
+	private void hideEmptyStructures() {
+		for (Structure structure: _vertexStructures) {
+			if (structure.getOwner() == null) {
+				structure.getImage().setVisible(false);
+			}
+		}
+	}
+
+	/**
+	 * This method is called anytime a player gets to move the robber. It takes Boolean parameter to indicate
+	 * whether the player is using a knight card (versus if a 7 was rolled), so it can tell the engine a knight is
+	 * being played. Then every tile is made ready to accept the robber. The robber is removed from its tile before it
+	 * is replaced on the board.
+	 */
+	public void placeRobber(Player player, Boolean usingKnightCard) {
+		_currPlayer = player;
+		if (usingKnightCard) {
+			_engine.playKnight();
+		}
+		for (Tile tile: _tiles) {
+			tile.canPlaceRobber();
+			tile.showRobber(false);
+		}
+	}
+
+	/**
+	 * This method is called immediately after the robber was placed on a tile. First it sets all the tiles on the
+	 * board so that they aren't accepting mouse interaction to take the robber. Then it tells the engine where the
+	 * robber went; if a knight card was used, the engine counts it and works out largest army (and whether that won
+	 * the game).
+	 */
+	public void robberPlaced(Tile placed) {
+		for (Tile tile: _tiles) {
+			tile.cannotPlaceRobber();
+		}
+		_engine.moveRobber(placed.getIndex());
+		placed.showRobber(true);
+		_game.updatePlayers();
+		if (_state.getPhase() != Phase.GAME_OVER) {
+			_game.changeInstructions(_currPlayer.getName() + "'s Turn");
+			_game.toggleButtons();
+		}
+	}
+
+	/**
+	 * The computer doesn't click on anything, so after each of its moves this method makes the board match the
+	 * engine: every settlement, city, and road the engine has that isn't showing yet gets placed, and the robber goes
+	 * wherever the engine says it is.
+	 */
+	public void showComputerMove() {
+		for (Structure structure: _vertexStructures) {
+			int level = _state.getVertexLevel(structure.getVertex());
+			if (level > structure.getStatus()) {
+				structure.placed(_game.getPlayer(_state.getVertexOwner(structure.getVertex())), level);
+			}
+		}
+		for (Road road: _roads) {
+			int owner = _state.getEdgeOwner(road.getEdge());
+			if (owner != GameState.NO_PLAYER && road.getOwner() == null) {
+				road.placed(_game.getPlayer(owner), 1);
+			}
+		}
+		//Hiding the old robber first, since with the canvas renderer all the tiles share one
+		for (Tile tile: _tiles) {
+			if (tile.getIndex() != _state.getRobberTile()) {
+				tile.showRobber(false);
+			}
+		}
+		_tiles[_state.getRobberTile()].showRobber(true);
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                           **THESE ARE ACCESSOR METHODS**                                          //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * The RealEstate classes need access to the gamePane since they have a lot of graphical changes going on, but
+	 * they don't need access to the Game as a whole, so this accessor method is the middleman.
+	 */
+	public Pane getGamePane() {
+		return _game.getGamePane();
+	}
+
+	/**
+	 * When the board is drawn on a canvas, the Tiles paint themselves onto this instead of making ImageViews. It's
+	 * null when every tile is its own node.
+	 */
+	public GraphicsContext getStaticLayer() {
+		return _staticLayer;
+	}
+
+	/**
+	 * With the canvas renderer, there is only one robber, so the Tiles move it around (or hide it) through these.
+	 */
+	public void showRobberAt(double x, double y) {
+		_robber.setLayoutX(x);
+		_robber.setLayoutY(y);
+		_robber.setVisible(true);
+	}
+
+	public void hideRobber() {
+		_robber.setVisible(false);
+	}
+
+	/**
+	 * The RealEstate classes need to know if the players are choosing their initial resources so that they know what
+	 * their response to mouse interactino should be!
+	 */
+	public Boolean choosingPregameResources() {
+		return _state.getPhase() == Phase.SETUP_RESOURCES;
+	}
+
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//                                                                                                                   //
+//                                 **THESE METHODS DEAL WITH THE MOUSE ON THE GAME PANE**                            //
+//                                                                                                                   //
+///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Returns the structure or road under the mouse, or null. Only pieces that are showing count (a hidden structure
+	 * shouldn't get in the way of the road next to it), and structures win over roads since they're drawn on top.
+	 */
+	private RealEstate realEstateAt(double x, double y) {
+		int vertex = _picker.vertexAt(x, y);
+		if (vertex != -1 && _vertexStructures[vertex].getImage().isVisible()) {
+			return _vertexStructures[vertex];
+		}
+		int edge = _picker.edgeAt(x, y);
+		if (edge != -1 && _roads[edge].getImage().isVisible()) {
+			return _roads[edge];
+		}
+		return null;
+	}
+
+	/**
+	 * This is the one EventHandler for the whole board. As the mouse moves, it keeps track of which piece of real
+	 * estate it's hovering over, telling the old piece the mouse left and the new piece the mouse arrived. A click goes
+	 * to the piece under the mouse, or if there isn't one, to the tile underneath. Anything else on the game pane
+	 * that listens to the mouse itself (like the notification pane) is the event's target instead of the pane, so
+	 * those events are treated as the mouse being off the board.
+	 */
+	private class PickHandler implements EventHandler<MouseEvent> {
+		@Override
+		public void handle(MouseEvent e) {
+			RealEstate picked = null;
+			boolean onBoard = e.getTarget() == Board.this.getGamePane() && e.getEventType() != MouseEvent.MOUSE_EXITED;
+			if (onBoard) {
+				picked = Board.this.realEstateAt(e.getX(), e.getY());
+			}
+			if (picked != _hovered) {
+				if (_hovered != null) {
+					_hovered.mouseExited();
+				}
+				_hovered = picked;
+				if (picked != null) {
+					picked.mouseEntered();
+				}
+			}
+			if (onBoard && e.getEventType() == MouseEvent.MOUSE_CLICKED) {
+				if (picked != null) {
+					picked.mouseClicked();
+				} else {
+					int tile = _picker.tileAt(e.getX(), e.getY());
+					if (tile != -1) {
+						_tiles[tile].clicked();
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package myindy.settlersOfCatan;
+
+import myindy.settlersOfCatan.engine.Topology;
+
+/**
+ * This is the BoardPicker class! Instead of every tile, token, structure and road listening to the mouse on its own,
+ * the Board listens on the whole game pane and asks this class which vertex, edge, or tile is under the mouse. All of
+ * the geometry comes from the structure locations the Board already worked out (roads run between two structures,
+ * and a tile's center is the average of its six corners).
+ *
+ * To keep each lookup O(1), the pane is cut into a grid of square cells, and every cell remembers which vertices,
+ * edges, and tiles are close enough to it to possibly be under the mouse. A lookup then only measures the distance to
+ * the handful of pieces listed in the mouse's cell. Each list is stored the same way Topology stores its adjacency
+ * (one flat array of items plus where each cell's items start).
+ */
+public class BoardPicker {
+
+	public static final double CELL_SIZE = Constants.TILE_SCALAR / 2; //UNITS: Pixels
+	public static final double VERTEX_RADIUS = 14; //UNITS: Pixels
+	public static final double EDGE_RADIUS = Constants.ROAD_WIDTH + 2; //UNITS: Pixels
+	public static final double TILE_RADIUS = Constants.TILE_SCALAR; //UNITS: Pixels
+
+	private int _cols;
+	private int _rows;
+	private double[] _vertexX;
+	private double[] _vertexY;
+	private double[] _tileX;
+	private double[] _tileY;
+	private int[] _vertexStart;
+	private int[] _vertices;
+	private int[] _edgeStart;
+	private int[] _edges;
+	private int[] _tileStart;
+	private int[] _tiles;
+
+	/**
+	 * The constructor takes the pixel location of every vertex (indexed like Topology), works out where the tile
+	 * centers are, and then fills in the grid for each kind of piece.
+	 */
+	public BoardPicker(double[] vertexX, double[] vertexY, double width, double height) {
+		_vertexX = vertexX;
+		_vertexY = vertexY;
+		_cols = (int) Math.ceil(width / CELL_SIZE);
+		_rows = (int) Math.ceil(height / CELL_SIZE);
+		_tileX = new double[Topology.NUM_TILES];
+		_tileY = new double[Topology.NUM_TILES];
+		for (int tile = 0; tile < Topology.NUM_TILES; tile++) {
+			for (int corner = 0; corner < Topology.TILE_CORNERS; corner++) {
+				_tileX[tile] += vertexX[Topology.tileVertex(tile, corner)] / Topology.TILE_CORNERS;
+				_tileY[tile] += vertexY[Topology.tileVertex(tile, corner)] / Topology.TILE_CORNERS;
+			}
+		}
+
+		double[] minX = new double[Topology.NUM_EDGES];
+		double[] minY = new double[Topology.NUM_EDGES];
+		double[] maxX = new double[Topology.NUM_EDGES];
+		double[] maxY = new double[Topology.NUM_EDGES];
+		for (int edge = 0; edge < Topology.NUM_EDGES; edge++) {
+			int a = Topology.edgeVertex(edge, 0);
+			int b = Topology.edgeVertex(edge, 1);
+			minX[edge] = Math.min(vertexX[a], vertexX[b]) - EDGE_RADIUS;
+			minY[edge] = Math.min(vertexY[a], vertexY[b]) - EDGE_RADIUS;
+			maxX[edge] = Math.max(vertexX[a], vertexX[b]) + EDGE_RADIUS;
+			maxY[edge] = Math.max(vertexY[a], vertexY[b]) + EDGE_RADIUS;
+		}
+		_edgeStart = new int[_cols * _rows + 1];
+		_edges = this.fillCells(minX, minY, maxX, maxY, _edgeStart);
+		_vertexStart = new int[_cols * _rows + 1];
+		_vertices = this.fillCells(this.shift(vertexX, -VERTEX_RADIUS), this.shift(vertexY, -VERTEX_RADIUS),
+				this.shift(vertexX, VERTEX_RADIUS), this.shift(vertexY, VERTEX_RADIUS), _vertexStart);
+		_tileStart = new int[_cols * _rows + 1];
+		_tiles = this.fillCells(this.shift(_tileX, -TILE_RADIUS), this.shift(_tileY, -TILE_RADIUS),
+				this.shift(_tileX, TILE_RADIUS), this.shift(_tileY, TILE_RADIUS), _tileStart);
+	}
+
+	private double[] shift(double[] values, double amount) {
+		double[] shifted = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			shifted[i] = values[i] + amount;
+		}
+		return shifted;
+	}
+
+	/**
+	 * Every item i covers the box (minX[i], minY[i]) to (maxX[i], maxY[i]). Just like Topology's tables, we first
+	 * count how many items land in each cell to find where each cell's list starts, then fill the lists in.
+	 */
+	private int[] fillCells(double[] minX, double[] minY, double[] maxX, double[] maxY, int[] start) {
+		for (int item = 0; item < minX.length; item++) {
+			for (int row = this.row(minY[item]); row <= this.row(maxY[item]); row++) {
+				for (int col = this.col(minX[item]); col <= this.col(maxX[item]); col++) {
+					start[row*_cols + col + 1]++;
+				}
+			}
+		}
+		for (int cell = 0; cell < _cols * _rows; cell++) {
+			start[cell + 1] += start[cell];
+		}
+		int[] next = start.clone();
+		int[] items = new int[start[_cols * _rows]];
+		for (int item = 0; item < minX.length; item++) {
+			for (int row = this.row(minY[item]); row <= this.row(maxY[item]); row++) {
+				for (int col = this.col(minX[item]); col <= this.col(maxX[item]); col++) {
+					items[next[row*_cols + col]++] = item;
+				}
+			}
+		}
+		return items;
+	}
+
+	private int col(double x) {
+		return Math.max(0, Math.min(_cols - 1, (int) Math.floor(x / CELL_SIZE)));
+	}
+
+	private int row(double y) {
+		return Math.max(0, Math.min(_rows - 1, (int) Math.floor(y / CELL_SIZE)));
+	}
+
+	private int cell(double x, double y) {
+		return this.row(y)*_cols + this.col(x);
+	}
+
+	/**
+	 * Returns the vertex within VERTEX_RADIUS of the point (the closest one, if somehow there are two), or -1.
+	 */
+	public int vertexAt(double x, double y) {
+		int cell = this.cell(x, y);
+		int best = -1;
+		double bestDistance = VERTEX_RADIUS * VERTEX_RADIUS;
+		for (int i = _vertexStart[cell]; i < _vertexStart[cell + 1]; i++) {
+			int vertex = _vertices[i];
+			double dx = x - _vertexX[vertex];
+			double dy = y - _vertexY[vertex];
+			if (dx*dx + dy*dy <= bestDistance) {
+				bestDistance = dx*dx + dy*dy;
+				best = vertex;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the edge whose road is within EDGE_RADIUS of the point, or -1. Only the part of the edge that the road
+	 * rectangle actually covers counts (the road starts ROAD_X_OFFSET away from each structure), so the ends of the
+	 * edge are left for vertexAt().
+	 */
+	public int edgeAt(double x, double y) {
+		int cell = this.cell(x, y);
+		int best = -1;
+		double bestDistance = EDGE_RADIUS * EDGE_RADIUS;
+		for (int i = _edgeStart[cell]; i < _edgeStart[cell + 1]; i++) {
+			int edge = _edges[i];
+			int a = Topology.edgeVertex(edge, 0);
+			int b = Topology.edgeVertex(edge, 1);
+			double ex = _vertexX[b] - _vertexX[a];
+			double ey = _vertexY[b] - _vertexY[a];
+			double length = Math.sqrt(ex*ex + ey*ey);
+			//How far along the edge the point is, kept to the part covered by the road
+			double along = ((x - _vertexX[a])*ex + (y - _vertexY[a])*ey) / length;
+			along = Math.max(Constants.ROAD_X_OFFSET, Math.min(length - Constants.ROAD_X_OFFSET, along));
+			double dx = x - (_vertexX[a] + ex*along/length);
+			double dy = y - (_vertexY[a] + ey*along/length);
+			if (dx*dx + dy*dy <= bestDistance) {
+				bestDistance = dx*dx + dy*dy;
+				best = edge;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the land tile under the point, or -1 out in the ocean. The hexagons tile the board, so the tile under
+	 * the point is the one with the closest center, as long as the point is actually inside that hexagon (otherwise
+	 * it's in the ocean just past the edge of the island).
+	 */
+	public int tileAt(double x, double y) {
+		int cell = this.cell(x, y);
+		int best = -1;
+		double bestDistance = TILE_RADIUS * TILE_RADIUS;
+		for (int i = _tileStart[cell]; i < _tileStart[cell + 1]; i++) {
+			int tile = _tiles[i];
+			double dx = x - _tileX[tile];
+			double dy = y - _tileY[tile];
+			if (dx*dx + dy*dy <= bestDistance) {
+				bestDistance = dx*dx + dy*dy;
+				best = tile;
+			}
+		}
+		if (best != -1 && !this.insideHex(x - _tileX[best], y - _tileY[best])) {
+			return -1;
+		}
+		return best;
+	}
+
+	/**
+	 * A point is inside a pointy-topped hexagon if it is no further than TILE_X_INCREMENT (the distance from the
+	 * center to a side) from the center along each of the three directions the sides face.
+	 */
+	private boolean insideHex(double dx, double dy) {
+		double slanted = dy * Math.sqrt(3)/2;
+		return Math.abs(dx) <= Constants.TILE_X_INCREMENT
+				&& Math.abs(dx/2 + slanted) <= Constants.TILE_X_INCREMENT
+				&& Math.abs(-dx/2 + slanted) <= Constants.TILE_X_INCREMENT;
+	}
+}
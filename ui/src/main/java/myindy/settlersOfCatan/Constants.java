@@ -13,13 +13,10 @@ public class Constants {
 	public static final int GAME_PANE_WIDTH = 750; //UNITS: Pixels
 	
 	public static final int TILE_SCALAR = 70; //UNITS: Pixels
-	public static final int[][] EMPTY_TILE_LOCS = {{0,3},{0,4},{1,4},{3,0},{4,0},{4,1}}; //Array Coordinates
 	public static final double FIRST_TILE_Y = 120; //UNIT: Pixels
 	public static final double FIRST_TILE_X = 205; //UNIT: Pixels
 	public static final double TILE_X_INCREMENT = TILE_SCALAR * Math.sqrt(3)/2; //UNIT: Pixels
 	public static final double TILE_Y_INCREMENT = TILE_SCALAR * 3/2; //UNIT: Pixels
-	public static final int[][] EMPTY_STRUCTURE_LOCS = {{0,3},{0,4},{0,5},{1,4},{1,5},{2,4},{2,5},{3,5},{4,5},
-			{7,0},{8,0},{9,0},{9,1},{10,0},{10,1},{11,0},{11,1},{11,2}}; //Array Coordinates
 	public static final double FIRST_STRUCTURE_Y = FIRST_TILE_Y - TILE_SCALAR * 1/2; //UNIT: Pixels
 	public static final double FIRST_STRUCTURE_X = FIRST_TILE_X + TILE_X_INCREMENT; //UNIT: Pixels
 	public static final double STRUCTURE_SMALLER_Y_INCREMENT = TILE_SCALAR * 1/2; //UNIT: Pixels
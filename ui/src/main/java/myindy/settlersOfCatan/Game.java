@@ -1,19 +1,13 @@
 package myindy.settlersOfCatan;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Stack;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundImage;
@@ -27,28 +21,42 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
+import myindy.settlersOfCatan.bot.MctsBot;
+import myindy.settlersOfCatan.engine.DevCard;
+import myindy.settlersOfCatan.engine.GameEngine;
+import myindy.settlersOfCatan.engine.GameListener;
+import myindy.settlersOfCatan.engine.GameState;
+import myindy.settlersOfCatan.engine.Move;
+import myindy.settlersOfCatan.engine.Phase;
 
 /**
- * This is the Game class! This class contains all the logic for how to facilitate the actual gameplay: mainly
- * rotating through the players and giving the players options of what actions to take. At the initialization of the
- * game, we set up organization of the whole screen, creating the board and the main aspects of the SettingsPane. Once
- * gameplay actually begins, the SettingsPane is completed with the action buttons, and this class manages rotation
- * between each player's turn. The action buttons are toggled (enabled/disabled) based on what actions the player
- * is actually able to take, and when they choose to roll the dice, this class makes sure resources are distributed
- * to players as necessary based on the randomly-generated dice roll. Much of this class deals with calling other
- * classes (namely the board and the players) and telling them how to respond to the gameplay OR it deals with
- * responding after other classes (namely the board and the players) tell it that an action has been taken.
+ * This is the Game class! This class facilitates the actual gameplay on screen: mainly showing whose turn it is and
+ * giving the players options of what actions to take. At the initialization of the game, we create the GameEngine
+ * (which holds all the rules and the state of the game) and set up organization of the whole screen, creating the
+ * board and the main aspects of the SettingsPane. Once gameplay actually begins, the SettingsPane is completed with
+ * the action buttons. The action buttons are toggled (enabled/disabled) based on what the engine says the player is
+ * actually able to take, and when they choose to roll the dice or buy a development card, this class asks the engine
+ * to do it and shows the result. Much of this class deals with passing the players' choices on to the engine and
+ * then refreshing the board and the players so they show what changed.
+ *
+ * Seats can also be played by the computer. Whenever it's a computer player's turn, its MctsBot searches for a move
+ * on a background thread (so the window doesn't freeze while it thinks), and the move is then played on the FX
+ * thread, the board is made to match the engine, and the game carries on with whoever is next.
  */
 public class Game {
 
+    //The computer takes at least this long over every move, so people can follow what it's doing
+    private static final long COMPUTER_MOVE_MILLIS = 500;
+
     private Pane _gamePane;
     private BorderPane _settingsPane;
     private VBox _buttons;
     private Board _board;
-    private ArrayDeque<Player> _players;
-    private HashMap<Integer, Tile[]> _diceRollToTiles;
-    private ArrayList<String> _devCards;
+    private GameEngine _engine;
+    private GameState _state;
+    private ArrayList<Player> _players;
     private Player _currPlayer;
+    private MctsBot _computer;
     //All of the following are graphical elements that are updated throughout the game
     private Label _instructions;
     private Label _diceRoll;
@@ -65,25 +73,30 @@ public class Game {
     private Label _notificationLabel;
 
     /**
-     * The Constructor for this class creates the GamePane, sets up the ArrayDeque with the order of the Players,
-     * initializes the board, makes the deck of development cards, and calls methods to finish the graphical setup.
-     * It accepts parameter of how many players are used in this game so it knows how many players to add to the
-     * ArrayDeque.
+     * The Constructor for this class creates the GamePane, starts the GameEngine (which randomizes the board and the
+     * deck of development cards), sets up the ArrayList of Players in seat order, initializes the board, and calls
+     * methods to finish the graphical setup. It accepts parameter of how many players are used in this game so it
+     * knows how many players to add, and whether everyone but the first (blue) player is the computer. The game's seed
+     * is shown under the logo so the same board, deck and dice can be played again by running with -Dcatan.seed=<seed>.
      */
-    public Game(int numPlayers) {
+    public Game(int numPlayers, boolean computerOpponents) {
         _gamePane = new Pane();
         _gamePane.setPrefSize(Constants.GAME_PANE_WIDTH, Constants.SCENE_HEIGHT);
-        _players = new ArrayDeque<Player>();
-        _players.addLast(new Player(Color.BLUE));
-        _players.addLast(new Player(Color.WHITE));
-        _players.addLast(new Player(Color.ORANGE));
+        Long seed = Long.getLong("catan.seed");
+        _engine = seed == null ? new GameEngine(numPlayers) : new GameEngine(numPlayers, seed);
+        _engine.setListener(new NotificationListener());
+        _state = _engine.getState();
+        //All the computer players share one bot, since only one of them is ever thinking at a time
+        _computer = computerOpponents ? new MctsBot(_engine.getSeed()) : null;
+        _players = new ArrayList<Player>();
+        _players.add(new Player(Color.BLUE, 0));
+        _players.add(new Player(Color.WHITE, 1, _computer));
+        _players.add(new Player(Color.ORANGE, 2, _computer));
         if (numPlayers == 4) {
-            _players.addLast(new Player(Color.RED));
+            _players.add(new Player(Color.RED, 3, _computer));
         }
         _instructions = new Label();
-        _board = new Board(this);
-        _diceRollToTiles = _board.getDiceRollToTiles();
-        this.makeDevCards();
+        _board = new Board(this, _engine);
         this.makeSettingsPane();
         this.makeNotificationPane();
     }
@@ -95,21 +108,24 @@ public class Game {
 ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * This method sets up the SettingsPane, which (from top to bottom) contains the Settlers of Catan logo,
-     * the ButtonPane (with Action buttons), and the Player Panes.
+     * This method sets up the SettingsPane, which (from top to bottom) contains the Settlers of Catan logo and the
+     * game's seed, the ButtonPane (with Action buttons), and the Player Panes.
      */
     private void makeSettingsPane() {
         _settingsPane = new BorderPane();
         //Adds fancy textured background
         _settingsPane.setBackground(new Background(new BackgroundImage(
-                new Image(this.getClass().getResourceAsStream("BackgroundTexture.png")), BackgroundRepeat.REPEAT,
+                ImageCache.get("BackgroundTexture.png"), BackgroundRepeat.REPEAT,
                 BackgroundRepeat.REPEAT, BackgroundPosition.CENTER, BackgroundSize.DEFAULT)));
         _settingsPane.setPrefWidth(Constants.SCENE_WIDTH - Constants.GAME_PANE_WIDTH);
-        ImageView logo = new ImageView(new Image(this.getClass().getResourceAsStream("CatanLogo")));
+        ImageView logo = new ImageView(ImageCache.get("CatanLogo"));
         logo.setPreserveRatio(true);
         logo.setFitWidth(250);
-        BorderPane.setAlignment(logo, Pos.CENTER);
-        _settingsPane.setTop(logo);
+        Label seed = new Label("Seed: " + _engine.getSeed());
+        seed.setFont(new Font(12));
+        VBox top = new VBox(logo, seed);
+        top.setAlignment(Pos.CENTER);
+        _settingsPane.setTop(top);
         _buttons = new VBox();
         _buttons.setAlignment(Pos.CENTER);
         _buttons.setSpacing(10);
@@ -146,41 +162,6 @@ public class Game {
         return playerPane;
     }
 
-    /**
-     * This method makes the list of Development Cards (14 knights and 5 victory points), randomizes the list,
-     * and converts it to an ArrayList.
-     */
-    private void makeDevCards() {
-        List<String> devCards = Arrays.asList("Knight", "Knight", "Knight", "Knight", "Knight", "Knight", "Knight",
-                "Knight", "Knight", "Knight", "Knight", "Knight", "Knight", "Knight", "Victory Point", "Victory Point",
-                "Victory Point", "Victory Point", "Victory Point");
-        Collections.shuffle(devCards);
-        _devCards = new ArrayList<String>(devCards);
-    }
-
-    /**
-     * This method uses the ArrayDeque _players to make the order in which players will place settlements/roads and
-     * choose initial resources in pre-gameplay setup. It takes a Boolean parameter to indicate whether it should go
-     * twice through the order (placing settlements/roads) or just once (choosing resources). If false, he order
-     * should go once through the ArrayDeque, then return backwards (e.g. A-B-C-D-D-C-B-A). If true, it just goes once
-     * through the order (e.g. A-B-C-D). This method is called three times in the Board class; the first two times it
-     * will return the same Stack, and the third time it returns half that stack.
-     */
-    public Stack<Player> setupOrder(Boolean halfOrder) {
-        Stack<Player> setupOrder = new Stack<Player>();
-        if (!halfOrder) {
-            for (Player player : _players) {
-                setupOrder.push(player);
-            }
-        }
-        for (int i = 0; i < _players.size(); i++) {
-            Player player = _players.removeLast();
-            setupOrder.push(player);
-            _players.addFirst(player);
-        }
-        return setupOrder;
-    }
-
     /**
      * This method is called once all of the initial settlements and roads have been placed. It finishes setting up
      * the Settings Pane by making all the action buttons, finds the first Player, and toggles the buttons as
@@ -188,10 +169,8 @@ public class Game {
      */
     public void startGameplay() {
         this.makeButtons();
-        _currPlayer = _players.peekFirst();
-        _instructions.setText(_currPlayer.getName() + "'s Turn");
-        this.allButtonsOff();
-        _rollDice.setDisable(false);
+        _currPlayer = this.getPlayer(_state.getCurrentPlayer());
+        this.startTurn();
     }
 
     /**
@@ -215,10 +194,10 @@ public class Game {
         _nextPlayer.setOnAction(new ButtonHandler("NextPlayer"));
         _rollDice = new Button("Roll Dice");
         _rollDice.setOnAction(new ButtonHandler("RollDice"));
-        _dieA = new ImageView(new Image(this.getClass().getResourceAsStream("Dice1.png")));
+        _dieA = new ImageView(ImageCache.die(1));
         _dieA.setFitHeight(40);
         _dieA.setFitWidth(40);
-        _dieB = new ImageView(new Image(this.getClass().getResourceAsStream("Dice1.png")));
+        _dieB = new ImageView(ImageCache.die(1));
         _dieB.setFitHeight(40);
         _dieB.setFitWidth(40);
         _diceRoll = new Label("Total: 2");
@@ -266,39 +245,44 @@ public class Game {
 ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * This method rotates through the ArrayDeque _players whenever it is the next player's turn. I use peekFirst()
-     * to get the current player instead of pop() so that the ArrayDeque will always reflect having 4 players in
-     * the game. Lastly, it toggles the buttons since the Player must roll the dice first.
+     * This method tells the engine the turn is over whenever it is the next player's turn, and then finds the player
+     * whose turn it is now, and starts their turn.
      */
     private void nextTurn() {
-        _players.addLast(_players.pop());
-        _currPlayer = _players.peekFirst();
+        _engine.endTurn();
+        _currPlayer = this.getPlayer(_state.getCurrentPlayer());
+        this.startTurn();
+    }
+
+    /**
+     * Starts _currPlayer's turn. A person has to roll the dice first, so every button but that one is turned off; the
+     * computer just starts thinking.
+     */
+    private void startTurn() {
         this.allButtonsOff();
-        _rollDice.setDisable(false);
-        _instructions.setText(_currPlayer.getName() + "'s Turn");
+        if (_currPlayer.isComputer()) {
+            this.playComputerMove();
+        } else {
+            _rollDice.setDisable(false);
+            _instructions.setText(_currPlayer.getName() + "'s Turn");
+        }
     }
 
     /**
-     * This method is called when the "Roll Dice" button is pushed! It generates two random values between 1-6 and
-     * sets the dice to reflect that value. Then it distributes the proper resources, by checking the _diceRollsToTiles
-     * HashMap to check which tiles' resources should be distributed and telling each player to take resources of that
-     * tile if applicable. If a 7 is rolled, it triggers a robber placement. It also toggles the buttons to reflect
-     * which actions are available next.
+     * This method is called when the "Roll Dice" button is pushed! The engine rolls the two dice and distributes the
+     * proper resources, so this method sets the dice images to reflect that roll and refreshes the players' cards. If
+     * a 7 is rolled, it triggers a robber placement. It also toggles the buttons to reflect which actions are
+     * available next (unless the roll won the game).
      */
     private void rollDice() {
-        int dieA = (int) (Math.random() * 6) + 1;
-        int dieB = (int) (Math.random() * 6) + 1;
-        _diceRoll.setText("Total: " + (dieA + dieB));
-        _dieA.setImage(new Image(this.getClass().getResourceAsStream("Dice" + dieA + ".png")));
-        _dieB.setImage(new Image(this.getClass().getResourceAsStream("Dice" + dieB + ".png")));
-        if (dieA + dieB != 7) {
-            for (Tile tile : _diceRollToTiles.get(dieA + dieB)) {
-                if (!tile.hasRobber()) {
-                    for (Player player : _players) {
-                        player.distributeResource(tile);
-                    }
-                }
-            }
+        _engine.rollDice();
+        this.showDice();
+        this.updatePlayers();
+        if (_state.getPhase() == Phase.GAME_OVER) {
+            //A player holding a title they picked up on someone else's turn can win just by rolling
+            return;
+        }
+        if (_state.getPhase() != Phase.ROBBER) {
             this.toggleButtons();
         } else {
             _board.placeRobber(_currPlayer, false);
@@ -308,52 +292,61 @@ public class Game {
     }
 
     /**
-     * This method is called whenever a player wants to buy a development card. It takes the first card from
-     * the ArrayList of development cards and uses a switch statement to trigger its effect.
+     * Sets the dice images and the total to whatever the engine rolled last.
+     */
+    private void showDice() {
+        int dieA = _state.getDieA();
+        int dieB = _state.getDieB();
+        _diceRoll.setText("Total: " + (dieA + dieB));
+        _dieA.setImage(ImageCache.die(dieA));
+        _dieB.setImage(ImageCache.die(dieB));
+    }
+
+    /**
+     * This method is called whenever a player wants to buy a development card. The engine takes the top card off the
+     * deck (and gives the player its effect), and this method uses a switch statement to announce which card it was.
      */
     private void buyDevCard() {
-        String card = _devCards.remove(0);
+        DevCard card = _engine.buyDevCard();
         switch (card) {
-            case "Knight":
-                _notificationLabel.setText("  " + _currPlayer.getName() + " got a Knight Development Card!  ");
-                _gamePane.getChildren().add(_notificationPane);
-                _currPlayer.oneKnightCard();
+            case KNIGHT:
+                this.showNotification("  " + _currPlayer.getName() + " got a Knight Development Card!  ");
                 break;
-            case "Victory Point":
-                _notificationLabel.setText(_currPlayer.getName() + " got a Victory Point Development Card!");
-                _gamePane.getChildren().add(_notificationPane);
-                _currPlayer.addVictoryPoints(1);
+            case VICTORY_POINT:
+                this.showNotification(_currPlayer.getName() + " got a Victory Point Development Card!");
                 break;
         }
-        _currPlayer.boughtDevCard();
-        this.toggleButtons();
+        this.updatePlayers();
+        if (_state.getPhase() != Phase.GAME_OVER) {
+            this.toggleButtons();
+        }
     }
 
     /**
-     * This method checks which actions the player can do and toggles the respective buttons.
+     * This method asks the engine which actions the player can do and toggles the respective buttons.
      */
     public void toggleButtons() {
-        if (_currPlayer.canBuyRoad()) {
+        if (_state.canBuyRoad()) {
             _buyRoad.setDisable(false);
         } else {
             _buyRoad.setDisable(true);
         }
-        if (_currPlayer.canBuySettlement() && _board.hasValidSettlementLoc(_currPlayer)) {
+        if (_state.canBuySettlement()) {
             _buySettlement.setDisable(false);
         } else {
             _buySettlement.setDisable(true);
         }
-        if (_currPlayer.canBuyCity()) {
+        if (_state.canBuyCity()) {
             _buyCity.setDisable(false);
         } else {
             _buyCity.setDisable(true);
         }
-        if (_currPlayer.canBuyDevCard()) {
+        if (_state.canBuyDevCard()) {
             _buyDevCard.setDisable(false);
         } else {
             _buyDevCard.setDisable(true);
         }
-        if (_currPlayer.canUseKnight()) {
+        if (_state.canPlayKnight()) {
             _useKnight.setDisable(false);
         } else {
             _useKnight.setDisable(true);
@@ -376,6 +369,59 @@ public class Game {
         _rollDice.setDisable(true);
     }
 
+    /**
+     * This method is called whenever it's a computer player's move (during set-up or gameplay). The buttons are turned
+     * off so nobody can change the game while the computer thinks, and its bot searches on a background thread. The
+     * FX thread still owns _state (and the board can still be clicked), so the search gets its own copy of it, made
+     * here before the thread starts.
+     */
+    public void playComputerMove() {
+        _currPlayer = this.getPlayer(_state.getCurrentPlayer());
+        if (_buyRoad != null) {
+            this.allButtonsOff();
+        }
+        _instructions.setText(_currPlayer.getName() + " is thinking...");
+        Thread thread = new Thread(new ComputerSearch(_currPlayer.getComputer(), new GameState(_state)),
+                "computer-player");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This method is called on the FX thread once the computer has chosen its move. It plays the move through the
+     * engine, makes the board and the Player Panes match, and then hands the game to whoever is next: the set-up
+     * rotation, the first turn of gameplay, the computer again, or a person starting their turn.
+     */
+    private void computerMoved(int move) {
+        Move.apply(_engine, move);
+        _board.showComputerMove();
+        this.updatePlayers();
+        switch (Move.type(move)) {
+            case Move.ROLL:
+                this.showDice();
+                break;
+            case Move.BUY_DEV_CARD:
+                this.showNotification(_currPlayer.getName() + " bought a Development Card!");
+                break;
+            case Move.PLAY_KNIGHT:
+                this.showNotification(_currPlayer.getName() + " used a Knight!");
+                break;
+        }
+        if (_state.getPhase() == Phase.GAME_OVER) {
+            return;
+        }
+        if (_rollDice == null) {
+            //Still setting up (or just finished, in which case the Board starts gameplay)
+            _board.setUpTurns();
+        } else if (_currPlayer.getSeat() == _state.getCurrentPlayer()) {
+            //The computer's turn goes on until it ends it
+            this.playComputerMove();
+        } else {
+            _currPlayer = this.getPlayer(_state.getCurrentPlayer());
+            this.startTurn();
+        }
+    }
+
     /**
      * This method sets the Text of the instructions.
      */
@@ -384,36 +430,66 @@ public class Game {
     }
 
     /**
-     * This method is called whenever a player get a longest road. It sets the notification pane to pop up, and
-     * gives the player 2 more victory points!
+     * This method is called whenever a player get a longest road. It sets the notification pane to pop up (the
+     * engine has already given the player their 2 victory points).
      */
     public void newLongestRoad(Player player) {
-        player.addVictoryPoints(2);
-        _notificationLabel.setText(player.getName() + " has the longest road!");
-        _gamePane.getChildren().add(_notificationPane);
+        this.showNotification(player.getName() + " has the longest road!");
     }
 
     /**
-     * This method is called whenever a player get a largest army. It sets the notification pane to pop up, and
-     * gives the player 2 more victory points!
+     * This method is called whenever a settlement breaks the longest road so badly that nobody qualifies for it
+     * anymore. The engine has already taken the 2 victory points back, so all that's left is telling everyone.
+     */
+    public void noLongestRoad() {
+        this.showNotification("Nobody has the longest road anymore!");
+    }
+
+    /**
+     * This method is called whenever a player get a largest army. It sets the notification pane to pop up (the
+     * engine has already given the player their 2 victory points).
      */
     public void newLargestArmy(Player player) {
-        player.addVictoryPoints(2);
-        _notificationLabel.setText(player.getName() + " has the largest army!");
-        _gamePane.getChildren().add(_notificationPane);
+        this.showNotification(player.getName() + " has the largest army!");
     }
 
     /**
      * This method is called whenever a player reaches 8 points to win the game. Not much has to happen. All the
-     * buttons are invalidated and the notification pane pops up announcing the winner.
+     * buttons are invalidated and the notification pane pops up announcing the winner. Nobody moves after this, so
+     * the computer's bot is closed to stop its search threads and free its trees.
      */
     public void gameOver(Player player) {
-        this.allButtonsOff();
-        _notificationLabel.setText(player.getName() + " has won the game!");
-        _gamePane.getChildren().add(_notificationPane);
+        if (_buyRoad != null) {
+            this.allButtonsOff();
+        }
+        if (_computer != null) {
+            _computer.close();
+        }
+        this.showNotification(player.getName() + " has won the game!");
         this.changeInstructions("Game Over");
     }
 
+    /**
+     * Sets the text of the notification pane and pops it up. Since one action can now trigger more than one
+     * notification (e.g. longest road AND winning the game), the pane is only added if it isn't showing already.
+     */
+    private void showNotification(String text) {
+        _notificationLabel.setText(text);
+        if (!_gamePane.getChildren().contains(_notificationPane)) {
+            _gamePane.getChildren().add(_notificationPane);
+        }
+    }
+
+    /**
+     * This method refreshes every Player Pane from the engine. It's called after anything that can change cards or
+     * points, and it updates all players since taking longest road or largest army also changes someone else's score.
+     */
+    public void updatePlayers() {
+        for (Player player : _players) {
+            player.update(_state.getPlayer(player.getSeat()));
+        }
+    }
+
 ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 //                                                                                                                   //
 //                        **THESE ACCESSOR METHODS AND EVENTHANDLERS ARE FAIRLY SELF-EXPLANATORY**                   //
@@ -434,6 +510,38 @@ public class Game {
         return _settingsPane;
     }
 
+    /**
+     * Accessor method that returns the Player in the given seat, so the Board can find out whose turn it is.
+     */
+    public Player getPlayer(int seat) {
+        return _players.get(seat);
+    }
+
+    /**
+     * The engine calls this listener whenever a title changes hands or somebody wins, and it just passes the news on
+     * to the methods above that pop up the notification pane.
+     */
+    private class NotificationListener implements GameListener {
+        @Override
+        public void longestRoadChanged(int player) {
+            if (player == GameState.NO_PLAYER) {
+                Game.this.noLongestRoad();
+            } else {
+                Game.this.newLongestRoad(Game.this.getPlayer(player));
+            }
+        }
+
+        @Override
+        public void largestArmyChanged(int player) {
+            Game.this.newLargestArmy(Game.this.getPlayer(player));
+        }
+
+        @Override
+        public void gameOver(int winner) {
+            Game.this.gameOver(Game.this.getPlayer(winner));
+        }
+    }
+
     /**
      * Rather than having a bajillion EventHandlers for one purpose each, I consolidated them all into this one
      * ButtonHandler. It uses a switch statement to determine the effect of the button based on whatever the button
@@ -472,7 +580,9 @@ public class Game {
                     Game.this.buyDevCard();
                     break;
                 case "UseKnight":
+                    Game.this.allButtonsOff();
                     _board.placeRobber(_currPlayer, true);
+                    Game.this.changeInstructions(_currPlayer.getName() + ": Place the Robber");
                     break;
                 case "RollDice":
                     Game.this.rollDice();
@@ -480,4 +590,50 @@ public class Game {
             }
         }
     }
+
+    /**
+     * This runs on a background thread while the computer thinks. It only ever looks at its own copy of the game, and
+     * once its bot has chosen a move (and at least COMPUTER_MOVE_MILLIS have gone by), the move is handed back to the
+     * FX thread to be played.
+     */
+    private class ComputerSearch implements Runnable {
+        private MctsBot _bot;
+        private GameState _position;
+
+        public ComputerSearch(MctsBot bot, GameState position) {
+            _bot = bot;
+            _position = position;
+        }
+
+        @Override
+        public void run() {
+            long start = System.currentTimeMillis();
+            int move = _bot.chooseMove(_position);
+            long left = COMPUTER_MOVE_MILLIS - (System.currentTimeMillis() - start);
+            if (left > 0) {
+                try {
+                    Thread.sleep(left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Platform.runLater(new ComputerMove(move));
+        }
+    }
+
+    /**
+     * This runs on the FX thread and plays the move the computer chose.
+     */
+    private class ComputerMove implements Runnable {
+        private int _move;
+
+        public ComputerMove(int move) {
+            _move = move;
+        }
+
+        @Override
+        public void run() {
+            Game.this.computerMoved(_move);
+        }
+    }
 }
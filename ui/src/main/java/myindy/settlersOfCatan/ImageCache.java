@@ -0,0 +1,135 @@
+package myindy.settlersOfCatan;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javafx.scene.image.Image;
+import myindy.settlersOfCatan.engine.Resource;
+
+/**
+ * This is the ImageCache class! Every graphic in the game comes from one of a couple dozen PNGs, but the board used to
+ * decode a fresh copy for every ImageView (63 ocean tiles meant 63 Ocean.png's and 63 Robber.png's, and every roll of
+ * the dice decoded two more dice). An Image can be shown by any number of ImageViews at once, so this class decodes
+ * each file the first time it's asked for and hands out that same Image every time after.
+ *
+ * Decoding all of them still takes a moment, so the welcome screen calls preload() to decode every image in parallel
+ * on background threads while the players are choosing a game. The cache is a ConcurrentHashMap, so the FX thread
+ * can safely ask for an image the background threads are still working on (it just waits for that one image).
+ */
+public final class ImageCache {
+
+	private static final ConcurrentHashMap<String, Image> IMAGES = new ConcurrentHashMap<String, Image>();
+	private static CompletableFuture<Void> _preloaded;
+
+	private ImageCache() {
+	}
+
+	/**
+	 * Returns the decoded image for the given resource file (e.g. "Ocean.png" or "CatanLogo"), decoding it only if
+	 * nobody has asked for it before.
+	 */
+	public static Image get(String fileName) {
+		Image image = IMAGES.get(fileName);
+		if (image == null) {
+			image = IMAGES.computeIfAbsent(fileName, ImageCache::decode);
+		}
+		return image;
+	}
+
+	/**
+	 * The number tokens are named after the roll they stand for.
+	 */
+	public static Image token(int roll) {
+		return ImageCache.get(roll + ".png");
+	}
+
+	/**
+	 * Same with the dice faces.
+	 */
+	public static Image die(int face) {
+		return ImageCache.get("Dice" + face + ".png");
+	}
+
+	/**
+	 * This starts decoding every image the game uses, one background thread per processor, and returns a future
+	 * that completes once they're all in the cache. Calling it again just returns the same future. The threads are
+	 * daemons, so closing the window during the preload doesn't keep the app alive.
+	 */
+	public static synchronized CompletableFuture<Void> preload() {
+		if (_preloaded == null) {
+			ArrayList<String> fileNames = ImageCache.allFileNames();
+			int threads = Math.max(1, Math.min(fileNames.size(), Runtime.getRuntime().availableProcessors()));
+			ExecutorService decoders = Executors.newFixedThreadPool(threads, new DecoderThreads());
+			CompletableFuture<?>[] decoded = new CompletableFuture<?>[fileNames.size()];
+			for (int i = 0; i < decoded.length; i++) {
+				decoded[i] = CompletableFuture.runAsync(new Decode(fileNames.get(i)), decoders);
+			}
+			//Already-submitted tasks still run after shutdown, the pool just lets its threads go once they're done
+			decoders.shutdown();
+			_preloaded = CompletableFuture.allOf(decoded);
+		}
+		return _preloaded;
+	}
+
+	/**
+	 * Every PNG in the resources folder: the tiles, the robber, the number tokens, the dice, and the textures.
+	 */
+	private static ArrayList<String> allFileNames() {
+		ArrayList<String> fileNames = new ArrayList<String>();
+		for (Resource resource: Resource.values()) {
+			fileNames.add(resource.getName() + ".png");
+		}
+		fileNames.add("Desert.png");
+		fileNames.add("Ocean.png");
+		fileNames.add("Robber.png");
+		for (int roll = 2; roll <= 12; roll++) {
+			if (roll != 7) {
+				fileNames.add(roll + ".png");
+			}
+		}
+		for (int face = 1; face <= 6; face++) {
+			fileNames.add("Dice" + face + ".png");
+		}
+		fileNames.add("BackgroundTexture.png");
+		fileNames.add("CatanLogo");
+		return fileNames;
+	}
+
+	private static Image decode(String fileName) {
+		return new Image(ImageCache.class.getResourceAsStream(fileName));
+	}
+
+	/**
+	 * Each preload task just asks the cache for one image, which decodes it on whichever thread runs the task.
+	 */
+	private static class Decode implements Runnable {
+		private String _fileName;
+
+		public Decode(String fileName) {
+			_fileName = fileName;
+		}
+
+		@Override
+		public void run() {
+			ImageCache.get(_fileName);
+		}
+	}
+
+	/**
+	 * Names the preload threads and makes them daemons.
+	 */
+	private static class DecoderThreads implements ThreadFactory {
+		private int _count;
+
+		@Override
+		public synchronized Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "image-preload-" + _count++);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -1,10 +1,14 @@
 package myindy.settlersOfCatan;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
+import javafx.scene.control.CheckBox;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundImage;
@@ -13,26 +17,35 @@ import javafx.scene.layout.BackgroundRepeat;
 import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 
 /**
  * This PaneOrganizer is very simple since all of the organization logic exists in the Game and Board classes. This
- * class just deals with the home screen and choosing between a 3-player or 4-player game. Once chosen, this class
- * just puts all the pieces together into a nice, neat root BorderPane.
+ * class just deals with the home screen and choosing between a 3-player or 4-player game (and whether the other
+ * players are the computer). Once chosen, this class just puts all the pieces together into a nice, neat root
+ * BorderPane.
  */
 public class PaneOrganizer {
 	private BorderPane _root;
+	private CompletableFuture<Void> _imagesReady;
+	private HBox _buttons;
+	private CheckBox _computerOpponents;
 	
 	/**
 	 * This constructor creates the root BorderPane, and sets up the "Welcome" screen. It is very basic, with just
-	 * the Settlers of Catan logo and two buttons for the user to choose between a 3-player or 4-player game.
+	 * the Settlers of Catan logo, two buttons for the user to choose between a 3-player or 4-player game, and a
+	 * CheckBox for playing against the computer (which then plays every seat but the blue one). Before anything else,
+	 * it starts decoding all of the game's images in the background, so they're (hopefully) ready by the time someone
+	 * clicks a button.
 	 */
 	public PaneOrganizer() {
+		_imagesReady = ImageCache.preload();
 		_root = new BorderPane();
 		_root.setBackground(new Background(new BackgroundImage(
-				new Image(this.getClass().getResourceAsStream("BackgroundTexture.png")),BackgroundRepeat.REPEAT,
+				ImageCache.get("BackgroundTexture.png"),BackgroundRepeat.REPEAT,
 				BackgroundRepeat.REPEAT,BackgroundPosition.CENTER,BackgroundSize.DEFAULT)));
-		ImageView logo = new ImageView(new Image(this.getClass().getResourceAsStream("CatanLogo")));
+		ImageView logo = new ImageView(ImageCache.get("CatanLogo"));
 		logo.setPreserveRatio(true);
 		logo.setFitWidth(500);
 		BorderPane.setAlignment(logo, Pos.CENTER);
@@ -43,10 +56,15 @@ public class PaneOrganizer {
 		fourPlayerGame.setFont(new Font(40));
 		threePlayerGame.setOnAction(new StartGameHandler(3));
 		fourPlayerGame.setOnAction(new StartGameHandler(4));
-		HBox buttons = new HBox(threePlayerGame, fourPlayerGame);
-		buttons.setSpacing(50);
-		buttons.setAlignment(Pos.CENTER);
-		_root.setCenter(buttons);
+		_buttons = new HBox(threePlayerGame, fourPlayerGame);
+		_buttons.setSpacing(50);
+		_buttons.setAlignment(Pos.CENTER);
+		_computerOpponents = new CheckBox("Play against the computer");
+		_computerOpponents.setFont(new Font(24));
+		VBox choices = new VBox(_buttons, _computerOpponents);
+		choices.setSpacing(30);
+		choices.setAlignment(Pos.CENTER);
+		_root.setCenter(choices);
 	}
 	
 	/**
@@ -54,7 +72,7 @@ public class PaneOrganizer {
 	 * initializes the Game and adds the Game Pane and Settings Pane to their sides of the root pane.
 	 */
 	public void makeGame(int numPlayers) {
-		Game game = new Game(numPlayers);
+		Game game = new Game(numPlayers, _computerOpponents.isSelected());
 		_root.setTop(null);
 		_root.setCenter(game.getGamePane());
 		_root.setRight(game.getSettingsPane());
@@ -69,7 +87,9 @@ public class PaneOrganizer {
 	
 	/**
 	 * This EventHandler deals with when one of the start game buttons is clicked. Depending on the integer
-	 * parameter it will trigger the start of the game with either 3 or 4 players.
+	 * parameter it will trigger the start of the game with either 3 or 4 players. If the images are still being
+	 * decoded, the buttons are turned off and the game is made on the FX thread as soon as the preload finishes
+	 * (or fails, in which case the Board just decodes whatever is missing itself).
 	 */
 	private class StartGameHandler implements EventHandler<ActionEvent> {
 		private int _numPlayers;
@@ -79,6 +99,31 @@ public class PaneOrganizer {
 		
 		@Override
 		public void handle(ActionEvent e) {
+			if (_imagesReady.isDone()) {
+				PaneOrganizer.this.makeGame(_numPlayers);
+			} else {
+				_buttons.setDisable(true);
+				_imagesReady.whenComplete(new StartWhenReady(_numPlayers));
+			}
+		}
+	}
+
+	/**
+	 * This runs on whichever preload thread finished last, so it hands the actual game-making back to the FX thread.
+	 */
+	private class StartWhenReady implements BiConsumer<Void, Throwable>, Runnable {
+		private int _numPlayers;
+		public StartWhenReady(int numPlayers) {
+			_numPlayers = numPlayers;
+		}
+
+		@Override
+		public void accept(Void done, Throwable failure) {
+			Platform.runLater(this);
+		}
+
+		@Override
+		public void run() {
 			PaneOrganizer.this.makeGame(_numPlayers);
 		}
 	}
@@ -0,0 +1,174 @@
+package myindy.settlersOfCatan;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import myindy.settlersOfCatan.bot.MctsBot;
+import myindy.settlersOfCatan.engine.Hand;
+import myindy.settlersOfCatan.engine.PlayerState;
+import myindy.settlersOfCatan.engine.Resource;
+
+/**
+ * This is the Player class! The engine's PlayerState keeps track of the player's cards, knights, and points, so this
+ * class is just the graphical side of a player: its color, its name, and the Player Pane, which is shown in the
+ * Settings Pane. Each Player knows its seat (its index in the engine), and whenever something changes, update() reads
+ * the newest numbers from the engine and refreshes the Labels. A Player can also be the computer, in which case it
+ * has an MctsBot that the Game asks for a move whenever it's this player's turn.
+ */
+public class Player {
+	private Color _color;
+	private String _name;
+	private int _seat;
+	private MctsBot _computer;
+	private VBox _playerPane;
+	private Label _nameLabel;
+	private Label _lumberLabel;
+	private Label _brickLabel;
+	private Label _wheatLabel;
+	private Label _woolLabel;
+	private Label _oreLabel;
+	private Label _knightLabel;
+	private long _shownHand;
+	private int _shownScore;
+	private int _shownKnights;
+
+	/**
+	 * The Player constructor initializes all of the instance variables and sets the player's name based on its color.
+	 * It also takes the player's seat so it knows which PlayerState in the engine belongs to it.
+	 */
+	public Player(Color color, int seat) {
+		this(color, seat, null);
+	}
+
+	/**
+	 * Same as above, except the player is played by the computer (unless the bot is null). Computer players are
+	 * called e.g. "White Computer" so nobody waits for them to click anything.
+	 */
+	public Player(Color color, int seat, MctsBot computer) {
+		_color = color;
+		_seat = seat;
+		_computer = computer;
+		switch (_color.toString()) {
+		case "0x0000ffff":
+			_name = ("Blue Player");
+			break;
+		case "0xffffffff":
+			_name = ("White Player");
+			break;
+		case "0xffa500ff":
+			_name = ("Orange Player");
+			break;
+		case "0xff0000ff":
+			_name = ("Red Player");
+			break;
+		}
+		if (_computer != null) {
+			_name = _name.replace("Player", "Computer");
+		}
+		this.makePlayerPane();
+	}
+
+	/**
+	 * This method sets up this Player's VBox that reflects its cards and points! This is only called once during
+	 * initialization.
+	 */
+	private void makePlayerPane() {
+		_playerPane = new VBox();
+		_playerPane.setPrefWidth((Constants.SCENE_WIDTH - Constants.GAME_PANE_WIDTH) / 2);
+		_nameLabel = new Label(_name + "  (0 pts)");
+		_nameLabel.setFont(Constants.PLAIN_FONT);
+		_nameLabel.setStyle("-fx-font-weight: bold");
+		_lumberLabel = new Label("Lumber: 0");
+		_brickLabel = new Label("Brick: 0");
+		_wheatLabel = new Label("Wheat: 0");
+		_woolLabel = new Label("Wool: 0");
+		_oreLabel = new Label("Ore: 0");
+		_knightLabel = new Label("Knights Used: 0");
+		_lumberLabel.setFont(Constants.PLAIN_FONT);
+		_brickLabel.setFont(Constants.PLAIN_FONT);
+		_wheatLabel.setFont(Constants.PLAIN_FONT);
+		_woolLabel.setFont(Constants.PLAIN_FONT);
+		_oreLabel.setFont(Constants.PLAIN_FONT);
+		_knightLabel.setFont(Constants.PLAIN_FONT);
+		_playerPane.getChildren().addAll(_nameLabel, _lumberLabel, _brickLabel, _wheatLabel,
+				_woolLabel, _oreLabel,_knightLabel);
+		_playerPane.setBorder(new Border(new BorderStroke(Color.BLACK, BorderStrokeStyle.DASHED, null, null)));
+	}
+
+	/**
+	 * This method is called whenever cards, points, or knights may have changed so that the Labels show the change.
+	 * It remembers what it showed last time, so it only touches the Labels whose numbers actually changed (after a
+	 * roll, that's usually just one or two resources).
+	 */
+	public void update(PlayerState state) {
+		if (state.getScore() != _shownScore) {
+			_shownScore = state.getScore();
+			_nameLabel.setText(_name + "  (" + _shownScore + " pts)");
+		}
+		long hand = state.getHand();
+		if (hand != _shownHand) {
+			this.updateCardLabel(_lumberLabel, hand, Resource.LUMBER);
+			this.updateCardLabel(_brickLabel, hand, Resource.BRICK);
+			this.updateCardLabel(_wheatLabel, hand, Resource.WHEAT);
+			this.updateCardLabel(_woolLabel, hand, Resource.WOOL);
+			this.updateCardLabel(_oreLabel, hand, Resource.ORE);
+			_shownHand = hand;
+		}
+		if (state.getKnightsUsed() != _shownKnights) {
+			_shownKnights = state.getKnightsUsed();
+			_knightLabel.setText("Knights Used: " + _shownKnights);
+		}
+	}
+
+	private void updateCardLabel(Label label, long hand, Resource resource) {
+		if (Hand.count(hand, resource) != Hand.count(_shownHand, resource)) {
+			label.setText(resource.getName() + ": " + Hand.count(hand, resource));
+		}
+	}
+
+	/**
+	 * Accessor method so that we know what color this player's structures and roads should be!
+	 */
+	public Color getColor() {
+		return _color;
+	}
+
+	/**
+	 * This accessor method is just used for the instructions label, so it can address the proper player.
+	 */
+	public String getName() {
+		return _name;
+	}
+
+	/**
+	 * Accessor method so the Board can ask the engine about this player.
+	 */
+	public int getSeat() {
+		return _seat;
+	}
+
+	/**
+	 * Returns true if the computer plays this seat instead of somebody clicking.
+	 */
+	public boolean isComputer() {
+		return _computer != null;
+	}
+
+	/**
+	 * The bot that chooses this player's moves, or null for a person.
+	 */
+	public MctsBot getComputer() {
+		return _computer;
+	}
+
+	/**
+	 * Basic accessor method so this pane can be added to the Settings Pane.
+	 */
+	public Pane getPlayerPane() {
+		return _playerPane;
+	}
+}
@@ -1,22 +1,22 @@
 package myindy.settlersOfCatan;
 
-import javafx.event.EventHandler;
-import javafx.scene.input.MouseEvent;
+import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Shape;
 
 /**
  * This is the RealEstate abstract class! This class is inherited by the Road and Structure classes, and it
  * establishes many the methods shared because of how the board and the players interact with both roads and
  * structures. Most of this class relates to how the RealEstate can be opened for purchased, ultimately bought, and
- * how the graphics change with various mouse interactions. The BuyHandler in this class is the only EventHandler in
- * any of the RealEstate/Road/Structure classes. This class also has a handful of accessor and mutator methods so
- * that the subclasses can interact with a few of the instance variables.
+ * how the graphics change with various mouse interactions. None of the RealEstate/Road/Structure classes listen to
+ * the mouse themselves anymore: the Board has one EventHandler on the whole game pane, works out which piece is
+ * under the mouse, and calls mouseEntered(), mouseExited(), or mouseClicked() on it. The graphic is added to the game
+ * pane once, and from then on hovering and buying only change how that same node looks. This class also has a
+ * handful of accessor and mutator methods so that the subclasses can interact with a few of the instance variables.
  */
 public abstract class RealEstate {
 
-	private Shape _image;
+	private Node _image;
 	private Board _board;
 	private Pane _gamePane;
 	private Player _owner;
@@ -49,12 +49,12 @@ public abstract class RealEstate {
 			_currPlayer = player;
 			_image.setVisible(true);
 			_canBuy = true;
-			_image.setOnMouseEntered(new BuyHandler());
 		}
 	}
 	
 	/**
-	 * When a RealEstate is bought, this method is called. The graphic is changed separately in the BuyHandler.
+	 * When a RealEstate is bought, this method is called. The graphic is changed separately in the BuyHandler, and the
+	 * Board tells the engine about the purchase.
 	 */
 	public void buy() {
 		_owner = _currPlayer;
@@ -62,23 +62,36 @@ public abstract class RealEstate {
 		_canBuy = false;
 	}
 	
+	/**
+	 * When the computer builds, nobody clicks anything, so the Board calls this to show the piece it built: the
+	 * owner and status are set straight from the engine, and the piece is shown the way it looks once bought.
+	 */
+	public void placed(Player owner, int status) {
+		_owner = owner;
+		_status = status;
+		_canBuy = false;
+		_image.setVisible(true);
+		this.showImage(status, owner.getColor());
+	}
+
 	/**
 	 * This is the fundamental difference between the Road and Structure classes - they have completely different
 	 * graphics. This abstract method is called every time a graphic changes, whether it's toggling on a mouse hover
 	 * or permanently changing for a purchase. It takes parameter status to indicate to what graphic it should show
-	 * (more info in the respective classes). The parameter color just reflects the current player's color.
+	 * (more info in the respective classes). The parameter color just reflects the current player's color. The
+	 * subclasses made every shape they'll ever need up front, so this only recolors or shows/hides them.
 	 */
-	public abstract void newImage(int status, Color color);
+	public abstract void showImage(int status, Color color);
 	
 	
 	/**
-	 * This method is called every time a graphic is added or changed! The graphic has already been made in the
-	 * subclass, but the instance variable _image is only in the parent class, so this is called from the Road
-	 * and Structure classes.
+	 * This method is called once by the Road and Structure constructors, after they've built their graphic. The
+	 * instance variable _image is only in the parent class, so it gets added to the pane here. The Board does all
+	 * of the picking, so the graphic itself is made mouse transparent.
 	 */
-	public void setImage(Shape image) {
-		_gamePane.getChildren().remove(_image);
+	public void setImage(Node image) {
 		_image = image;
+		_image.setMouseTransparent(true);
 		_gamePane.getChildren().add(_image);
 	}
 	
@@ -86,7 +99,7 @@ public abstract class RealEstate {
 	 * This accessor method is important so that the graphic can be added to the board, and so that the subclasses
 	 * can have access to the graphic.
 	 */
-	public Shape getImage() {
+	public Node getImage() {
 		return _image;
 	}
 	
@@ -97,22 +110,6 @@ public abstract class RealEstate {
 		return _owner;
 	}
 	
-	/**
-	 * Only this parent class has access to the board; this method is used by the Structure class to know when
-	 * the gameplay has started.
-	 */
-	public Boolean isGameplay() {
-		return _board.isGameplay();
-	}
-	
-	/**
-	 * Most of the status adjustments occur within this abstract class, but the Structure class needs to set its
-	 * status to 0 when it has become an invalid move, so it calls this mutator method.
-	 */
-	public void setStatus(int status) {
-		_status = status;
-	}
-	
 	/**
 	 * This accessor method is called by the Structure class but also mainly by the Board class so it knows which
 	 * structures are settlements and which are cities.
@@ -139,40 +136,40 @@ public abstract class RealEstate {
 	}
 	
 	/**
-	 * This is the only EventHandler used for all RealEstate, specifically how players are placing roads, settlements,
-	 * and cities onto the board. The boolean instance variable _canBuy is used to indicate when the RealEstate can be
-	 * purchased (or interacted with the mouse). If this EventHandler is called while choosing pregame resources, it
-	 * tells the player to collect its resources. I also have functionality so that while a player is placing a
-	 * settlement, the mouse's "hovering" graphically shows that RealEstate, toggled as the mouse enters and exits
-	 * the image.
+	 * This method and the two below are how players place roads, settlements, and cities onto the board; the Board
+	 * calls them as the mouse moves over, moves off of, and clicks this piece. The boolean instance variable _canBuy is used to
+	 * indicate when the RealEstate can be purchased (or interacted with the mouse). While a player is placing a piece,
+	 * the mouse's "hovering" graphically shows that RealEstate, toggled as the mouse enters and exits it.
+	 */
+	public void mouseEntered() {
+		if (_canBuy && !_board.choosingPregameResources()) {
+			this.showImage(_status + 1,_currPlayer.getColor());
+		}
+	}
+
+	/**
+	 * When the mouse moves off the piece, it goes back to how it looked before.
+	 */
+	public void mouseExited() {
+		if (_canBuy && !_board.choosingPregameResources()) {
+			this.showImage(_status,_currPlayer.getColor());
+		}
+	}
+
+	/**
+	 * If this is called while choosing pregame resources, it tells the board which settlement the player chose.
+	 * Otherwise the piece is bought. The piece might have become buyable while the mouse was already sitting on it,
+	 * so the purchased graphic is shown here too rather than relying on mouseEntered() having happened.
 	 */
-	private class BuyHandler implements EventHandler<MouseEvent> {
-		@Override
-		public void handle(MouseEvent e) {
-			if (_canBuy) {
-				if (_board.choosingPregameResources()) {
-					if (e.getEventType() == MouseEvent.MOUSE_CLICKED) {
-						_currPlayer.preGameResources((Structure) RealEstate.this);
-						_canBuy = false;
-						_board.setUpTurns(_currPlayer, null);
-					}
-				} else {
-					if (e.getEventType() == MouseEvent.MOUSE_CLICKED) {
-						//Since the Mouse already had to enter before clicking is possible, the image would already have
-						//changed to reflect the purchase.
-						RealEstate.this.buy();
-						_board.purchased(_currPlayer, RealEstate.this);
-					} else if (e.getEventType() == MouseEvent.MOUSE_ENTERED) {
-						RealEstate.this.newImage(_status + 1,_currPlayer.getColor());
-						//I have to add these EventHandlers *after* the image changes
-						_image.setOnMouseExited(new BuyHandler());
-						_image.setOnMouseClicked(new BuyHandler());
-					} else {
-						RealEstate.this.newImage(_status,_currPlayer.getColor());
-						//Again, EventHandler is added *after* the image changes
-						_image.setOnMouseEntered(new BuyHandler());
-					}
-				}
+	public void mouseClicked() {
+		if (_canBuy) {
+			if (_board.choosingPregameResources()) {
+				_canBuy = false;
+				_board.resourcesChosen((Structure) this);
+			} else {
+				this.showImage(_status + 1,_currPlayer.getColor());
+				this.buy();
+				_board.purchased(_currPlayer, this);
 			}
 		}
 	}
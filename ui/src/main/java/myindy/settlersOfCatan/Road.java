@@ -0,0 +1,76 @@
+package myindy.settlersOfCatan;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Rotate;
+
+/**
+ * This is the Road class! It extends the RealEstate class by adding the graphical components of the road. The two
+ * structures a road connects are kept in Topology's flat adjacency tables, not in the road itself. The orientation of
+ * the road indicates its physical orientation. 1 means the road extends vertically between structures, 2 means the road slopes downward to the right,
+ * and 3 means the road slopes upward to the right. Each road also knows its Topology edge index so the Board can tell
+ * the engine which road was bought.
+ */
+public class Road extends RealEstate {
+	
+	private int _edge;
+	private Rectangle _road;
+
+	/**
+	 * The constructor of the Road extends the RealEstate constructor by graphically making the road.
+	 */
+	public Road(int edge, int orientation, double x, double y, Board board) {
+		super(board);
+		_edge = edge;
+		this.makeRoad(orientation, x, y);
+	}
+	
+	/**
+	 * Unlike structures, the actual shape graphic of the Road never changes, so we only need to make the road once
+	 * during initialization. I use a switch statement since the angle of road depends on its orientation.
+	 */
+	private void makeRoad(int orientation, double x, double y) {
+		_road = new Rectangle(Constants.ROAD_LENGTH,Constants.ROAD_WIDTH);
+		_road.setX(x + Constants.ROAD_X_OFFSET);
+		_road.setY(y - Constants.ROAD_WIDTH/2);
+		double angle = 0;
+		switch (orientation) {
+		case 1:
+			angle = 90;
+			break;
+		case 2:
+			angle = 30;
+			break;
+		case 3:
+			angle = 150;
+			break;
+		}
+		_road.getTransforms().add(new Rotate(angle,x,y));
+		_road.setVisible(false);
+		this.setImage(_road);
+	}
+	
+	/**
+	 * Simple accessor method returns this road's Topology edge index.
+	 */
+	public int getEdge() {
+		return _edge;
+	}
+	
+	/**
+	 * This method fills out the abstract method from the RealEstate parent class. It uses a switch statement
+	 * depending on the "status" of the road (purchased vs. unpurchased) to set its color.
+	 */
+	@Override
+	public void showImage(int status, Color color) {
+		switch (status) {
+		case 0:
+			_road.setFill(Color.BLACK);
+			_road.setStroke(null);
+			break;
+		case 1:
+			_road.setFill(color);
+			_road.setStroke(Color.BLACK);
+		}
+	}
+}
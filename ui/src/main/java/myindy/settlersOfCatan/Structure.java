@@ -0,0 +1,63 @@
+package myindy.settlersOfCatan;
+
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Shape;
+
+/**
+ * This is the Structure class! This class extends the RealEstate class with the graphical components of the
+ * structure, and how it changes from unsettled --> settlement --> city. Each structure knows its Topology vertex index,
+ * which is how the Board refers to it when talking to the engine. Which roads and tiles touch a structure is kept in
+ * Topology's flat adjacency tables rather than in the structure itself.
+ */
+public class Structure extends RealEstate{
+	
+	private int _vertex;
+	private Shape[] _shapes;
+	
+	/**
+	 * The Structure constructor extends a bit more than the inherited RealEstate constructor, mostly just by
+	 * initializing a bunch of extra instance variables. All three looks a structure can have (the empty circle, the
+	 * settlement, and the city) are made here and put together in one Group at the structure's location, so that
+	 * the Group is the one node the mouse interacts with. Then it shows the initial empty circle.
+	 */
+	public Structure(int vertex, double x, double y, Board board) {
+		super(board);
+		_vertex = vertex;
+		_shapes = new Shape[] {new Circle(10), new Polygon(Constants.SETTLEMENT_SHAPE),
+				new Polygon(Constants.CITY_SHAPE)};
+		for (Shape shape: _shapes) {
+			shape.setStroke(Color.BLACK);
+		}
+		Group image = new Group(_shapes);
+		image.setLayoutX(x);
+		image.setLayoutY(y);
+		this.setImage(image);
+		this.showImage(0,Color.BLACK);
+	}
+	
+	/**
+	 * This method fills out the abstract method from RealEstate. The status is also the index of the shape to show
+	 * (0 is the empty circle, 1 the settlement, 2 the city), so only that shape is visible and it gets the player's
+	 * color. The empty circle always stays black.
+	 */
+	@Override
+	public void showImage(int status, Color color) {
+		for (int i = 0; i < _shapes.length; i++) {
+			_shapes[i].setVisible(i == status);
+		}
+		if (status > 0) {
+			_shapes[status].setFill(color);
+		}
+	}
+	
+	/**
+	 * This accessor method returns the structure's Topology vertex index, which is how the engine knows which
+	 * location was bought.
+	 */
+	public int getVertex() {
+		return _vertex;
+	}
+}
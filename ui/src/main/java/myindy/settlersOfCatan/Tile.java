@@ -0,0 +1,160 @@
+package myindy.settlersOfCatan;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import myindy.settlersOfCatan.engine.Resource;
+
+/**
+ * This is the Tile class! The Tiles themselves aren't too involved with game functionality (the engine keeps track of
+ * each tile's resource, number, and whether it has the robber), so almost all code in this class is graphical. Each
+ * land tile knows its Topology index so it can tell the Board which tile the robber was placed on. If the Board is
+ * using the canvas renderer, a tile doesn't make any ImageViews at all; it just paints itself onto the Board's
+ * canvas once, and borrows the Board's one robber.
+ */
+public class Tile {
+
+	private Board _board;
+	private int _index;
+	private ImageView _tile;
+	private ImageView _numToken;
+	private ImageView _robber;
+	private Resource _resource;
+	private Boolean _canPlaceRobber;
+	private GraphicsContext _canvas;
+	private double _xLoc;
+	private double _yLoc;
+	private Boolean _hasRobber;
+	
+	/**
+	 * The constructor of the tile sets up the tile's image, which corresponds to its resource. It also adds the
+	 * robber to every tile, but the robber is only visible if it is truly on that tile. Ocean tiles in the background
+	 * aren't part of the engine's board, so they have index -1. The desert and the ocean don't produce anything, so
+	 * their resource is null.
+	 */
+	public Tile(Resource resource, int index, Board board) {
+		_resource = resource;
+		_index = index;
+		_board = board;
+		_canvas = board.getStaticLayer();
+		_canPlaceRobber = false;
+		_hasRobber = false;
+		if (_canvas != null) {
+			return;
+		}
+		_tile = new ImageView(ImageCache.get(this.imageName() + ".png"));
+		_numToken = new ImageView();
+		_robber = new ImageView(ImageCache.get("Robber.png"));
+		_robber.setPreserveRatio(true);
+		_robber.setFitHeight(60);
+		//The Board does all of the picking, so none of the tile's graphics listen to the mouse themselves
+		_tile.setMouseTransparent(true);
+		_numToken.setMouseTransparent(true);
+		_robber.setMouseTransparent(true);
+		_robber.setVisible(false);
+		_board.getGamePane().getChildren().addAll(_tile,_numToken,_robber);
+	}
+	
+	/**
+	 * The tile's image is named after its resource, or "Desert"/"Ocean" for the tiles without one.
+	 */
+	private String imageName() {
+		if (_index == -1) {
+			return "Ocean";
+		} else if (_resource == null) {
+			return "Desert";
+		}
+		return _resource.getName();
+	}
+
+	/**
+	 * This method is only called once, during board initialization. It sets the location of all graphics
+	 * that are associated with the tile.
+	 */
+	public void setLoc(double x, double y) {
+		_xLoc = x;
+		_yLoc = y;
+		if (_canvas != null) {
+			_canvas.drawImage(ImageCache.get(this.imageName() + ".png"), x, y - Constants.TILE_Y_OFFSET);
+			return;
+		}
+		_tile.setLayoutX(x);
+		_tile.setLayoutY(y - Constants.TILE_Y_OFFSET);
+		_numToken.setLayoutX(x + Constants.TOKEN_X_OFFSET);
+		_numToken.setLayoutY(y + Constants.TOKEN_Y_OFFSET);
+		_robber.setLayoutX(x + Constants.ROBBER_X_OFFSET);
+		_robber.setLayoutY(y);
+	}
+	
+	/**
+	 * Once the tile has been assigned a dice roll value, we can show the number token image on the tile here. The
+	 * token's ImageView already exists, so it just gets the shared token image from the ImageCache.
+	 */
+	public void setDiceRoll(int roll) {
+		if (_canvas != null) {
+			_canvas.drawImage(ImageCache.token(roll), _xLoc + Constants.TOKEN_X_OFFSET, _yLoc + Constants.TOKEN_Y_OFFSET,
+					50, 50);
+			return;
+		}
+		_numToken.setImage(ImageCache.token(roll));
+		_numToken.setFitHeight(50);
+		_numToken.setFitWidth(50);
+		//The token and robber go back on top of the tiles that were added after this one
+		_board.getGamePane().getChildren().removeAll(_numToken,_robber);
+		_board.getGamePane().getChildren().addAll(_numToken,_robber);
+	}
+	
+	/**
+	 * This method is called by the Board to show or hide the robber on this tile, depending on whether the engine
+	 * says the robber is here. On the canvas, the tile only hides the Board's robber if it was the one showing it.
+	 */
+	public void showRobber(Boolean hasRobber) {
+		if (_canvas == null) {
+			_robber.setVisible(hasRobber);
+		} else if (hasRobber) {
+			_board.showRobberAt(_xLoc + Constants.ROBBER_X_OFFSET, _yLoc);
+		} else if (_hasRobber) {
+			_board.hideRobber();
+		}
+		_hasRobber = hasRobber;
+	}
+	
+	/**
+	 * This accessor method returns the tile's resource (null for the desert and the ocean).
+	 */
+	public Resource getResource() {
+		return _resource;
+	}
+	
+	/**
+	 * This accessor method returns the tile's Topology index, so the Board can tell the engine where the robber went.
+	 */
+	public int getIndex() {
+		return _index;
+	}
+	
+	/**
+	 * This is called whenever a player is about to move the robber so that the tile knows it should be ready to
+	 * accept the robber.
+	 */
+	public void canPlaceRobber() {
+		_canPlaceRobber = true;
+	}
+	
+	/**
+	 * This is called whenever a player moves the robber to another tile so this tile knows it doesn't need to be
+	 * ready to accept the robber anymore.
+	 */
+	public void cannotPlaceRobber() {
+		_canPlaceRobber = false;
+	}
+	
+	/**
+	 * The Board calls this when this tile is clicked. It only places the robber here if _canPlaceRobber is true
+	 * (i.e. when a player is about to place the robber).
+	 */
+	public void clicked() {
+		if (_canPlaceRobber) {
+			_board.robberPlaced(this);
+		}
+	}
+}